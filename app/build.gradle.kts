@@ -32,10 +32,32 @@ java {
     }
 }
 
+// FastNoiseLite's grid kernels use the incubating Vector API and fall back to scalar code without it
+val vectorModule = listOf("--add-modules", "jdk.incubator.vector")
+
 application {
     mainClass.set("org.example.App")
+    applicationDefaultJvmArgs = vectorModule
+}
+
+tasks.withType<JavaCompile> {
+    options.compilerArgs.addAll(vectorModule)
+}
+
+tasks.named<JavaExec>("run") {
+    listOf("mesher", "viewDistance", "seed", "world", "codec", "fastnoise.vector").forEach { name ->
+        System.getProperty(name)?.let { systemProperty(name, it) }
+    }
 }
 
 tasks.named<Test>("test") {
     useJUnitPlatform()
+    jvmArgs(vectorModule)
+}
+
+// Runs a benchmark main class from the test sources, e.g. -Pbenchmark=org.example.TerrainBenchmark
+tasks.register<JavaExec>("benchmark") {
+    classpath = sourceSets["test"].runtimeClasspath
+    mainClass.set(providers.gradleProperty("benchmark").orElse("org.example.TerrainBenchmark"))
+    jvmArgs(vectorModule)
 }
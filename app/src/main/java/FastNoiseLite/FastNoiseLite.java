@@ -140,6 +140,12 @@ public class FastNoiseLite
     private TransformType3D mWarpTransformType3D = TransformType3D.DefaultOpenSimplex2;
     private float mDomainWarpAmp = 1.0f;
 
+    // Upper bound on vector lanes, 2048-bit vectors of floats; grid scratch is padded to it
+    static final int MAX_VECTOR_LANES = 64;
+    private boolean mVectorKernels = VECTOR_KERNELS_AVAILABLE;
+
+    private final GridScratch mGridScratch = new GridScratch();
+
     /// <summary>
     /// Create new FastNoise object with default seed
     /// </summary>
@@ -153,6 +159,37 @@ public class FastNoiseLite
         SetSeed(seed);
     }
 
+    /// <summary>
+    /// Copies every setting of other, but not its grid scratch space
+    /// </summary>
+    FastNoiseLite(FastNoiseLite other)
+    {
+        mSeed = other.mSeed;
+        mFrequency = other.mFrequency;
+        mNoiseType = other.mNoiseType;
+        mRotationType3D = other.mRotationType3D;
+        mTransformType3D = other.mTransformType3D;
+
+        mFractalType = other.mFractalType;
+        mOctaves = other.mOctaves;
+        mLacunarity = other.mLacunarity;
+        mGain = other.mGain;
+        mWeightedStrength = other.mWeightedStrength;
+        mPingPongStrength = other.mPingPongStrength;
+
+        mFractalBounding = other.mFractalBounding;
+
+        mCellularDistanceFunction = other.mCellularDistanceFunction;
+        mCellularReturnType = other.mCellularReturnType;
+        mCellularJitterModifier = other.mCellularJitterModifier;
+
+        mDomainWarpType = other.mDomainWarpType;
+        mWarpTransformType3D = other.mWarpTransformType3D;
+        mDomainWarpAmp = other.mDomainWarpAmp;
+
+        mVectorKernels = other.mVectorKernels;
+    }
+
     /// <summary>
     /// Sets seed used for all noise types
     /// </summary>
@@ -161,6 +198,8 @@ public class FastNoiseLite
     /// </remarks>
     public void SetSeed(int seed) { mSeed = seed; }
 
+    int GetSeed() { return mSeed; }
+
     /// <summary>
     /// Sets frequency for all noise types
     /// </summary>
@@ -301,6 +340,23 @@ public class FastNoiseLite
     /// </remarks>
     public void SetDomainWarpAmp(float domainWarpAmp) { mDomainWarpAmp = domainWarpAmp; }
 
+    /// <summary>
+    /// Sets whether grid generation uses the Vector API kernels for Perlin, Value and OpenSimplex2
+    /// </summary>
+    /// <remarks>
+    /// Default: true when VectorKernelsAvailable()
+    /// Ignored when the kernels are unavailable. Results are identical either way.
+    /// </remarks>
+    public void SetVectorKernels(boolean enabled) { mVectorKernels = enabled && VECTOR_KERNELS_AVAILABLE; }
+
+    /// <summary>
+    /// Whether the jdk.incubator.vector module is present and the CPU has useful vector width
+    /// </summary>
+    /// <remarks>
+    /// Run with -Dfastnoise.vector=false to force the scalar kernels.
+    /// </remarks>
+    public static boolean VectorKernelsAvailable() { return VECTOR_KERNELS_AVAILABLE; }
+
 
     /// <summary>
     /// 2D noise at given position using current settings
@@ -403,6 +459,155 @@ public class FastNoiseLite
     }
 
 
+    /// <summary>
+    /// 2D noise for every point of a uniform grid using current settings
+    /// </summary>
+    /// <remarks>
+    /// noiseOut[y * xSize + x] receives the same value as GetNoise(xStart + x, yStart + y).
+    /// Noise type, skew and fractal type are dispatched once per call instead of once per point,
+    /// leaving tight loops over flat arrays that the JIT can unroll and vectorize.
+    /// </remarks>
+    public void GenUniformGrid2D(float[] noiseOut, int xStart, int yStart, int xSize, int ySize)
+    {
+        GenUniformGrid2D(mGridScratch, noiseOut, xStart, yStart, xSize, ySize);
+    }
+
+    // Reads settings only; all writes go to scratch and noiseOut
+    void GenUniformGrid2D(GridScratch scratch, float[] noiseOut, int xStart, int yStart, int xSize, int ySize)
+    {
+        int count = xSize * ySize;
+        scratch.Ensure(count);
+        float[] xs = scratch.mX;
+        float[] ys = scratch.mY;
+
+        for (int y = 0, i = 0; y < ySize; y++)
+        {
+            /*FNLfloat*/ float yf = (/*FNLfloat*/ float)(yStart + y) * mFrequency;
+            for (int x = 0; x < xSize; x++, i++)
+            {
+                xs[i] = (/*FNLfloat*/ float)(xStart + x) * mFrequency;
+                ys[i] = yf;
+            }
+        }
+
+        switch (mNoiseType)
+        {
+            case OpenSimplex2:
+            case OpenSimplex2S:
+                {
+                    final /*FNLfloat*/ float SQRT3 = (/*FNLfloat*/ float)1.7320508075688772935274463415059;
+                    final /*FNLfloat*/ float F2 = 0.5f * (SQRT3 - 1);
+                    for (int i = 0; i < count; i++)
+                    {
+                        /*FNLfloat*/ float t = (xs[i] + ys[i]) * F2;
+                        xs[i] += t;
+                        ys[i] += t;
+                    }
+                }
+                break;
+            default:
+                break;
+        }
+
+        if (mFractalType == FractalType.None || mFractalType == FractalType.DomainWarpProgressive
+                || mFractalType == FractalType.DomainWarpIndependent)
+        {
+            GenSingleGrid2D(scratch, mSeed, noiseOut, count);
+        }
+        else
+        {
+            GenFractalGrid(scratch, noiseOut, count, false);
+        }
+    }
+
+    /// <summary>
+    /// 3D noise for every point of a uniform grid using current settings
+    /// </summary>
+    /// <remarks>
+    /// noiseOut[(z * ySize + y) * xSize + x] receives the same value as
+    /// GetNoise(xStart + x, yStart + y, zStart + z).
+    /// Noise type, transform and fractal type are dispatched once per call instead of once per point.
+    /// </remarks>
+    public void GenUniformGrid3D(float[] noiseOut, int xStart, int yStart, int zStart, int xSize, int ySize, int zSize)
+    {
+        GenUniformGrid3D(mGridScratch, noiseOut, xStart, yStart, zStart, xSize, ySize, zSize);
+    }
+
+    // Reads settings only; all writes go to scratch and noiseOut
+    void GenUniformGrid3D(GridScratch scratch, float[] noiseOut, int xStart, int yStart, int zStart, int xSize, int ySize, int zSize)
+    {
+        int count = xSize * ySize * zSize;
+        scratch.Ensure(count);
+        float[] xs = scratch.mX;
+        float[] ys = scratch.mY;
+        float[] zs = scratch.mZ;
+
+        for (int z = 0, i = 0; z < zSize; z++)
+        {
+            /*FNLfloat*/ float zf = (/*FNLfloat*/ float)(zStart + z) * mFrequency;
+            for (int y = 0; y < ySize; y++)
+            {
+                /*FNLfloat*/ float yf = (/*FNLfloat*/ float)(yStart + y) * mFrequency;
+                for (int x = 0; x < xSize; x++, i++)
+                {
+                    xs[i] = (/*FNLfloat*/ float)(xStart + x) * mFrequency;
+                    ys[i] = yf;
+                    zs[i] = zf;
+                }
+            }
+        }
+
+        switch (mTransformType3D)
+        {
+            case ImproveXYPlanes:
+                for (int i = 0; i < count; i++)
+                {
+                    /*FNLfloat*/ float xy = xs[i] + ys[i];
+                    /*FNLfloat*/ float s2 = xy * -(/*FNLfloat*/ float)0.211324865405187;
+                    /*FNLfloat*/ float z = zs[i] * (/*FNLfloat*/ float)0.577350269189626;
+                    xs[i] += s2 - z;
+                    ys[i] = ys[i] + s2 - z;
+                    zs[i] = z + xy * (/*FNLfloat*/ float)0.577350269189626;
+                }
+                break;
+            case ImproveXZPlanes:
+                for (int i = 0; i < count; i++)
+                {
+                    /*FNLfloat*/ float xz = xs[i] + zs[i];
+                    /*FNLfloat*/ float s2 = xz * -(/*FNLfloat*/ float)0.211324865405187;
+                    /*FNLfloat*/ float y = ys[i] * (/*FNLfloat*/ float)0.577350269189626;
+                    xs[i] += s2 - y;
+                    zs[i] += s2 - y;
+                    ys[i] = y + xz * (/*FNLfloat*/ float)0.577350269189626;
+                }
+                break;
+            case DefaultOpenSimplex2:
+                {
+                    final /*FNLfloat*/ float R3 = (/*FNLfloat*/ float)(2.0 / 3.0);
+                    for (int i = 0; i < count; i++)
+                    {
+                        /*FNLfloat*/ float r = (xs[i] + ys[i] + zs[i]) * R3; // Rotation, not skew
+                        xs[i] = r - xs[i];
+                        ys[i] = r - ys[i];
+                        zs[i] = r - zs[i];
+                    }
+                }
+                break;
+            default:
+                break;
+        }
+
+        if (mFractalType == FractalType.None || mFractalType == FractalType.DomainWarpProgressive
+                || mFractalType == FractalType.DomainWarpIndependent)
+        {
+            GenSingleGrid3D(scratch, mSeed, noiseOut, count);
+        }
+        else
+        {
+            GenFractalGrid(scratch, noiseOut, count, true);
+        }
+    }
+
     /// <summary>
     /// 2D warps the input position using current domain warp settings
     /// </summary>
@@ -452,7 +657,7 @@ public class FastNoiseLite
     }
 
 
-    private static final float[] Gradients2D = {
+    static final float[] Gradients2D = {
          0.130526192220052f,  0.99144486137381f,   0.38268343236509f,   0.923879532511287f,  0.608761429008721f,  0.793353340291235f,  0.793353340291235f,  0.608761429008721f,
          0.923879532511287f,  0.38268343236509f,   0.99144486137381f,   0.130526192220051f,  0.99144486137381f,  -0.130526192220051f,  0.923879532511287f, -0.38268343236509f,
          0.793353340291235f, -0.60876142900872f,   0.608761429008721f, -0.793353340291235f,  0.38268343236509f,  -0.923879532511287f,  0.130526192220052f, -0.99144486137381f,
@@ -522,7 +727,7 @@ public class FastNoiseLite
         0.01426758847f, -0.9998982128f, -0.6734383991f, 0.7392433447f, 0.639412098f, -0.7688642071f, 0.9211571421f, 0.3891908523f, -0.146637214f, -0.9891903394f, -0.782318098f, 0.6228791163f, -0.5039610839f, -0.8637263605f, -0.7743120191f, -0.6328039957f,
     };
 
-    private static final float[] Gradients3D = {
+    static final float[] Gradients3D = {
         0, 1, 1, 0,  0,-1, 1, 0,  0, 1,-1, 0,  0,-1,-1, 0,
         1, 0, 1, 0, -1, 0, 1, 0,  1, 0,-1, 0, -1, 0,-1, 0,
         1, 1, 0, 0, -1, 1, 0, 0,  1,-1, 0, 0, -1,-1, 0, 0,
@@ -621,9 +826,12 @@ public class FastNoiseLite
     }
 
     // Hashing
-    private static final int PrimeX = 501125321;
-    private static final int PrimeY = 1136930381;
-    private static final int PrimeZ = 1720413743;
+    static final int PrimeX = 501125321;
+    static final int PrimeY = 1136930381;
+    static final int PrimeZ = 1720413743;
+
+    // Declared after the gradient tables, which the kernel class copies when it is initialized
+    private static final boolean VECTOR_KERNELS_AVAILABLE = DetectVectorKernels();
 
     private static int Hash(int seed, int xPrimed, int yPrimed)
     {
@@ -730,6 +938,192 @@ public class FastNoiseLite
     }
 
 
+    // Grid noise gen, one noise type dispatch per grid rather than per point
+
+    private static boolean DetectVectorKernels()
+    {
+        if ("false".equals(System.getProperty("fastnoise.vector"))) return false;
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) return false;
+        try
+        {
+            return FastNoiseLiteVector.IsAccelerated();
+        }
+        catch (LinkageError e)
+        {
+            return false;
+        }
+    }
+
+    // Scratch space for the grid generators, grown on demand. Kept apart from the settings so
+    // one NoiseConfig can generate grids on many threads, each with its own scratch
+    static final class GridScratch
+    {
+        float[] mX = new float[0];
+        float[] mY = new float[0];
+        float[] mZ = new float[0];
+        float[] mNoise = new float[0];
+        float[] mAmp = new float[0];
+        final int[] mIndex = new int[MAX_VECTOR_LANES];
+
+        void Ensure(int count)
+        {
+            if (mX.length < count)
+            {
+                // Padded to whole vectors, the vector kernels read inputs past count
+                count = (count + MAX_VECTOR_LANES - 1) & -MAX_VECTOR_LANES;
+                mX = new float[count];
+                mY = new float[count];
+                mZ = new float[count];
+                mNoise = new float[count];
+                mAmp = new float[count];
+            }
+        }
+    }
+
+    private void GenSingleGrid2D(GridScratch scratch, int seed, float[] out, int count)
+    {
+        float[] xs = scratch.mX;
+        float[] ys = scratch.mY;
+        switch (mNoiseType)
+        {
+            case OpenSimplex2:
+                if (mVectorKernels && FastNoiseLiteVector.InRange(count, xs, ys)) { FastNoiseLiteVector.OpenSimplex2D(seed, xs, ys, out, count, scratch.mIndex); break; }
+                for (int i = 0; i < count; i++) out[i] = SingleSimplex(seed, xs[i], ys[i]);
+                break;
+            case OpenSimplex2S:
+                for (int i = 0; i < count; i++) out[i] = SingleOpenSimplex2S(seed, xs[i], ys[i]);
+                break;
+            case Cellular:
+                for (int i = 0; i < count; i++) out[i] = SingleCellular(seed, xs[i], ys[i]);
+                break;
+            case Perlin:
+                if (mVectorKernels && FastNoiseLiteVector.InRange(count, xs, ys)) { FastNoiseLiteVector.Perlin2D(seed, xs, ys, out, count, scratch.mIndex); break; }
+                for (int i = 0; i < count; i++) out[i] = SinglePerlin(seed, xs[i], ys[i]);
+                break;
+            case ValueCubic:
+                for (int i = 0; i < count; i++) out[i] = SingleValueCubic(seed, xs[i], ys[i]);
+                break;
+            case Value:
+                if (mVectorKernels && FastNoiseLiteVector.InRange(count, xs, ys)) { FastNoiseLiteVector.Value2D(seed, xs, ys, out, count); break; }
+                for (int i = 0; i < count; i++) out[i] = SingleValue(seed, xs[i], ys[i]);
+                break;
+            default:
+                for (int i = 0; i < count; i++) out[i] = 0;
+                break;
+        }
+    }
+
+    private void GenSingleGrid3D(GridScratch scratch, int seed, float[] out, int count)
+    {
+        float[] xs = scratch.mX;
+        float[] ys = scratch.mY;
+        float[] zs = scratch.mZ;
+        switch (mNoiseType)
+        {
+            case OpenSimplex2:
+                if (mVectorKernels && FastNoiseLiteVector.InRange(count, xs, ys, zs)) { FastNoiseLiteVector.OpenSimplex3D(seed, xs, ys, zs, out, count, scratch.mIndex); break; }
+                for (int i = 0; i < count; i++) out[i] = SingleOpenSimplex2(seed, xs[i], ys[i], zs[i]);
+                break;
+            case OpenSimplex2S:
+                for (int i = 0; i < count; i++) out[i] = SingleOpenSimplex2S(seed, xs[i], ys[i], zs[i]);
+                break;
+            case Cellular:
+                for (int i = 0; i < count; i++) out[i] = SingleCellular(seed, xs[i], ys[i], zs[i]);
+                break;
+            case Perlin:
+                if (mVectorKernels && FastNoiseLiteVector.InRange(count, xs, ys, zs)) { FastNoiseLiteVector.Perlin3D(seed, xs, ys, zs, out, count, scratch.mIndex); break; }
+                for (int i = 0; i < count; i++) out[i] = SinglePerlin(seed, xs[i], ys[i], zs[i]);
+                break;
+            case ValueCubic:
+                for (int i = 0; i < count; i++) out[i] = SingleValueCubic(seed, xs[i], ys[i], zs[i]);
+                break;
+            case Value:
+                if (mVectorKernels && FastNoiseLiteVector.InRange(count, xs, ys, zs)) { FastNoiseLiteVector.Value3D(seed, xs, ys, zs, out, count); break; }
+                for (int i = 0; i < count; i++) out[i] = SingleValue(seed, xs[i], ys[i], zs[i]);
+                break;
+            default:
+                for (int i = 0; i < count; i++) out[i] = 0;
+                break;
+        }
+    }
+
+    // Octaves run in the outer loop so each pass over the grid does one kind of work,
+    // giving the same per point results as GenFractalFBm/Ridged/PingPong
+    private void GenFractalGrid(GridScratch scratch, float[] sum, int count, boolean is3D)
+    {
+        float[] noise = scratch.mNoise;
+        float[] amp = scratch.mAmp;
+        float[] xs = scratch.mX;
+        float[] ys = scratch.mY;
+        float[] zs = scratch.mZ;
+        int seed = mSeed;
+
+        for (int i = 0; i < count; i++)
+        {
+            sum[i] = 0;
+            amp[i] = mFractalBounding;
+        }
+
+        for (int octave = 0; octave < mOctaves; octave++)
+        {
+            if (is3D)
+                GenSingleGrid3D(scratch, seed++, noise, count);
+            else
+                GenSingleGrid2D(scratch, seed++, noise, count);
+
+            switch (mFractalType)
+            {
+                case FBm:
+                    if (is3D)
+                    {
+                        for (int i = 0; i < count; i++)
+                        {
+                            sum[i] += noise[i] * amp[i];
+                            amp[i] *= Lerp(1.0f, (noise[i] + 1) * 0.5f, mWeightedStrength);
+                        }
+                    }
+                    else
+                    {
+                        for (int i = 0; i < count; i++)
+                        {
+                            sum[i] += noise[i] * amp[i];
+                            amp[i] *= Lerp(1.0f, FastMin(noise[i] + 1, 2) * 0.5f, mWeightedStrength);
+                        }
+                    }
+                    break;
+                case Ridged:
+                    for (int i = 0; i < count; i++)
+                    {
+                        float n = FastAbs(noise[i]);
+                        sum[i] += (n * -2 + 1) * amp[i];
+                        amp[i] *= Lerp(1.0f, 1 - n, mWeightedStrength);
+                    }
+                    break;
+                case PingPong:
+                    for (int i = 0; i < count; i++)
+                    {
+                        float n = PingPong((noise[i] + 1) * mPingPongStrength);
+                        sum[i] += (n - 0.5f) * 2 * amp[i];
+                        amp[i] *= Lerp(1.0f, n, mWeightedStrength);
+                    }
+                    break;
+                default:
+                    break;
+            }
+
+            for (int i = 0; i < count; i++)
+            {
+                xs[i] *= mLacunarity;
+                ys[i] *= mLacunarity;
+                amp[i] *= mGain;
+            }
+            if (is3D)
+            {
+                for (int i = 0; i < count; i++) zs[i] *= mLacunarity;
+            }
+        }
+    }
+
     // Noise Coordinate Transforms (frequency, and possible skew or rotation)
 
     private void UpdateTransformType3D()
@@ -0,0 +1,542 @@
+package FastNoiseLite;
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+// Vector API versions of the Perlin, Value and OpenSimplex2 kernels, evaluating one lane per
+// grid point. Every operation mirrors the scalar code in FastNoiseLite in the same order and
+// branches become blends or masked adds, so results are bit-for-bit identical.
+//
+// Only loaded when the jdk.incubator.vector module is present; see FastNoiseLite.VectorKernelsAvailable.
+//
+// The kernels are written out in full rather than calling helpers like FastFloor or GradCoord:
+// C2 stops inlining ordinary methods once a compilation grows past a node count that a few
+// vector operations already reach, and every vector passed to a call that is not inlined is
+// boxed on the heap, which makes the kernel slower than the scalar code.
+final class FastNoiseLiteVector
+{
+    private static final VectorSpecies<Float> F = FloatVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Integer> I = VectorSpecies.of(int.class, F.vectorShape());
+    static final int LANES = F.length();
+
+    // Gradient tables split by component so one gather index serves all of them
+    private static final float[] GradX2D = new float[128];
+    private static final float[] GradY2D = new float[128];
+    private static final float[] GradX3D = new float[64];
+    private static final float[] GradY3D = new float[64];
+    private static final float[] GradZ3D = new float[64];
+
+    static
+    {
+        for (int i = 0; i < 128; i++)
+        {
+            GradX2D[i] = FastNoiseLite.Gradients2D[i * 2];
+            GradY2D[i] = FastNoiseLite.Gradients2D[i * 2 + 1];
+        }
+        for (int i = 0; i < 64; i++)
+        {
+            GradX3D[i] = FastNoiseLite.Gradients3D[i * 4];
+            GradY3D[i] = FastNoiseLite.Gradients3D[i * 4 + 1];
+            GradZ3D[i] = FastNoiseLite.Gradients3D[i * 4 + 2];
+        }
+    }
+
+    private static final int PrimeX = FastNoiseLite.PrimeX;
+    private static final int PrimeY = FastNoiseLite.PrimeY;
+    private static final int PrimeZ = FastNoiseLite.PrimeZ;
+    private static final int HashMul = 0x27d4eb2d;
+
+    // The F2I conversion is not compiled to a vector instruction on every JDK, so floor and round
+    // are done on floats and the integer read out of the mantissa of r + 1.5 * 2^23, exact while
+    // |r| < 2^22. Inputs are limited to half that, see InRange.
+    private static final float RoundMagic = 12582912.0f;
+    private static final int RoundMagicBits = Float.floatToRawIntBits(RoundMagic);
+    private static final float InputLimit = 2097152.0f;
+
+    private static final float SQRT3 = 1.7320508075688772935274463415059f;
+    private static final float G2 = (3 - SQRT3) / 6;
+
+    private FastNoiseLiteVector() { }
+
+    // True when the preferred shape holds enough lanes to be worth it and fits the gather scratch
+    static boolean IsAccelerated()
+    {
+        return LANES >= 4 && LANES <= FastNoiseLite.MAX_VECTOR_LANES;
+    }
+
+    // Whether every coordinate is small enough for the kernels, otherwise use the scalar ones
+    static boolean InRange(int count, float[] xs, float[] ys)
+    {
+        return InRange(count, xs) && InRange(count, ys);
+    }
+
+    static boolean InRange(int count, float[] xs, float[] ys, float[] zs)
+    {
+        return InRange(count, xs) && InRange(count, ys) && InRange(count, zs);
+    }
+
+    private static boolean InRange(int count, float[] a)
+    {
+        int p = 0;
+        for (; p + LANES <= count; p += LANES)
+        {
+            if (FloatVector.fromArray(F, a, p).abs().compare(VectorOperators.GE, InputLimit).anyTrue()) return false;
+        }
+        for (; p < count; p++)
+        {
+            if (!(Math.abs(a[p]) < InputLimit)) return false;
+        }
+        return true;
+    }
+
+
+    // Perlin Noise
+
+    static void Perlin2D(int seed, float[] xs, float[] ys, float[] out, int count, int[] index)
+    {
+        for (int p = 0; p < count; p += LANES)
+        {
+            FloatVector x = FloatVector.fromArray(F, xs, p);
+            FloatVector y = FloatVector.fromArray(F, ys, p);
+
+            // FastFloor
+            VectorMask<Float> xNeg = x.compare(VectorOperators.LT, 0);
+            VectorMask<Float> yNeg = y.compare(VectorOperators.LT, 0);
+            FloatVector xr = x.add(RoundMagic).sub(RoundMagic);
+            FloatVector yr = y.add(RoundMagic).sub(RoundMagic);
+            xr = xr.sub(1, xr.compare(VectorOperators.GT, x).andNot(xNeg)).add(1, xr.compare(VectorOperators.LT, x).and(xNeg)).sub(1, xNeg);
+            yr = yr.sub(1, yr.compare(VectorOperators.GT, y).andNot(yNeg)).add(1, yr.compare(VectorOperators.LT, y).and(yNeg)).sub(1, yNeg);
+
+            FloatVector xd0 = x.sub(xr);
+            FloatVector yd0 = y.sub(yr);
+            FloatVector xd1 = xd0.sub(1);
+            FloatVector yd1 = yd0.sub(1);
+
+            // InterpQuintic
+            FloatVector xs0 = xd0.mul(xd0).mul(xd0).mul(xd0.mul(xd0.mul(6).sub(15)).add(10));
+            FloatVector ys0 = yd0.mul(yd0).mul(yd0).mul(yd0.mul(yd0.mul(6).sub(15)).add(10));
+
+            IntVector x0 = xr.add(RoundMagic).reinterpretAsInts().sub(RoundMagicBits).mul(PrimeX);
+            IntVector y0 = yr.add(RoundMagic).reinterpretAsInts().sub(RoundMagicBits).mul(PrimeY);
+            IntVector x1 = x0.add(PrimeX);
+            IntVector y1 = y0.add(PrimeY);
+
+            // GradCoord for each corner; (hash & (127 << 1)) indexes the interleaved table, halved it indexes the split ones
+            IntVector hash = x0.lanewise(VectorOperators.XOR, y0).lanewise(VectorOperators.XOR, seed).mul(HashMul);
+            hash.lanewise(VectorOperators.XOR, hash.lanewise(VectorOperators.ASHR, 15)).lanewise(VectorOperators.ASHR, 1).and(127).intoArray(index, 0);
+            FloatVector g00 = xd0.mul(FloatVector.fromArray(F, GradX2D, 0, index, 0)).add(yd0.mul(FloatVector.fromArray(F, GradY2D, 0, index, 0)));
+
+            hash = x1.lanewise(VectorOperators.XOR, y0).lanewise(VectorOperators.XOR, seed).mul(HashMul);
+            hash.lanewise(VectorOperators.XOR, hash.lanewise(VectorOperators.ASHR, 15)).lanewise(VectorOperators.ASHR, 1).and(127).intoArray(index, 0);
+            FloatVector g10 = xd1.mul(FloatVector.fromArray(F, GradX2D, 0, index, 0)).add(yd0.mul(FloatVector.fromArray(F, GradY2D, 0, index, 0)));
+
+            hash = x0.lanewise(VectorOperators.XOR, y1).lanewise(VectorOperators.XOR, seed).mul(HashMul);
+            hash.lanewise(VectorOperators.XOR, hash.lanewise(VectorOperators.ASHR, 15)).lanewise(VectorOperators.ASHR, 1).and(127).intoArray(index, 0);
+            FloatVector g01 = xd0.mul(FloatVector.fromArray(F, GradX2D, 0, index, 0)).add(yd1.mul(FloatVector.fromArray(F, GradY2D, 0, index, 0)));
+
+            hash = x1.lanewise(VectorOperators.XOR, y1).lanewise(VectorOperators.XOR, seed).mul(HashMul);
+            hash.lanewise(VectorOperators.XOR, hash.lanewise(VectorOperators.ASHR, 15)).lanewise(VectorOperators.ASHR, 1).and(127).intoArray(index, 0);
+            FloatVector g11 = xd1.mul(FloatVector.fromArray(F, GradX2D, 0, index, 0)).add(yd1.mul(FloatVector.fromArray(F, GradY2D, 0, index, 0)));
+
+            // Lerp
+            FloatVector xf0 = g00.add(xs0.mul(g10.sub(g00)));
+            FloatVector xf1 = g01.add(xs0.mul(g11.sub(g01)));
+            FloatVector result = xf0.add(ys0.mul(xf1.sub(xf0))).mul(1.4247691104677813f);
+
+            if (p + LANES <= count) result.intoArray(out, p);
+            else result.intoArray(out, p, F.indexInRange(p, count));
+        }
+    }
+
+    static void Perlin3D(int seed, float[] xs, float[] ys, float[] zs, float[] out, int count, int[] index)
+    {
+        for (int p = 0; p < count; p += LANES)
+        {
+            FloatVector x = FloatVector.fromArray(F, xs, p);
+            FloatVector y = FloatVector.fromArray(F, ys, p);
+            FloatVector z = FloatVector.fromArray(F, zs, p);
+
+            // FastFloor
+            VectorMask<Float> xNeg = x.compare(VectorOperators.LT, 0);
+            VectorMask<Float> yNeg = y.compare(VectorOperators.LT, 0);
+            VectorMask<Float> zNeg = z.compare(VectorOperators.LT, 0);
+            FloatVector xr = x.add(RoundMagic).sub(RoundMagic);
+            FloatVector yr = y.add(RoundMagic).sub(RoundMagic);
+            FloatVector zr = z.add(RoundMagic).sub(RoundMagic);
+            xr = xr.sub(1, xr.compare(VectorOperators.GT, x).andNot(xNeg)).add(1, xr.compare(VectorOperators.LT, x).and(xNeg)).sub(1, xNeg);
+            yr = yr.sub(1, yr.compare(VectorOperators.GT, y).andNot(yNeg)).add(1, yr.compare(VectorOperators.LT, y).and(yNeg)).sub(1, yNeg);
+            zr = zr.sub(1, zr.compare(VectorOperators.GT, z).andNot(zNeg)).add(1, zr.compare(VectorOperators.LT, z).and(zNeg)).sub(1, zNeg);
+
+            FloatVector xd0 = x.sub(xr);
+            FloatVector yd0 = y.sub(yr);
+            FloatVector zd0 = z.sub(zr);
+            FloatVector xd1 = xd0.sub(1);
+            FloatVector yd1 = yd0.sub(1);
+            FloatVector zd1 = zd0.sub(1);
+
+            // InterpQuintic
+            FloatVector xs0 = xd0.mul(xd0).mul(xd0).mul(xd0.mul(xd0.mul(6).sub(15)).add(10));
+            FloatVector ys0 = yd0.mul(yd0).mul(yd0).mul(yd0.mul(yd0.mul(6).sub(15)).add(10));
+            FloatVector zs0 = zd0.mul(zd0).mul(zd0).mul(zd0.mul(zd0.mul(6).sub(15)).add(10));
+
+            IntVector x0 = xr.add(RoundMagic).reinterpretAsInts().sub(RoundMagicBits).mul(PrimeX);
+            IntVector y0 = yr.add(RoundMagic).reinterpretAsInts().sub(RoundMagicBits).mul(PrimeY);
+            IntVector z0 = zr.add(RoundMagic).reinterpretAsInts().sub(RoundMagicBits).mul(PrimeZ);
+            IntVector x1 = x0.add(PrimeX);
+            IntVector y1 = y0.add(PrimeY);
+            IntVector z1 = z0.add(PrimeZ);
+
+            // GradCoord for each corner; (hash & (63 << 2)) indexes the interleaved table, quartered it indexes the split ones
+            IntVector hash = x0.lanewise(VectorOperators.XOR, y0).lanewise(VectorOperators.XOR, z0).lanewise(VectorOperators.XOR, seed).mul(HashMul);
+            hash.lanewise(VectorOperators.XOR, hash.lanewise(VectorOperators.ASHR, 15)).lanewise(VectorOperators.ASHR, 2).and(63).intoArray(index, 0);
+            FloatVector g000 = xd0.mul(FloatVector.fromArray(F, GradX3D, 0, index, 0)).add(yd0.mul(FloatVector.fromArray(F, GradY3D, 0, index, 0))).add(zd0.mul(FloatVector.fromArray(F, GradZ3D, 0, index, 0)));
+
+            hash = x1.lanewise(VectorOperators.XOR, y0).lanewise(VectorOperators.XOR, z0).lanewise(VectorOperators.XOR, seed).mul(HashMul);
+            hash.lanewise(VectorOperators.XOR, hash.lanewise(VectorOperators.ASHR, 15)).lanewise(VectorOperators.ASHR, 2).and(63).intoArray(index, 0);
+            FloatVector g100 = xd1.mul(FloatVector.fromArray(F, GradX3D, 0, index, 0)).add(yd0.mul(FloatVector.fromArray(F, GradY3D, 0, index, 0))).add(zd0.mul(FloatVector.fromArray(F, GradZ3D, 0, index, 0)));
+
+            hash = x0.lanewise(VectorOperators.XOR, y1).lanewise(VectorOperators.XOR, z0).lanewise(VectorOperators.XOR, seed).mul(HashMul);
+            hash.lanewise(VectorOperators.XOR, hash.lanewise(VectorOperators.ASHR, 15)).lanewise(VectorOperators.ASHR, 2).and(63).intoArray(index, 0);
+            FloatVector g010 = xd0.mul(FloatVector.fromArray(F, GradX3D, 0, index, 0)).add(yd1.mul(FloatVector.fromArray(F, GradY3D, 0, index, 0))).add(zd0.mul(FloatVector.fromArray(F, GradZ3D, 0, index, 0)));
+
+            hash = x1.lanewise(VectorOperators.XOR, y1).lanewise(VectorOperators.XOR, z0).lanewise(VectorOperators.XOR, seed).mul(HashMul);
+            hash.lanewise(VectorOperators.XOR, hash.lanewise(VectorOperators.ASHR, 15)).lanewise(VectorOperators.ASHR, 2).and(63).intoArray(index, 0);
+            FloatVector g110 = xd1.mul(FloatVector.fromArray(F, GradX3D, 0, index, 0)).add(yd1.mul(FloatVector.fromArray(F, GradY3D, 0, index, 0))).add(zd0.mul(FloatVector.fromArray(F, GradZ3D, 0, index, 0)));
+
+            hash = x0.lanewise(VectorOperators.XOR, y0).lanewise(VectorOperators.XOR, z1).lanewise(VectorOperators.XOR, seed).mul(HashMul);
+            hash.lanewise(VectorOperators.XOR, hash.lanewise(VectorOperators.ASHR, 15)).lanewise(VectorOperators.ASHR, 2).and(63).intoArray(index, 0);
+            FloatVector g001 = xd0.mul(FloatVector.fromArray(F, GradX3D, 0, index, 0)).add(yd0.mul(FloatVector.fromArray(F, GradY3D, 0, index, 0))).add(zd1.mul(FloatVector.fromArray(F, GradZ3D, 0, index, 0)));
+
+            hash = x1.lanewise(VectorOperators.XOR, y0).lanewise(VectorOperators.XOR, z1).lanewise(VectorOperators.XOR, seed).mul(HashMul);
+            hash.lanewise(VectorOperators.XOR, hash.lanewise(VectorOperators.ASHR, 15)).lanewise(VectorOperators.ASHR, 2).and(63).intoArray(index, 0);
+            FloatVector g101 = xd1.mul(FloatVector.fromArray(F, GradX3D, 0, index, 0)).add(yd0.mul(FloatVector.fromArray(F, GradY3D, 0, index, 0))).add(zd1.mul(FloatVector.fromArray(F, GradZ3D, 0, index, 0)));
+
+            hash = x0.lanewise(VectorOperators.XOR, y1).lanewise(VectorOperators.XOR, z1).lanewise(VectorOperators.XOR, seed).mul(HashMul);
+            hash.lanewise(VectorOperators.XOR, hash.lanewise(VectorOperators.ASHR, 15)).lanewise(VectorOperators.ASHR, 2).and(63).intoArray(index, 0);
+            FloatVector g011 = xd0.mul(FloatVector.fromArray(F, GradX3D, 0, index, 0)).add(yd1.mul(FloatVector.fromArray(F, GradY3D, 0, index, 0))).add(zd1.mul(FloatVector.fromArray(F, GradZ3D, 0, index, 0)));
+
+            hash = x1.lanewise(VectorOperators.XOR, y1).lanewise(VectorOperators.XOR, z1).lanewise(VectorOperators.XOR, seed).mul(HashMul);
+            hash.lanewise(VectorOperators.XOR, hash.lanewise(VectorOperators.ASHR, 15)).lanewise(VectorOperators.ASHR, 2).and(63).intoArray(index, 0);
+            FloatVector g111 = xd1.mul(FloatVector.fromArray(F, GradX3D, 0, index, 0)).add(yd1.mul(FloatVector.fromArray(F, GradY3D, 0, index, 0))).add(zd1.mul(FloatVector.fromArray(F, GradZ3D, 0, index, 0)));
+
+            // Lerp
+            FloatVector xf00 = g000.add(xs0.mul(g100.sub(g000)));
+            FloatVector xf10 = g010.add(xs0.mul(g110.sub(g010)));
+            FloatVector xf01 = g001.add(xs0.mul(g101.sub(g001)));
+            FloatVector xf11 = g011.add(xs0.mul(g111.sub(g011)));
+            FloatVector yf0 = xf00.add(ys0.mul(xf10.sub(xf00)));
+            FloatVector yf1 = xf01.add(ys0.mul(xf11.sub(xf01)));
+            FloatVector result = yf0.add(zs0.mul(yf1.sub(yf0))).mul(0.964921414852142333984375f);
+
+            if (p + LANES <= count) result.intoArray(out, p);
+            else result.intoArray(out, p, F.indexInRange(p, count));
+        }
+    }
+
+
+    // Value Noise
+
+    static void Value2D(int seed, float[] xs, float[] ys, float[] out, int count)
+    {
+        for (int p = 0; p < count; p += LANES)
+        {
+            FloatVector x = FloatVector.fromArray(F, xs, p);
+            FloatVector y = FloatVector.fromArray(F, ys, p);
+
+            // FastFloor
+            VectorMask<Float> xNeg = x.compare(VectorOperators.LT, 0);
+            VectorMask<Float> yNeg = y.compare(VectorOperators.LT, 0);
+            FloatVector xr = x.add(RoundMagic).sub(RoundMagic);
+            FloatVector yr = y.add(RoundMagic).sub(RoundMagic);
+            xr = xr.sub(1, xr.compare(VectorOperators.GT, x).andNot(xNeg)).add(1, xr.compare(VectorOperators.LT, x).and(xNeg)).sub(1, xNeg);
+            yr = yr.sub(1, yr.compare(VectorOperators.GT, y).andNot(yNeg)).add(1, yr.compare(VectorOperators.LT, y).and(yNeg)).sub(1, yNeg);
+
+            // InterpHermite
+            FloatVector xd = x.sub(xr);
+            FloatVector yd = y.sub(yr);
+            FloatVector xs0 = xd.mul(xd).mul(FloatVector.broadcast(F, 3).sub(xd.mul(2)));
+            FloatVector ys0 = yd.mul(yd).mul(FloatVector.broadcast(F, 3).sub(yd.mul(2)));
+
+            IntVector x0 = xr.add(RoundMagic).reinterpretAsInts().sub(RoundMagicBits).mul(PrimeX);
+            IntVector y0 = yr.add(RoundMagic).reinterpretAsInts().sub(RoundMagicBits).mul(PrimeY);
+            IntVector x1 = x0.add(PrimeX);
+            IntVector y1 = y0.add(PrimeY);
+
+            // ValCoord for each corner
+            IntVector h00 = x0.lanewise(VectorOperators.XOR, y0).lanewise(VectorOperators.XOR, seed).mul(HashMul);
+            IntVector h10 = x1.lanewise(VectorOperators.XOR, y0).lanewise(VectorOperators.XOR, seed).mul(HashMul);
+            IntVector h01 = x0.lanewise(VectorOperators.XOR, y1).lanewise(VectorOperators.XOR, seed).mul(HashMul);
+            IntVector h11 = x1.lanewise(VectorOperators.XOR, y1).lanewise(VectorOperators.XOR, seed).mul(HashMul);
+            h00 = h00.mul(h00);
+            h10 = h10.mul(h10);
+            h01 = h01.mul(h01);
+            h11 = h11.mul(h11);
+            FloatVector v00 = ((FloatVector)h00.lanewise(VectorOperators.XOR, h00.lanewise(VectorOperators.LSHL, 19)).convert(VectorOperators.I2F, 0)).mul(1 / 2147483648.0f);
+            FloatVector v10 = ((FloatVector)h10.lanewise(VectorOperators.XOR, h10.lanewise(VectorOperators.LSHL, 19)).convert(VectorOperators.I2F, 0)).mul(1 / 2147483648.0f);
+            FloatVector v01 = ((FloatVector)h01.lanewise(VectorOperators.XOR, h01.lanewise(VectorOperators.LSHL, 19)).convert(VectorOperators.I2F, 0)).mul(1 / 2147483648.0f);
+            FloatVector v11 = ((FloatVector)h11.lanewise(VectorOperators.XOR, h11.lanewise(VectorOperators.LSHL, 19)).convert(VectorOperators.I2F, 0)).mul(1 / 2147483648.0f);
+
+            // Lerp
+            FloatVector xf0 = v00.add(xs0.mul(v10.sub(v00)));
+            FloatVector xf1 = v01.add(xs0.mul(v11.sub(v01)));
+            FloatVector result = xf0.add(ys0.mul(xf1.sub(xf0)));
+
+            if (p + LANES <= count) result.intoArray(out, p);
+            else result.intoArray(out, p, F.indexInRange(p, count));
+        }
+    }
+
+    static void Value3D(int seed, float[] xs, float[] ys, float[] zs, float[] out, int count)
+    {
+        for (int p = 0; p < count; p += LANES)
+        {
+            FloatVector x = FloatVector.fromArray(F, xs, p);
+            FloatVector y = FloatVector.fromArray(F, ys, p);
+            FloatVector z = FloatVector.fromArray(F, zs, p);
+
+            // FastFloor
+            VectorMask<Float> xNeg = x.compare(VectorOperators.LT, 0);
+            VectorMask<Float> yNeg = y.compare(VectorOperators.LT, 0);
+            VectorMask<Float> zNeg = z.compare(VectorOperators.LT, 0);
+            FloatVector xr = x.add(RoundMagic).sub(RoundMagic);
+            FloatVector yr = y.add(RoundMagic).sub(RoundMagic);
+            FloatVector zr = z.add(RoundMagic).sub(RoundMagic);
+            xr = xr.sub(1, xr.compare(VectorOperators.GT, x).andNot(xNeg)).add(1, xr.compare(VectorOperators.LT, x).and(xNeg)).sub(1, xNeg);
+            yr = yr.sub(1, yr.compare(VectorOperators.GT, y).andNot(yNeg)).add(1, yr.compare(VectorOperators.LT, y).and(yNeg)).sub(1, yNeg);
+            zr = zr.sub(1, zr.compare(VectorOperators.GT, z).andNot(zNeg)).add(1, zr.compare(VectorOperators.LT, z).and(zNeg)).sub(1, zNeg);
+
+            // InterpHermite
+            FloatVector xd = x.sub(xr);
+            FloatVector yd = y.sub(yr);
+            FloatVector zd = z.sub(zr);
+            FloatVector xs0 = xd.mul(xd).mul(FloatVector.broadcast(F, 3).sub(xd.mul(2)));
+            FloatVector ys0 = yd.mul(yd).mul(FloatVector.broadcast(F, 3).sub(yd.mul(2)));
+            FloatVector zs0 = zd.mul(zd).mul(FloatVector.broadcast(F, 3).sub(zd.mul(2)));
+
+            IntVector x0 = xr.add(RoundMagic).reinterpretAsInts().sub(RoundMagicBits).mul(PrimeX);
+            IntVector y0 = yr.add(RoundMagic).reinterpretAsInts().sub(RoundMagicBits).mul(PrimeY);
+            IntVector z0 = zr.add(RoundMagic).reinterpretAsInts().sub(RoundMagicBits).mul(PrimeZ);
+            IntVector x1 = x0.add(PrimeX);
+            IntVector y1 = y0.add(PrimeY);
+            IntVector z1 = z0.add(PrimeZ);
+
+            // ValCoord for each corner, one z layer at a time
+            IntVector zSeed = z0.lanewise(VectorOperators.XOR, seed);
+            IntVector h00 = x0.lanewise(VectorOperators.XOR, y0).lanewise(VectorOperators.XOR, zSeed).mul(HashMul);
+            IntVector h10 = x1.lanewise(VectorOperators.XOR, y0).lanewise(VectorOperators.XOR, zSeed).mul(HashMul);
+            IntVector h01 = x0.lanewise(VectorOperators.XOR, y1).lanewise(VectorOperators.XOR, zSeed).mul(HashMul);
+            IntVector h11 = x1.lanewise(VectorOperators.XOR, y1).lanewise(VectorOperators.XOR, zSeed).mul(HashMul);
+            h00 = h00.mul(h00);
+            h10 = h10.mul(h10);
+            h01 = h01.mul(h01);
+            h11 = h11.mul(h11);
+            FloatVector v00 = ((FloatVector)h00.lanewise(VectorOperators.XOR, h00.lanewise(VectorOperators.LSHL, 19)).convert(VectorOperators.I2F, 0)).mul(1 / 2147483648.0f);
+            FloatVector v10 = ((FloatVector)h10.lanewise(VectorOperators.XOR, h10.lanewise(VectorOperators.LSHL, 19)).convert(VectorOperators.I2F, 0)).mul(1 / 2147483648.0f);
+            FloatVector v01 = ((FloatVector)h01.lanewise(VectorOperators.XOR, h01.lanewise(VectorOperators.LSHL, 19)).convert(VectorOperators.I2F, 0)).mul(1 / 2147483648.0f);
+            FloatVector v11 = ((FloatVector)h11.lanewise(VectorOperators.XOR, h11.lanewise(VectorOperators.LSHL, 19)).convert(VectorOperators.I2F, 0)).mul(1 / 2147483648.0f);
+            FloatVector xf00 = v00.add(xs0.mul(v10.sub(v00)));
+            FloatVector xf10 = v01.add(xs0.mul(v11.sub(v01)));
+
+            zSeed = z1.lanewise(VectorOperators.XOR, seed);
+            h00 = x0.lanewise(VectorOperators.XOR, y0).lanewise(VectorOperators.XOR, zSeed).mul(HashMul);
+            h10 = x1.lanewise(VectorOperators.XOR, y0).lanewise(VectorOperators.XOR, zSeed).mul(HashMul);
+            h01 = x0.lanewise(VectorOperators.XOR, y1).lanewise(VectorOperators.XOR, zSeed).mul(HashMul);
+            h11 = x1.lanewise(VectorOperators.XOR, y1).lanewise(VectorOperators.XOR, zSeed).mul(HashMul);
+            h00 = h00.mul(h00);
+            h10 = h10.mul(h10);
+            h01 = h01.mul(h01);
+            h11 = h11.mul(h11);
+            v00 = ((FloatVector)h00.lanewise(VectorOperators.XOR, h00.lanewise(VectorOperators.LSHL, 19)).convert(VectorOperators.I2F, 0)).mul(1 / 2147483648.0f);
+            v10 = ((FloatVector)h10.lanewise(VectorOperators.XOR, h10.lanewise(VectorOperators.LSHL, 19)).convert(VectorOperators.I2F, 0)).mul(1 / 2147483648.0f);
+            v01 = ((FloatVector)h01.lanewise(VectorOperators.XOR, h01.lanewise(VectorOperators.LSHL, 19)).convert(VectorOperators.I2F, 0)).mul(1 / 2147483648.0f);
+            v11 = ((FloatVector)h11.lanewise(VectorOperators.XOR, h11.lanewise(VectorOperators.LSHL, 19)).convert(VectorOperators.I2F, 0)).mul(1 / 2147483648.0f);
+            FloatVector xf01 = v00.add(xs0.mul(v10.sub(v00)));
+            FloatVector xf11 = v01.add(xs0.mul(v11.sub(v01)));
+
+            // Lerp
+            FloatVector yf0 = xf00.add(ys0.mul(xf10.sub(xf00)));
+            FloatVector yf1 = xf01.add(ys0.mul(xf11.sub(xf01)));
+            FloatVector result = yf0.add(zs0.mul(yf1.sub(yf0)));
+
+            if (p + LANES <= count) result.intoArray(out, p);
+            else result.intoArray(out, p, F.indexInRange(p, count));
+        }
+    }
+
+
+    // OpenSimplex2 Noise
+
+    static void OpenSimplex2D(int seed, float[] xs, float[] ys, float[] out, int count, int[] index)
+    {
+        for (int p = 0; p < count; p += LANES)
+        {
+            FloatVector x = FloatVector.fromArray(F, xs, p);
+            FloatVector y = FloatVector.fromArray(F, ys, p);
+
+            // FastFloor
+            VectorMask<Float> xNeg = x.compare(VectorOperators.LT, 0);
+            VectorMask<Float> yNeg = y.compare(VectorOperators.LT, 0);
+            FloatVector xr = x.add(RoundMagic).sub(RoundMagic);
+            FloatVector yr = y.add(RoundMagic).sub(RoundMagic);
+            xr = xr.sub(1, xr.compare(VectorOperators.GT, x).andNot(xNeg)).add(1, xr.compare(VectorOperators.LT, x).and(xNeg)).sub(1, xNeg);
+            yr = yr.sub(1, yr.compare(VectorOperators.GT, y).andNot(yNeg)).add(1, yr.compare(VectorOperators.LT, y).and(yNeg)).sub(1, yNeg);
+
+            FloatVector xi = x.sub(xr);
+            FloatVector yi = y.sub(yr);
+
+            FloatVector t = xi.add(yi).mul(G2);
+            FloatVector x0 = xi.sub(t);
+            FloatVector y0 = yi.sub(t);
+
+            IntVector i = xr.add(RoundMagic).reinterpretAsInts().sub(RoundMagicBits).mul(PrimeX);
+            IntVector j = yr.add(RoundMagic).reinterpretAsInts().sub(RoundMagicBits).mul(PrimeY);
+
+            FloatVector a = FloatVector.broadcast(F, 0.5f).sub(x0.mul(x0)).sub(y0.mul(y0));
+            IntVector hash = i.lanewise(VectorOperators.XOR, j).lanewise(VectorOperators.XOR, seed).mul(HashMul);
+            hash.lanewise(VectorOperators.XOR, hash.lanewise(VectorOperators.ASHR, 15)).lanewise(VectorOperators.ASHR, 1).and(127).intoArray(index, 0);
+            FloatVector n0 = a.mul(a).mul(a.mul(a))
+                    .mul(x0.mul(FloatVector.fromArray(F, GradX2D, 0, index, 0)).add(y0.mul(FloatVector.fromArray(F, GradY2D, 0, index, 0))))
+                    .blend(0, a.compare(VectorOperators.LE, 0));
+
+            FloatVector c = t.mul((float)(2 * (1 - 2 * G2) * (1 / G2 - 2))).add(a.add((float)(-2 * (1 - 2 * G2) * (1 - 2 * G2))));
+            FloatVector x2 = x0.add(2 * (float)G2 - 1);
+            FloatVector y2 = y0.add(2 * (float)G2 - 1);
+            hash = i.add(PrimeX).lanewise(VectorOperators.XOR, j.add(PrimeY)).lanewise(VectorOperators.XOR, seed).mul(HashMul);
+            hash.lanewise(VectorOperators.XOR, hash.lanewise(VectorOperators.ASHR, 15)).lanewise(VectorOperators.ASHR, 1).and(127).intoArray(index, 0);
+            FloatVector n2 = c.mul(c).mul(c.mul(c))
+                    .mul(x2.mul(FloatVector.fromArray(F, GradX2D, 0, index, 0)).add(y2.mul(FloatVector.fromArray(F, GradY2D, 0, index, 0))))
+                    .blend(0, c.compare(VectorOperators.LE, 0));
+
+            // Upper or lower triangle
+            VectorMask<Float> upper = y0.compare(VectorOperators.GT, x0);
+            VectorMask<Integer> upperI = upper.cast(I);
+            FloatVector x1 = x0.add(FloatVector.broadcast(F, (float)G2 - 1).blend((float)G2, upper));
+            FloatVector y1 = y0.add(FloatVector.broadcast(F, (float)G2).blend((float)G2 - 1, upper));
+            IntVector i1 = i.add(IntVector.broadcast(I, PrimeX).blend(0, upperI));
+            IntVector j1 = j.add(IntVector.broadcast(I, 0).blend(PrimeY, upperI));
+            FloatVector b = FloatVector.broadcast(F, 0.5f).sub(x1.mul(x1)).sub(y1.mul(y1));
+            hash = i1.lanewise(VectorOperators.XOR, j1).lanewise(VectorOperators.XOR, seed).mul(HashMul);
+            hash.lanewise(VectorOperators.XOR, hash.lanewise(VectorOperators.ASHR, 15)).lanewise(VectorOperators.ASHR, 1).and(127).intoArray(index, 0);
+            FloatVector n1 = b.mul(b).mul(b.mul(b))
+                    .mul(x1.mul(FloatVector.fromArray(F, GradX2D, 0, index, 0)).add(y1.mul(FloatVector.fromArray(F, GradY2D, 0, index, 0))))
+                    .blend(0, b.compare(VectorOperators.LE, 0));
+
+            FloatVector result = n0.add(n1).add(n2).mul(99.83685446303647f);
+
+            if (p + LANES <= count) result.intoArray(out, p);
+            else result.intoArray(out, p, F.indexInRange(p, count));
+        }
+    }
+
+    static void OpenSimplex3D(int seed, float[] xs, float[] ys, float[] zs, float[] out, int count, int[] index)
+    {
+        for (int p = 0; p < count; p += LANES)
+        {
+            FloatVector x = FloatVector.fromArray(F, xs, p);
+            FloatVector y = FloatVector.fromArray(F, ys, p);
+            FloatVector z = FloatVector.fromArray(F, zs, p);
+
+            // FastRound: truncate after adding +-0.5
+            VectorMask<Float> xNeg = x.compare(VectorOperators.LT, 0);
+            VectorMask<Float> yNeg = y.compare(VectorOperators.LT, 0);
+            VectorMask<Float> zNeg = z.compare(VectorOperators.LT, 0);
+            FloatVector xh = x.add(FloatVector.broadcast(F, 0.5f).blend(-0.5f, xNeg));
+            FloatVector yh = y.add(FloatVector.broadcast(F, 0.5f).blend(-0.5f, yNeg));
+            FloatVector zh = z.add(FloatVector.broadcast(F, 0.5f).blend(-0.5f, zNeg));
+            xNeg = xh.compare(VectorOperators.LT, 0);
+            yNeg = yh.compare(VectorOperators.LT, 0);
+            zNeg = zh.compare(VectorOperators.LT, 0);
+            FloatVector xr = xh.add(RoundMagic).sub(RoundMagic);
+            FloatVector yr = yh.add(RoundMagic).sub(RoundMagic);
+            FloatVector zr = zh.add(RoundMagic).sub(RoundMagic);
+            xr = xr.sub(1, xr.compare(VectorOperators.GT, xh).andNot(xNeg)).add(1, xr.compare(VectorOperators.LT, xh).and(xNeg));
+            yr = yr.sub(1, yr.compare(VectorOperators.GT, yh).andNot(yNeg)).add(1, yr.compare(VectorOperators.LT, yh).and(yNeg));
+            zr = zr.sub(1, zr.compare(VectorOperators.GT, zh).andNot(zNeg)).add(1, zr.compare(VectorOperators.LT, zh).and(zNeg));
+
+            FloatVector x0 = x.sub(xr);
+            FloatVector y0 = y.sub(yr);
+            FloatVector z0 = z.sub(zr);
+
+            IntVector i = xr.add(RoundMagic).reinterpretAsInts().sub(RoundMagicBits).mul(PrimeX);
+            IntVector j = yr.add(RoundMagic).reinterpretAsInts().sub(RoundMagicBits).mul(PrimeY);
+            IntVector k = zr.add(RoundMagic).reinterpretAsInts().sub(RoundMagicBits).mul(PrimeZ);
+
+            // (int)(-1.0f - x0) | 1 is -1 where -1.0f - x0 <= -1 and 1 otherwise, as |x0| <= 0.5
+            FloatVector xNSign = FloatVector.broadcast(F, 1).blend(-1, FloatVector.broadcast(F, -1.0f).sub(x0).compare(VectorOperators.LE, -1));
+            FloatVector yNSign = FloatVector.broadcast(F, 1).blend(-1, FloatVector.broadcast(F, -1.0f).sub(y0).compare(VectorOperators.LE, -1));
+            FloatVector zNSign = FloatVector.broadcast(F, 1).blend(-1, FloatVector.broadcast(F, -1.0f).sub(z0).compare(VectorOperators.LE, -1));
+
+            FloatVector ax0 = xNSign.mul(x0.neg());
+            FloatVector ay0 = yNSign.mul(y0.neg());
+            FloatVector az0 = zNSign.mul(z0.neg());
+
+            int lSeed = seed;
+            FloatVector value = FloatVector.zero(F);
+            FloatVector a = FloatVector.broadcast(F, 0.6f).sub(x0.mul(x0)).sub(y0.mul(y0).add(z0.mul(z0)));
+
+            for (int l = 0; ; l++)
+            {
+                IntVector hash = i.lanewise(VectorOperators.XOR, j).lanewise(VectorOperators.XOR, k).lanewise(VectorOperators.XOR, lSeed).mul(HashMul);
+                hash.lanewise(VectorOperators.XOR, hash.lanewise(VectorOperators.ASHR, 15)).lanewise(VectorOperators.ASHR, 2).and(63).intoArray(index, 0);
+                value = value.add(a.mul(a).mul(a.mul(a))
+                        .mul(x0.mul(FloatVector.fromArray(F, GradX3D, 0, index, 0)).add(y0.mul(FloatVector.fromArray(F, GradY3D, 0, index, 0))).add(z0.mul(FloatVector.fromArray(F, GradZ3D, 0, index, 0)))),
+                        a.compare(VectorOperators.GT, 0));
+
+                // The scalar code's three way branch on the largest of ax0, ay0, az0
+                VectorMask<Float> alongX = ax0.compare(VectorOperators.GE, ay0).and(ax0.compare(VectorOperators.GE, az0));
+                VectorMask<Float> alongY = ay0.compare(VectorOperators.GT, ax0).and(ay0.compare(VectorOperators.GE, az0)).andNot(alongX);
+                VectorMask<Float> alongZ = alongX.or(alongY).not();
+                FloatVector axis = az0.blend(ay0, alongY).blend(ax0, alongX);
+                FloatVector b = a.add(axis).add(axis);
+                VectorMask<Float> inside = b.compare(VectorOperators.GT, 1);
+                b = b.sub(1);
+
+                IntVector xSign = xNSign.add(RoundMagic).reinterpretAsInts().sub(RoundMagicBits);
+                IntVector ySign = yNSign.add(RoundMagic).reinterpretAsInts().sub(RoundMagicBits);
+                IntVector zSign = zNSign.add(RoundMagic).reinterpretAsInts().sub(RoundMagicBits);
+                IntVector bi = i.sub(xSign.mul(PrimeX), alongX.cast(I));
+                IntVector bj = j.sub(ySign.mul(PrimeY), alongY.cast(I));
+                IntVector bk = k.sub(zSign.mul(PrimeZ), alongZ.cast(I));
+                FloatVector bx = x0.add(xNSign, alongX);
+                FloatVector by = y0.add(yNSign, alongY);
+                FloatVector bz = z0.add(zNSign, alongZ);
+                hash = bi.lanewise(VectorOperators.XOR, bj).lanewise(VectorOperators.XOR, bk).lanewise(VectorOperators.XOR, lSeed).mul(HashMul);
+                hash.lanewise(VectorOperators.XOR, hash.lanewise(VectorOperators.ASHR, 15)).lanewise(VectorOperators.ASHR, 2).and(63).intoArray(index, 0);
+                value = value.add(b.mul(b).mul(b.mul(b))
+                        .mul(bx.mul(FloatVector.fromArray(F, GradX3D, 0, index, 0)).add(by.mul(FloatVector.fromArray(F, GradY3D, 0, index, 0))).add(bz.mul(FloatVector.fromArray(F, GradZ3D, 0, index, 0)))),
+                        inside);
+
+                if (l == 1) break;
+
+                ax0 = FloatVector.broadcast(F, 0.5f).sub(ax0);
+                ay0 = FloatVector.broadcast(F, 0.5f).sub(ay0);
+                az0 = FloatVector.broadcast(F, 0.5f).sub(az0);
+
+                x0 = xNSign.mul(ax0);
+                y0 = yNSign.mul(ay0);
+                z0 = zNSign.mul(az0);
+
+                a = a.add(FloatVector.broadcast(F, 0.75f).sub(ax0).sub(ay0.add(az0)));
+
+                // (xNSign >> 1) & PrimeX adds the prime where the sign is -1
+                i = i.add(PrimeX, xNSign.compare(VectorOperators.LT, 0).cast(I));
+                j = j.add(PrimeY, yNSign.compare(VectorOperators.LT, 0).cast(I));
+                k = k.add(PrimeZ, zNSign.compare(VectorOperators.LT, 0).cast(I));
+
+                xNSign = xNSign.neg();
+                yNSign = yNSign.neg();
+                zNSign = zNSign.neg();
+
+                lSeed = ~lSeed;
+            }
+
+            FloatVector result = value.mul(32.69428253173828125f);
+
+            if (p + LANES <= count) result.intoArray(out, p);
+            else result.intoArray(out, p, F.indexInRange(p, count));
+        }
+    }
+}
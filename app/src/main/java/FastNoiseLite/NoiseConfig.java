@@ -0,0 +1,140 @@
+package FastNoiseLite;
+
+/// <summary>
+/// Immutable FastNoiseLite settings that can be evaluated from any number of threads at once
+/// </summary>
+/// <remarks>
+/// Built once through NoiseConfig.Builder, whose setters match FastNoiseLite's.
+/// Every method gives exactly the same result as a FastNoiseLite with the same settings.
+/// Grid generation uses per thread scratch space, DomainWarp returns new vectors.
+/// </remarks>
+public final class NoiseConfig
+{
+    private static final ThreadLocal<FastNoiseLite.GridScratch> sGridScratch =
+        ThreadLocal.withInitial(FastNoiseLite.GridScratch::new);
+
+    // Never mutated after construction, only read by the evaluation methods
+    private final FastNoiseLite mNoise;
+
+    private NoiseConfig(FastNoiseLite noise)
+    {
+        mNoise = noise;
+    }
+
+    public static Builder Builder() { return new Builder(); }
+
+    /// <summary>
+    /// Builder with every setting copied from this config, for deriving variants
+    /// </summary>
+    public Builder ToBuilder() { return new Builder(this); }
+
+    public int GetSeed() { return mNoise.GetSeed(); }
+
+    /// <summary>
+    /// 2D noise at given position, see FastNoiseLite.GetNoise
+    /// </summary>
+    public float GetNoise(/*FNLfloat*/ float x, /*FNLfloat*/ float y)
+    {
+        return mNoise.GetNoise(x, y);
+    }
+
+    /// <summary>
+    /// 3D noise at given position, see FastNoiseLite.GetNoise
+    /// </summary>
+    public float GetNoise(/*FNLfloat*/ float x, /*FNLfloat*/ float y, /*FNLfloat*/ float z)
+    {
+        return mNoise.GetNoise(x, y, z);
+    }
+
+    /// <summary>
+    /// 2D noise for every point of a uniform grid, see FastNoiseLite.GenUniformGrid2D
+    /// </summary>
+    public void GenUniformGrid2D(float[] noiseOut, int xStart, int yStart, int xSize, int ySize)
+    {
+        mNoise.GenUniformGrid2D(sGridScratch.get(), noiseOut, xStart, yStart, xSize, ySize);
+    }
+
+    /// <summary>
+    /// 3D noise for every point of a uniform grid, see FastNoiseLite.GenUniformGrid3D
+    /// </summary>
+    public void GenUniformGrid3D(float[] noiseOut, int xStart, int yStart, int zStart, int xSize, int ySize, int zSize)
+    {
+        mNoise.GenUniformGrid3D(sGridScratch.get(), noiseOut, xStart, yStart, zStart, xSize, ySize, zSize);
+    }
+
+    /// <summary>
+    /// 2D warped position, see FastNoiseLite.DomainWarp
+    /// </summary>
+    public FastNoiseLite.Vector2 DomainWarp(/*FNLfloat*/ float x, /*FNLfloat*/ float y)
+    {
+        FastNoiseLite.Vector2 coord = new FastNoiseLite.Vector2(x, y);
+        mNoise.DomainWarp(coord);
+        return coord;
+    }
+
+    /// <summary>
+    /// 3D warped position, see FastNoiseLite.DomainWarp
+    /// </summary>
+    public FastNoiseLite.Vector3 DomainWarp(/*FNLfloat*/ float x, /*FNLfloat*/ float y, /*FNLfloat*/ float z)
+    {
+        FastNoiseLite.Vector3 coord = new FastNoiseLite.Vector3(x, y, z);
+        mNoise.DomainWarp(coord);
+        return coord;
+    }
+
+    /// <summary>
+    /// Collects settings for a NoiseConfig; not thread-safe, but Build() snapshots the
+    /// settings so the builder can be changed and built again without affecting earlier configs
+    /// </summary>
+    public static final class Builder
+    {
+        private final FastNoiseLite mNoise;
+
+        private Builder()
+        {
+            mNoise = new FastNoiseLite();
+        }
+
+        private Builder(NoiseConfig config)
+        {
+            mNoise = new FastNoiseLite(config.mNoise);
+        }
+
+        public Builder SetSeed(int seed) { mNoise.SetSeed(seed); return this; }
+
+        public Builder SetFrequency(float frequency) { mNoise.SetFrequency(frequency); return this; }
+
+        public Builder SetNoiseType(FastNoiseLite.NoiseType noiseType) { mNoise.SetNoiseType(noiseType); return this; }
+
+        public Builder SetRotationType3D(FastNoiseLite.RotationType3D rotationType3D) { mNoise.SetRotationType3D(rotationType3D); return this; }
+
+        public Builder SetFractalType(FastNoiseLite.FractalType fractalType) { mNoise.SetFractalType(fractalType); return this; }
+
+        public Builder SetFractalOctaves(int octaves) { mNoise.SetFractalOctaves(octaves); return this; }
+
+        public Builder SetFractalLacunarity(float lacunarity) { mNoise.SetFractalLacunarity(lacunarity); return this; }
+
+        public Builder SetFractalGain(float gain) { mNoise.SetFractalGain(gain); return this; }
+
+        public Builder SetFractalWeightedStrength(float weightedStrength) { mNoise.SetFractalWeightedStrength(weightedStrength); return this; }
+
+        public Builder SetFractalPingPongStrength(float pingPongStrength) { mNoise.SetFractalPingPongStrength(pingPongStrength); return this; }
+
+        public Builder SetCellularDistanceFunction(FastNoiseLite.CellularDistanceFunction cellularDistanceFunction) { mNoise.SetCellularDistanceFunction(cellularDistanceFunction); return this; }
+
+        public Builder SetCellularReturnType(FastNoiseLite.CellularReturnType cellularReturnType) { mNoise.SetCellularReturnType(cellularReturnType); return this; }
+
+        public Builder SetCellularJitter(float cellularJitter) { mNoise.SetCellularJitter(cellularJitter); return this; }
+
+        public Builder SetDomainWarpType(FastNoiseLite.DomainWarpType domainWarpType) { mNoise.SetDomainWarpType(domainWarpType); return this; }
+
+        public Builder SetDomainWarpAmp(float domainWarpAmp) { mNoise.SetDomainWarpAmp(domainWarpAmp); return this; }
+
+        public Builder SetVectorKernels(boolean enabled) { mNoise.SetVectorKernels(enabled); return this; }
+
+        public NoiseConfig Build()
+        {
+            return new NoiseConfig(new FastNoiseLite(mNoise));
+        }
+    }
+}
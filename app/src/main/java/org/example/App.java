@@ -1,6 +1,5 @@
 package org.example;
 
-import org.joml.Matrix4f;
 import org.joml.Vector3f;
 import org.lwjgl.glfw.GLFW;
 import org.lwjgl.glfw.GLFWCursorPosCallback;
@@ -11,35 +10,90 @@ import org.lwjgl.opengl.GL;
 import org.lwjgl.opengl.GL11;
 import org.lwjgl.opengl.GL20;
 import org.lwjgl.opengl.GL30;
-import org.lwjgl.system.MemoryStack;
 import org.lwjgl.system.MemoryUtil;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.FloatBuffer;
-import java.util.ArrayList;
-import java.util.List;
-
-import FastNoiseLite.FastNoiseLite;
-
-import org.lwjgl.stb.STBImage;
-import org.lwjgl.system.MemoryStack;
-import java.nio.ByteBuffer;
-import java.nio.IntBuffer;
+import java.nio.file.Path;
+import java.util.function.Consumer;
 
 public class App {
     private long window;
-    private int shaderProgram;
+    private ShaderProgram terrainShader;
+    private ShaderProgram crosshairShader;
+    private ShaderProgram instancedShader;
+    private int instancedViewLoc;
+    private int instancedProjLoc;
+    private int viewLoc;
+    private int projLoc;
     private int vao;
+    private int vbo;
     private Camera camera;
     private int windowWidth = 800;
     private int windowHeight = 600;
     private boolean firstMouse = true;
     private float lastX = windowWidth / 2.0f;
     private float lastY = windowHeight / 2.0f;
-    private List<Vector3f> blocks = new ArrayList<>();
+    private final World world = new World();
+    private final MeshScheduler meshScheduler = new MeshScheduler(Mesher::fromSystemProperty);
+    private final TerrainGenerator terrain = new TerrainGenerator(WORLD_SEED);
+    private final WorldStorage storage = openStorage();
+    private final EditJournal journal = openJournal();
+    private final AutoSaver autoSaver = new AutoSaver(storage, journal);
+    private final ChunkGenerationPool chunkGenerator = new ChunkGenerationPool(terrain, autoSaver);
+    private final ChunkStreamer chunkStreamer = new ChunkStreamer(VIEW_DISTANCE, UNLOAD_DISTANCE);
+    private final ChunkStreamer.Listener chunkListener = new ChunkStreamer.Listener() {
+        @Override
+        public void loadChunk(int chunkX, int chunkZ) {
+            chunkGenerator.request(chunkX, chunkZ);
+        }
+
+        @Override
+        public void unloadChunk(int chunkX, int chunkZ) {
+            App.this.unloadChunk(chunkX, chunkZ);
+        }
+    };
+    private ChunkRenderer chunkRenderer;
+    // Created once so the per-frame drains do not allocate a new lambda every call
+    private final Consumer<MeshResult> meshUploader = this::uploadMesh;
+    // Blocks placed since their section was last meshed, drawn as instanced cubes meanwhile
+    private final InstanceBuffer placedBlocks = new InstanceBuffer();
+    private final RemeshTracker remeshTracker = new RemeshTracker(REMESH_SECTIONS_PER_FRAME);
+    private final RemeshTracker.Scheduler sectionRemesher = this::remeshSection;
+    private long frame;
+    private InstancedCubeRenderer cubeRenderer;
+    private final Consumer<Chunk> chunkAdder = this::addChunk;
+    private boolean initialMeshingLogged;
     private float cameraSpeed = 0.05f;
+    private final VoxelRaycast raycast = new VoxelRaycast();
+    private final FrameMatrices frameMatrices = new FrameMatrices(VIEW_DISTANCE);
+    private FrameUpdate frameUpdate;
+    private final Metrics metrics = new Metrics();
+    private long lastMetricsReport;
+    private long lastAutosave = System.nanoTime();
+    // How far away blocks can be placed or removed
+    private static final float REACH = 5.0f;
+
+    // Per-frame budget for GPU copies that defragment the chunk vertex arena
+    private static final int COMPACT_BYTES_PER_FRAME = 1024 * 1024;
+    private static final long METRICS_REPORT_INTERVAL_NANOS = 5_000_000_000L;
+    // Chunks are kept loaded within the view distance, plus a margin before they are dropped
+    private static final int VIEW_DISTANCE = Integer.getInteger("viewDistance", 8);
+    private static final int UNLOAD_DISTANCE = VIEW_DISTANCE + 2;
+    private static final long WORLD_SEED = Long.getLong("seed", TerrainGenerator.DEFAULT_SEED);
+    private static final int SPAWN_X = 0;
+    private static final int SPAWN_Z = 3;
+    private static final float EYE_HEIGHT = 1.6f;
+    // Edited sections remeshed per frame, nearest to the camera first
+    private static final int REMESH_SECTIONS_PER_FRAME = 16;
+    private static final long AUTOSAVE_INTERVAL_NANOS = 30_000_000_000L;
+    // Autosaves early once the journal grows past this, so it is emptied sooner
+    private static final long JOURNAL_AUTOSAVE_BYTES = 16L * 1024 * 1024;
 
     private int crosshairVao;
-    private int textureID;
+    private int crosshairVbo;
+    private BlockTextureManager blockTextures;
 
 
     private void setupCrosshair() {
@@ -51,65 +105,48 @@ public class App {
         };
     
         crosshairVao = GL30.glGenVertexArrays();
-        int vbo = GL20.glGenBuffers();
+        crosshairVbo = GL20.glGenBuffers();
     
         GL30.glBindVertexArray(crosshairVao);
-        GL20.glBindBuffer(GL20.GL_ARRAY_BUFFER, vbo);
+        GL20.glBindBuffer(GL20.GL_ARRAY_BUFFER, crosshairVbo);
         FloatBuffer vertexBuffer = MemoryUtil.memAllocFloat(vertices.length);
         vertexBuffer.put(vertices).flip();
         GL20.glBufferData(GL20.GL_ARRAY_BUFFER, vertexBuffer, GL20.GL_STATIC_DRAW);
         GL20.glVertexAttribPointer(0, 3, GL11.GL_FLOAT, false, 3 * 4, 0);
         GL20.glEnableVertexAttribArray(0);
+        GL20.glBindBuffer(GL20.GL_ARRAY_BUFFER, 0);
+        GL30.glBindVertexArray(0);
         MemoryUtil.memFree(vertexBuffer);
     }
     
     private void renderCrosshair() {
+        crosshairShader.use();
         GL30.glBindVertexArray(crosshairVao);
         GL11.glDrawArrays(GL11.GL_LINES, 0, 4);
         GL30.glBindVertexArray(0);
     }
 
-    public int loadTexture(String path) {
-        int textureID = GL11.glGenTextures();
-        
-        int textureFront = loadTexture("app/src/main/resources/grass_block_side.png");
-        int textureBack = loadTexture("app/src/main/resources/grass_block_side.png");
-        int textureLeft = loadTexture("app/src/main/resources/grass_block_side.png");
-        int textureRight = loadTexture("app/src/main/resources/grass_block_side.png");
-        int textureTop = loadTexture("app/src/main/resources/grass_block_top.png");
-        int textureBottom = loadTexture("app/src/main/resources/grass_block_bottom.png");
-
-        GL11.glBindTexture(GL11.GL_TEXTURE_2D, textureID);
-    
-        // Set texture parameters
-        GL11.glTexParameteri(GL11.GL_TEXTURE_2D, GL11.GL_TEXTURE_WRAP_S, GL11.GL_REPEAT);
-        GL11.glTexParameteri(GL11.GL_TEXTURE_2D, GL11.GL_TEXTURE_WRAP_T, GL11.GL_REPEAT);
-        GL11.glTexParameteri(GL11.GL_TEXTURE_2D, GL11.GL_TEXTURE_MIN_FILTER, GL11.GL_LINEAR);
-        GL11.glTexParameteri(GL11.GL_TEXTURE_2D, GL11.GL_TEXTURE_MAG_FILTER, GL11.GL_LINEAR);
-    
-        // Load image
-        try (MemoryStack stack = MemoryStack.stackPush()) {
-            IntBuffer width = stack.mallocInt(1);
-            IntBuffer height = stack.mallocInt(1);
-            IntBuffer channels = stack.mallocInt(1);
-    
-            ByteBuffer data = STBImage.stbi_load(path, width, height, channels, 4);
-            if (data == null) {
-                throw new RuntimeException("Failed to load texture: " + STBImage.stbi_failure_reason());
-            }
-    
-            GL11.glTexImage2D(GL11.GL_TEXTURE_2D, 0, GL11.GL_RGBA, width.get(), height.get(), 0, GL11.GL_RGBA, GL11.GL_UNSIGNED_BYTE, data);
-            STBImage.stbi_image_free(data);
-        }
-    
-        return textureID;
-    }
-
 
     public void run() {
         init();
         loop();
 
+        meshScheduler.close();
+        terrainShader.delete();
+        crosshairShader.delete();
+        instancedShader.delete();
+        cubeRenderer.delete();
+        blockTextures.delete();
+        chunkRenderer.delete();
+        GL30.glDeleteVertexArrays(vao);
+        GL20.glDeleteBuffers(vbo);
+        GL30.glDeleteVertexArrays(crosshairVao);
+        GL20.glDeleteBuffers(crosshairVbo);
+        chunkGenerator.close();
+        autoSaver.saveAll(world);
+        autoSaver.close();
+        closeStorage();
+
         // Free the window callbacks and destroy the window
         GLFW.glfwDestroyWindow(window);
 
@@ -154,9 +191,13 @@ public class App {
     
         // Set up the vertex data
         setupVertexData();
+        cubeRenderer = new InstancedCubeRenderer(vao);
     
-        // Initialize camera
+        // Initialize camera, standing on the terrain at the spawn column
         camera = new Camera();
+        camera.getPosition().set(SPAWN_X + 0.5f, terrain.spawnHeight(SPAWN_X, SPAWN_Z) + EYE_HEIGHT, SPAWN_Z + 0.5f);
+        frameUpdate = new FrameUpdate(camera, frameMatrices, remeshTracker, sectionRemesher, chunkStreamer,
+                chunkListener, chunkGenerator, chunkAdder, meshScheduler, meshUploader);
     
         // Initialize crosshair
         setupCrosshair();
@@ -166,6 +207,7 @@ public class App {
             windowWidth = width;
             windowHeight = height;
             GL11.glViewport(0, 0, width, height);
+            frameMatrices.setViewport(width, height);
         });
     
         // Set the cursor position callback
@@ -201,54 +243,36 @@ public class App {
     
         // Set the initial viewport
         GL11.glViewport(0, 0, windowWidth, windowHeight);
+        frameMatrices.setViewport(windowWidth, windowHeight);
     
-        // Generate the chunk
-        generateChunk();
+        // Terrain is streamed in around the camera from the first frame on
+        chunkRenderer = new ChunkRenderer();
+        registerMetrics();
     
-        // Load texture
-        loadTexture("grass_block.png");
+        // Every block face texture, one layer each
+        blockTextures = new BlockTextureManager("src/main/resources/");
     }
     
 
     private void setupShaders() {
-        // Load shader source code from files
-        String vertexShaderSource = ShaderUtils.loadShaderSource("src/main/resources/shaders/vertex_shader.glsl");
-        String fragmentShaderSource = ShaderUtils.loadShaderSource("src/main/resources/shaders/fragment_shader.glsl");
-
-        int vertexShader = GL20.glCreateShader(GL20.GL_VERTEX_SHADER);
-        GL20.glShaderSource(vertexShader, vertexShaderSource);
-        GL20.glCompileShader(vertexShader);
-        checkCompileErrors(vertexShader, "VERTEX");
-
-        int fragmentShader = GL20.glCreateShader(GL20.GL_FRAGMENT_SHADER);
-        GL20.glShaderSource(fragmentShader, fragmentShaderSource);
-        GL20.glCompileShader(fragmentShader);
-        checkCompileErrors(fragmentShader, "FRAGMENT");
-
-        shaderProgram = GL20.glCreateProgram();
-        GL20.glAttachShader(shaderProgram, vertexShader);
-        GL20.glAttachShader(shaderProgram, fragmentShader);
-        GL20.glLinkProgram(shaderProgram);
-        checkCompileErrors(shaderProgram, "PROGRAM");
-
-        GL20.glDeleteShader(vertexShader);
-        GL20.glDeleteShader(fragmentShader);
-    }
+        terrainShader = new ShaderProgram("src/main/resources/shaders/vertex_shader.glsl",
+                "src/main/resources/shaders/fragment_shader.glsl");
+        crosshairShader = new ShaderProgram("src/main/resources/shaders/crosshair_vertex_shader.glsl",
+                "src/main/resources/shaders/crosshair_fragment_shader.glsl");
+        viewLoc = terrainShader.uniform("view");
+        projLoc = terrainShader.uniform("projection");
+        instancedShader = new ShaderProgram("src/main/resources/shaders/instanced_vertex_shader.glsl",
+                "src/main/resources/shaders/fragment_shader.glsl");
+        instancedViewLoc = instancedShader.uniform("view");
+        instancedProjLoc = instancedShader.uniform("projection");
 
-    private void checkCompileErrors(int shader, String type) {
-        int success;
-        if (type.equals("PROGRAM")) {
-            success = GL20.glGetProgrami(shader, GL20.GL_LINK_STATUS);
-            if (success == GL11.GL_FALSE) {
-                String infoLog = GL20.glGetProgramInfoLog(shader);
-                System.out.println("ERROR::PROGRAM_LINKING_ERROR of type: " + type + "\n" + infoLog);
-            }
-        } else {
-            success = GL20.glGetShaderi(shader, GL20.GL_COMPILE_STATUS);
-            if (success == GL11.GL_FALSE) {
-                String infoLog = GL20.glGetShaderInfoLog(shader);
-                System.out.println("ERROR::SHADER_COMPILATION_ERROR of type: " + type + "\n" + infoLog);
-            }
+        terrainShader.use();
+        terrainShader.setInt(terrainShader.uniform("blockTextures"), 0);
+        instancedShader.use();
+        instancedShader.setInt(instancedShader.uniform("blockTextures"), 0);
+        // Placed blocks are all grass
+        for (int face = 0; face < BlockFace.COUNT; face++) {
+            instancedShader.setInt(instancedShader.uniform("faceLayers[" + face + "]"), BlockRegistry.textureLayer(Blocks.GRASS, face));
         }
     }
 
@@ -256,7 +280,7 @@ public class App {
         float[] vertices = generateCubeVertices();
     
         vao = GL30.glGenVertexArrays();
-        int vbo = GL20.glGenBuffers();
+        vbo = GL20.glGenBuffers();
     
         GL30.glBindVertexArray(vao);
     
@@ -280,54 +304,54 @@ public class App {
 
     private float[] generateCubeVertices() {
         return new float[]{
-            // positions          // colors        // texture coords
+            // positions          // normals         // texture coords
             // Front face (3)
-            -0.5f, -0.5f,  0.5f,  1.0f, 0.0f, 0.0f,  0.25f, 0.50f,  // bottom-left
-             0.5f, -0.5f,  0.5f,  0.0f, 1.0f, 0.0f,  0.50f, 0.50f,  // bottom-right
-             0.5f,  0.5f,  0.5f,  0.0f, 0.0f, 1.0f,  0.50f, 0.75f,  // top-right
-             0.5f,  0.5f,  0.5f,  0.0f, 0.0f, 1.0f,  0.50f, 0.75f,  // top-right
-            -0.5f,  0.5f,  0.5f,  1.0f, 1.0f, 0.0f,  0.25f, 0.75f,  // top-left
-            -0.5f, -0.5f,  0.5f,  1.0f, 0.0f, 0.0f,  0.25f, 0.50f,  // bottom-left
+            -0.5f, -0.5f,  0.5f,   0.0f,  0.0f,  1.0f,  0.00f, 1.00f,  // bottom-left
+             0.5f, -0.5f,  0.5f,   0.0f,  0.0f,  1.0f,  1.00f, 1.00f,  // bottom-right
+             0.5f,  0.5f,  0.5f,   0.0f,  0.0f,  1.0f,  1.00f, 0.00f,  // top-right
+             0.5f,  0.5f,  0.5f,   0.0f,  0.0f,  1.0f,  1.00f, 0.00f,  // top-right
+            -0.5f,  0.5f,  0.5f,   0.0f,  0.0f,  1.0f,  0.00f, 0.00f,  // top-left
+            -0.5f, -0.5f,  0.5f,   0.0f,  0.0f,  1.0f,  0.00f, 1.00f,  // bottom-left
     
             // Back face (1)
-            -0.5f, -0.5f, -0.5f,  1.0f, 0.0f, 1.0f,  0.25f, 0.25f,  // bottom-left
-             0.5f, -0.5f, -0.5f,  0.0f, 1.0f, 1.0f,  0.50f, 0.25f,  // bottom-right
-             0.5f,  0.5f, -0.5f,  1.0f, 1.0f, 1.0f,  0.50f, 0.50f,  // top-right
-             0.5f,  0.5f, -0.5f,  1.0f, 1.0f, 1.0f,  0.50f, 0.50f,  // top-right
-            -0.5f,  0.5f, -0.5f,  0.0f, 0.0f, 1.0f,  0.25f, 0.50f,  // top-left
-            -0.5f, -0.5f, -0.5f,  1.0f, 0.0f, 1.0f,  0.25f, 0.25f,  // bottom-left
+            -0.5f, -0.5f, -0.5f,   0.0f,  0.0f, -1.0f,  0.00f, 1.00f,  // bottom-left
+             0.5f, -0.5f, -0.5f,   0.0f,  0.0f, -1.0f,  1.00f, 1.00f,  // bottom-right
+             0.5f,  0.5f, -0.5f,   0.0f,  0.0f, -1.0f,  1.00f, 0.00f,  // top-right
+             0.5f,  0.5f, -0.5f,   0.0f,  0.0f, -1.0f,  1.00f, 0.00f,  // top-right
+            -0.5f,  0.5f, -0.5f,   0.0f,  0.0f, -1.0f,  0.00f, 0.00f,  // top-left
+            -0.5f, -0.5f, -0.5f,   0.0f,  0.0f, -1.0f,  0.00f, 1.00f,  // bottom-left
     
             // Left face (2)
-            -0.5f,  0.5f,  0.5f,  1.0f, 1.0f, 0.0f,  0.00f, 0.50f,  // top-right
-            -0.5f,  0.5f, -0.5f,  0.0f, 1.0f, 0.0f,  0.25f, 0.50f,  // top-left
-            -0.5f, -0.5f, -0.5f,  1.0f, 0.0f, 1.0f,  0.25f, 0.25f,  // bottom-left
-            -0.5f, -0.5f, -0.5f,  1.0f, 0.0f, 1.0f,  0.25f, 0.25f,  // bottom-left
-            -0.5f, -0.5f,  0.5f,  1.0f, 0.0f, 0.0f,  0.00f, 0.25f,  // bottom-right
-            -0.5f,  0.5f,  0.5f,  1.0f, 1.0f, 0.0f,  0.00f, 0.50f,  // top-right
+            -0.5f,  0.5f,  0.5f,  -1.0f,  0.0f,  0.0f,  1.00f, 0.00f,  // top-right
+            -0.5f,  0.5f, -0.5f,  -1.0f,  0.0f,  0.0f,  0.00f, 0.00f,  // top-left
+            -0.5f, -0.5f, -0.5f,  -1.0f,  0.0f,  0.0f,  0.00f, 1.00f,  // bottom-left
+            -0.5f, -0.5f, -0.5f,  -1.0f,  0.0f,  0.0f,  0.00f, 1.00f,  // bottom-left
+            -0.5f, -0.5f,  0.5f,  -1.0f,  0.0f,  0.0f,  1.00f, 1.00f,  // bottom-right
+            -0.5f,  0.5f,  0.5f,  -1.0f,  0.0f,  0.0f,  1.00f, 0.00f,  // top-right
     
             // Right face (4)
-             0.5f,  0.5f,  0.5f,  1.0f, 1.0f, 1.0f,  0.50f, 0.50f,  // top-left
-             0.5f,  0.5f, -0.5f,  0.0f, 1.0f, 1.0f,  0.75f, 0.50f,  // top-right
-             0.5f, -0.5f, -0.5f,  1.0f, 0.0f, 1.0f,  0.75f, 0.25f,  // bottom-right
-             0.5f, -0.5f, -0.5f,  1.0f, 0.0f, 1.0f,  0.75f, 0.25f,  // bottom-right
-             0.5f, -0.5f,  0.5f,  0.0f, 1.0f, 1.0f,  0.50f, 0.25f,  // bottom-left
-             0.5f,  0.5f,  0.5f,  1.0f, 1.0f, 1.0f,  0.50f, 0.50f,  // top-left
+             0.5f,  0.5f,  0.5f,   1.0f,  0.0f,  0.0f,  1.00f, 0.00f,  // top-left
+             0.5f,  0.5f, -0.5f,   1.0f,  0.0f,  0.0f,  0.00f, 0.00f,  // top-right
+             0.5f, -0.5f, -0.5f,   1.0f,  0.0f,  0.0f,  0.00f, 1.00f,  // bottom-right
+             0.5f, -0.5f, -0.5f,   1.0f,  0.0f,  0.0f,  0.00f, 1.00f,  // bottom-right
+             0.5f, -0.5f,  0.5f,   1.0f,  0.0f,  0.0f,  1.00f, 1.00f,  // bottom-left
+             0.5f,  0.5f,  0.5f,   1.0f,  0.0f,  0.0f,  1.00f, 0.00f,  // top-left
     
             // Top face (5)
-            -0.5f,  0.5f, -0.5f,  0.0f, 1.0f, 1.0f,  0.25f, 0.75f,  // top-left
-             0.5f,  0.5f, -0.5f,  1.0f, 1.0f, 1.0f,  0.50f, 0.75f,  // top-right
-             0.5f,  0.5f,  0.5f,  1.0f, 0.0f, 1.0f,  0.50f, 1.00f,  // bottom-right
-             0.5f,  0.5f,  0.5f,  1.0f, 0.0f, 1.0f,  0.50f, 1.00f,  // bottom-right
-            -0.5f,  0.5f,  0.5f,  1.0f, 1.0f, 0.0f,  0.25f, 1.00f,  // bottom-left
-            -0.5f,  0.5f, -0.5f,  0.0f, 1.0f, 1.0f,  0.25f, 0.75f,  // top-left
+            -0.5f,  0.5f, -0.5f,   0.0f,  1.0f,  0.0f,  0.00f, 0.00f,  // top-left
+             0.5f,  0.5f, -0.5f,   0.0f,  1.0f,  0.0f,  1.00f, 0.00f,  // top-right
+             0.5f,  0.5f,  0.5f,   0.0f,  1.0f,  0.0f,  1.00f, 1.00f,  // bottom-right
+             0.5f,  0.5f,  0.5f,   0.0f,  1.0f,  0.0f,  1.00f, 1.00f,  // bottom-right
+            -0.5f,  0.5f,  0.5f,   0.0f,  1.0f,  0.0f,  0.00f, 1.00f,  // bottom-left
+            -0.5f,  0.5f, -0.5f,   0.0f,  1.0f,  0.0f,  0.00f, 0.00f,  // top-left
     
             // Bottom face (6)
-            -0.5f, -0.5f, -0.5f,  1.0f, 0.0f, 0.0f,  0.25f, 0.00f,  // top-left
-             0.5f, -0.5f, -0.5f,  0.0f, 1.0f, 0.0f,  0.50f, 0.00f,  // top-right
-             0.5f, -0.5f,  0.5f,  0.0f, 0.0f, 1.0f,  0.50f, 0.25f,  // bottom-right
-             0.5f, -0.5f,  0.5f,  0.0f, 0.0f, 1.0f,  0.50f, 0.25f,  // bottom-right
-            -0.5f, -0.5f,  0.5f,  1.0f, 1.0f, 0.0f,  0.25f, 0.25f,  // bottom-left
-            -0.5f, -0.5f, -0.5f,  1.0f, 0.0f, 0.0f,  0.25f, 0.00f   // top-left
+            -0.5f, -0.5f, -0.5f,   0.0f, -1.0f,  0.0f,  0.00f, 0.00f,  // top-left
+             0.5f, -0.5f, -0.5f,   0.0f, -1.0f,  0.0f,  1.00f, 0.00f,  // top-right
+             0.5f, -0.5f,  0.5f,   0.0f, -1.0f,  0.0f,  1.00f, 1.00f,  // bottom-right
+             0.5f, -0.5f,  0.5f,   0.0f, -1.0f,  0.0f,  1.00f, 1.00f,  // bottom-right
+            -0.5f, -0.5f,  0.5f,   0.0f, -1.0f,  0.0f,  0.00f, 1.00f,  // bottom-left
+            -0.5f, -0.5f, -0.5f,   0.0f, -1.0f,  0.0f,  0.00f, 0.00f   // top-left
         };
     }
 
@@ -338,31 +362,30 @@ public class App {
         while (!GLFW.glfwWindowShouldClose(window)) {
             GL11.glClear(GL11.GL_COLOR_BUFFER_BIT | GL11.GL_DEPTH_BUFFER_BIT);
     
+            frame++;
             handleInput();
-            GL20.glUseProgram(shaderProgram);
-    
-            int modelLoc = GL20.glGetUniformLocation(shaderProgram, "model");
-            int viewLoc = GL20.glGetUniformLocation(shaderProgram, "view");
-            int projLoc = GL20.glGetUniformLocation(shaderProgram, "projection");
-    
-            Matrix4f view = camera.getViewMatrix();
-            GL20.glUniformMatrix4fv(viewLoc, false, view.get(new float[16]));
-    
-            Matrix4f projection = new Matrix4f().perspective((float) Math.toRadians(45.0f), (float) windowWidth / (float) windowHeight, 0.1f, 100.0f);
-            GL20.glUniformMatrix4fv(projLoc, false, projection.get(new float[16]));
-    
-            GL11.glBindTexture(GL11.GL_TEXTURE_2D, textureID);
+            frameUpdate.run();
+            autosave();
+            chunkRenderer.compact(COMPACT_BYTES_PER_FRAME);
+            logInitialMeshing();
+            chunkRenderer.cull(frameMatrices.getFrustum());
+
+            terrainShader.use();
+            terrainShader.setMatrix4(viewLoc, frameMatrices.getView());
+            terrainShader.setMatrix4(projLoc, frameMatrices.getProjection());
     
-            for (Vector3f block : blocks) {
-                Matrix4f model = new Matrix4f().translate(block);
-                GL20.glUniformMatrix4fv(modelLoc, false, model.get(new float[16]));
+            blockTextures.bind(0);
     
-                GL30.glBindVertexArray(vao);
-                GL11.glDrawArrays(GL11.GL_TRIANGLES, 0, 36);
-                GL30.glBindVertexArray(0);
-            }
+            chunkRenderer.render();
+
+            cubeRenderer.sync(placedBlocks);
+            instancedShader.use();
+            instancedShader.setMatrix4(instancedViewLoc, frameMatrices.getView());
+            instancedShader.setMatrix4(instancedProjLoc, frameMatrices.getProjection());
+            cubeRenderer.render(placedBlocks);
     
             renderCrosshair();
+            reportMetrics();
     
             GLFW.glfwSwapBuffers(window);
             GLFW.glfwPollEvents();
@@ -372,6 +395,52 @@ public class App {
     
     
 
+    private void registerMetrics() {
+        metrics.register("chunks.loaded", () -> world.getChunks().size());
+        metrics.register("chunks.generating", chunkGenerator::getPendingCount);
+        HeightmapCache heightmaps = terrain.getHeightmaps();
+        metrics.register("heightmap.chunks", heightmaps::getSize);
+        metrics.register("heightmap.hitPct", () -> Math.round(heightmaps.getHitRate() * 100));
+        metrics.register("heightmap.KB", () -> heightmaps.getEstimatedBytes() >> 10);
+        metrics.register("storage.saved", storage::getChunksSaved);
+        metrics.register("storage.loaded", storage::getChunksLoaded);
+        metrics.register("storage.savedKB", () -> storage.getBytesSaved() >> 10);
+        metrics.register("journal.pending", journal::getPendingCount);
+        metrics.register("journal.syncs", journal::getSyncCount);
+        metrics.register("journal.KB", () -> journal.getFileBytes() >> 10);
+        metrics.register("journal.failed", () -> journal.isFailed() ? 1 : 0);
+        metrics.register("journal.restarts", autoSaver::getJournalRestarts);
+        metrics.register("autosave.ms", () -> autoSaver.getDurationNanos() / 1_000_000);
+        metrics.register("autosave.snapshotUs", () -> autoSaver.getSnapshotNanos() / 1_000);
+        metrics.register("autosave.chunks", autoSaver::getChunksWritten);
+        metrics.register("autosave.KB", () -> autoSaver.getBytesWritten() >> 10);
+        metrics.register("sections.meshing", meshScheduler::getPendingCount);
+        metrics.register("edits.dirtySections", remeshTracker::getDirtyCount);
+        metrics.register("edits.coalesced", remeshTracker::getCoalescedEdits);
+        metrics.register("edits.latencyFrames", remeshTracker::getLastLatencyFrames);
+        metrics.register("edits.avgLatencyFrames", () -> Math.round(remeshTracker.getAverageLatencyFrames()));
+        metrics.register("edits.maxLatencyFrames", remeshTracker::getMaxLatencyFrames);
+        metrics.register("sections.resident", chunkRenderer::getSectionCount);
+        metrics.register("sections.tested", chunkRenderer::getSectionsTested);
+        metrics.register("sections.culled", chunkRenderer::getSectionsCulled);
+        metrics.register("sections.draws", chunkRenderer::getDrawCount);
+        BufferArena arena = chunkRenderer.getArena();
+        metrics.register("arena.pages", arena::getPageCount);
+        metrics.register("arena.usedKB", () -> arena.getBytesInUse() >> 10);
+        metrics.register("arena.freeKB", () -> arena.getBytesFree() >> 10);
+        metrics.register("arena.largestFreeKB", () -> arena.getLargestFreeBlock() >> 10);
+        metrics.register("arena.fragmentationPct", () -> Math.round(arena.getFragmentation() * 100));
+        metrics.register("arena.copiedKB", () -> arena.getBytesCopied() >> 10);
+    }
+
+    private void reportMetrics() {
+        long now = System.nanoTime();
+        if (now - lastMetricsReport >= METRICS_REPORT_INTERVAL_NANOS) {
+            lastMetricsReport = now;
+            System.out.println(metrics.format());
+        }
+    }
+
     private void handleInput() {
         float cameraSpeed = 0.05f;
         if (GLFW.glfwGetKey(window, GLFW.GLFW_KEY_W) == GLFW.GLFW_PRESS) {
@@ -394,91 +463,165 @@ public class App {
         }
     }
 
-    private void generateChunk() {
-        FastNoiseLite noise = new FastNoiseLite();
-        noise.SetNoiseType(FastNoiseLite.NoiseType.Perlin);
-        noise.SetFrequency(0.1f);
+    private static WorldStorage openStorage() {
+        try {
+            return new WorldStorage(Path.of(System.getProperty("world", "saves/world")),
+                    ChunkCodec.fromSystemProperty(WorldStorage.DEFAULT_CODEC.getName()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 
-        for (int x = 0; x < 16; x++) {
-            for (int z = 0; z < 16; z++) {
-                int height = (int) (noise.GetNoise(x, z) * 8 + 8); // Generate height value between 0 and 16
-                for (int y = 0; y < height; y++) {
-                    blocks.add(new Vector3f(x, y, z));
-                }
+    /**
+     * Edits left in the journal by a crash are saved into the world before anything loads.
+     */
+    private EditJournal openJournal() {
+        try {
+            return EditJournal.recover(storage.getDirectory().resolve("edits.journal"), storage, terrain);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Snapshots the modified chunks for saving in the background, which also empties the
+     * journal. The frame only pays for the snapshots.
+     */
+    private void autosave() {
+        long now = System.nanoTime();
+        if (now - lastAutosave >= AUTOSAVE_INTERVAL_NANOS || journal.getFileBytes() > JOURNAL_AUTOSAVE_BYTES) {
+            if (autoSaver.start(world) || !autoSaver.isSaving()) {
+                lastAutosave = now;
             }
         }
     }
 
-    private Vector3f rayCast() {
-        float step = 0.1f;
-        float maxDist = 5.0f;
-        Vector3f rayOrigin = camera.getPosition();
-        Vector3f rayDir = camera.getFront().normalize();
-        System.out.println("Ray Origin: " + rayOrigin + " Ray Direction: " + rayDir);
-    
-        for (float t = 0; t < maxDist; t += step) {
-            Vector3f pos = new Vector3f(rayOrigin).add(rayDir.mul(t, new Vector3f()), new Vector3f());
-            Vector3f blockPos = new Vector3f(Math.round(pos.x), Math.round(pos.y), Math.round(pos.z));
-            for (Vector3f block : blocks) {
-                if (block.equals(blockPos)) {
-                    System.out.println("Hit block at: " + blockPos);
-                    return block;
+    private void closeStorage() {
+        try {
+            journal.close();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        try {
+            storage.close();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private void recordEdit(int x, int y, int z, int previous, int id) {
+        if (previous == id) {
+            return;
+        }
+        journal.append(x, y, z, previous, id);
+    }
+
+    private void unloadChunk(int chunkX, int chunkZ) {
+        chunkGenerator.cancel(chunkX, chunkZ);
+        Chunk chunk = world.removeChunk(chunkX, chunkZ);
+        if (chunk == null) {
+            return;
+        }
+        // Saved in the background. Unmodified chunks are not written: they are generated again
+        // from the seed, or a snapshot of them is already on its way.
+        if (chunk.isModified()) {
+            autoSaver.enqueue(chunk);
+        }
+        remeshTracker.cancelChunk(chunkX, chunkZ);
+        for (int sectionY = 0; sectionY < Chunk.SECTION_COUNT; sectionY++) {
+            meshScheduler.cancel(chunkX, sectionY, chunkZ);
+            placedBlocks.removeSection(chunkX, sectionY, chunkZ);
+            chunkRenderer.remove(World.sectionKey(chunkX, sectionY, chunkZ));
+        }
+        // Faces that bordered the unloaded chunk are exposed now
+        scheduleNeighbors(chunkX, chunkZ);
+    }
+
+    private void addChunk(Chunk chunk) {
+        world.putChunk(chunk);
+        scheduleSections(chunk);
+        // Faces that bordered the missing chunk are hidden now
+        scheduleNeighbors(chunk.getChunkX(), chunk.getChunkZ());
+    }
+
+    private void scheduleNeighbors(int chunkX, int chunkZ) {
+        for (int face = 0; face < BlockFace.COUNT; face++) {
+            if (BlockFace.axis(face) != 1) {
+                Chunk neighbor = world.getChunk(chunkX + BlockFace.DX[face], chunkZ + BlockFace.DZ[face]);
+                if (neighbor != null) {
+                    scheduleSections(neighbor);
                 }
             }
         }
-        System.out.println("No block hit");
-        return null;
     }
-    
-    private void addBlock() {
-        Vector3f block = rayCast();
-        if (block != null) {
-            Vector3f normal = getBlockFaceNormal(block);
-            if (normal != null) {
-                Vector3f newBlock = new Vector3f(block).add(normal);
-                if (!blocks.contains(newBlock)) {
-                    blocks.add(newBlock);
-                    System.out.println("Added block at: " + newBlock);
-                }
+
+    private void scheduleSections(Chunk chunk) {
+        for (int sectionY = 0; sectionY < Chunk.SECTION_COUNT; sectionY++) {
+            ChunkSection section = chunk.getSection(sectionY);
+            if (section != null && !section.isEmpty()) {
+                remeshSection(chunk.getChunkX(), sectionY, chunk.getChunkZ());
             }
         }
     }
-    
-    private void removeBlock() {
-        Vector3f block = rayCast();
-        if (block != null) {
-            blocks.remove(block);
-            System.out.println("Removed block at: " + block);
+
+    private void remeshSection(int sectionX, int sectionY, int sectionZ) {
+        meshScheduler.schedule(world, sectionX, sectionY, sectionZ);
+    }
+
+    private void uploadMesh(MeshResult mesh) {
+        chunkRenderer.upload(mesh);
+        remeshTracker.uploaded(mesh.getSectionKey(), frame);
+        placedBlocks.removeSection(mesh.getSectionX(), mesh.getSectionY(), mesh.getSectionZ());
+    }
+
+    private void logInitialMeshing() {
+        if (!initialMeshingLogged && chunkGenerator.getPendingCount() == 0 && meshScheduler.getPendingCount() == 0) {
+            initialMeshingLogged = true;
+            System.out.println("Meshed " + meshScheduler.getMeshedSections() + " sections with "
+                    + System.getProperty(Mesher.PROPERTY, "greedy") + " mesher: "
+                    + meshScheduler.getMeshedQuads() * 2 + " triangles in "
+                    + meshScheduler.getMeshNanos() / 1000 + " us of worker time");
         }
     }
+
+    private boolean rayCast() {
+        Vector3f origin = camera.getPosition();
+        Vector3f direction = camera.getFront();
+        return raycast.cast(world, origin.x, origin.y, origin.z, direction.x, direction.y, direction.z, REACH);
+    }
     
-    private Vector3f getBlockFaceNormal(Vector3f block) {
-        Vector3f rayOrigin = camera.getPosition();
-        Vector3f rayDirection = camera.getFront().normalize();
-    
-        Vector3f[] faces = {
-            new Vector3f(1, 0, 0), new Vector3f(-1, 0, 0),
-            new Vector3f(0, 1, 0), new Vector3f(0, -1, 0),
-            new Vector3f(0, 0, 1), new Vector3f(0, 0, -1)
-        };
-    
-        for (Vector3f face : faces) {
-            Vector3f planePoint = new Vector3f(block).add(face);
-            Vector3f planeNormal = new Vector3f(face);
-            float distance = planePoint.sub(rayOrigin, new Vector3f()).dot(planeNormal) / rayDirection.dot(planeNormal);
-    
-            if (distance > 0 && distance < 5.0f) {
-                Vector3f intersection = new Vector3f(rayOrigin).add(rayDirection.mul(distance, new Vector3f()), new Vector3f());
-                if (Math.abs(intersection.x - planePoint.x) < 0.5 && Math.abs(intersection.y - planePoint.y) < 0.5 && Math.abs(intersection.z - planePoint.z) < 0.5) {
-                    System.out.println("Face normal: " + face);
-                    return face;
-                }
+    private void addBlock() {
+        if (rayCast() && raycast.getFace() >= 0) {
+            int face = raycast.getFace();
+            int x = raycast.getBlockX() + BlockFace.DX[face];
+            int y = raycast.getBlockY() + BlockFace.DY[face];
+            int z = raycast.getBlockZ() + BlockFace.DZ[face];
+            // Never above or below the world, or into a chunk that is not loaded, which
+            // setBlock would create empty
+            if (y < 0 || y >= Chunk.HEIGHT || world.getChunk(x >> 4, z >> 4) == null || world.isSolid(x, y, z)) {
+                return;
+            }
+            int previous = world.setBlock(x, y, z, Blocks.GRASS);
+            if (previous != Blocks.GRASS) {
+                recordEdit(x, y, z, previous, Blocks.GRASS);
+                placedBlocks.add(x, y, z);
+                remeshTracker.markBlock(x, y, z, frame);
+                System.out.println("Added block at: " + x + ", " + y + ", " + z);
             }
         }
-        System.out.println("No face normal found");
-        return null;
     }
     
+    private void removeBlock() {
+        if (rayCast()) {
+            int x = raycast.getBlockX();
+            int y = raycast.getBlockY();
+            int z = raycast.getBlockZ();
+            recordEdit(x, y, z, world.setBlock(x, y, z, Blocks.AIR), Blocks.AIR);
+            placedBlocks.remove(x, y, z);
+            remeshTracker.markBlock(x, y, z, frame);
+            System.out.println("Removed block at: " + x + ", " + y + ", " + z);
+        }
+    }
 
     public static void main(String[] args) {
         new App().run();
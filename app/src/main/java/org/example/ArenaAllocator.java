@@ -0,0 +1,232 @@
+package org.example;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Sub-allocates variable sized regions out of one fixed size range, such as a large GPU
+ * buffer. Works in abstract units (vertices, bytes, ...) and never touches the memory
+ * itself. Allocations are identified by handles whose offset may change when the arena
+ * is compacted.
+ */
+public class ArenaAllocator {
+    /**
+     * Told about every allocation {@link #compactStep} moves.
+     */
+    public interface Mover {
+        void move(int handle, int oldOffset, int newOffset, int size);
+    }
+
+    private final int capacity;
+    // Free regions by offset; adjacent regions are always merged
+    private final TreeMap<Integer, Integer> free = new TreeMap<>();
+    // Live allocations: handle by offset
+    private final TreeMap<Integer, Integer> live = new TreeMap<>();
+    private int[] offsets = new int[64];
+    private int[] sizes = new int[64];
+    private int[] freeHandles = new int[64];
+    private int freeHandleCount;
+    private int handleCount;
+    private int used;
+
+    public ArenaAllocator(int capacity) {
+        this.capacity = capacity;
+        if (capacity > 0) {
+            free.put(0, capacity);
+        }
+    }
+
+    /**
+     * Allocates the lowest-addressed free region that fits.
+     *
+     * @return a handle, or -1 if no free region is large enough
+     */
+    public int allocate(int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Size must be positive: " + size);
+        }
+        for (Map.Entry<Integer, Integer> region : free.entrySet()) {
+            int regionSize = region.getValue();
+            if (regionSize >= size) {
+                int offset = region.getKey();
+                free.remove(offset);
+                if (regionSize > size) {
+                    free.put(offset + size, regionSize - size);
+                }
+                used += size;
+                return newHandle(offset, size);
+            }
+        }
+        return -1;
+    }
+
+    public void free(int handle) {
+        int offset = offsets[handle];
+        int size = sizes[handle];
+        if (size == 0) {
+            throw new IllegalArgumentException("Handle is not allocated: " + handle);
+        }
+        sizes[handle] = 0;
+        live.remove(offset);
+        freeHandles[freeHandleCount++] = handle;
+        used -= size;
+        release(offset, size);
+    }
+
+    /**
+     * Returns a range to the free list, merging it with the free regions on either side.
+     */
+    private void release(int offset, int size) {
+        Integer after = free.remove(offset + size);
+        if (after != null) {
+            size += after;
+        }
+        Map.Entry<Integer, Integer> before = free.lowerEntry(offset);
+        if (before != null && before.getKey() + before.getValue() == offset) {
+            offset = before.getKey();
+            size += before.getValue();
+        }
+        free.put(offset, size);
+    }
+
+    public int getOffset(int handle) {
+        return offsets[handle];
+    }
+
+    public int getSize(int handle) {
+        return sizes[handle];
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int getUsed() {
+        return used;
+    }
+
+    public int getFree() {
+        return capacity - used;
+    }
+
+    public int getAllocationCount() {
+        return live.size();
+    }
+
+    public int getFreeRegionCount() {
+        return free.size();
+    }
+
+    public int getLargestFree() {
+        int largest = 0;
+        for (int size : free.values()) {
+            largest = Math.max(largest, size);
+        }
+        return largest;
+    }
+
+    /**
+     * Share of free space that is not in the largest free region: 0 when all free space is
+     * contiguous, approaching 1 as it splinters.
+     */
+    public float getFragmentation() {
+        int freeSpace = getFree();
+        return freeSpace == 0 ? 0.0f : 1.0f - (float) getLargestFree() / freeSpace;
+    }
+
+    /**
+     * Moves allocations into lower holes until at most {@code budget} units have been
+     * moved, so compaction can be spread over many frames. Each move takes the highest
+     * allocation that fits into the lowest hole below it; a source and destination never
+     * overlap, so the copy can stay within one buffer. At least one allocation is moved
+     * if any can be, even when it alone exceeds the budget.
+     *
+     * @return the number of units moved, 0 once nothing more can be gained
+     */
+    public int compactStep(int budget, Mover mover) {
+        int moved = 0;
+        while (true) {
+            int candidate = -1;
+            int holeOffset = 0;
+            int holeSize = 0;
+            for (Map.Entry<Integer, Integer> hole : free.entrySet()) {
+                holeOffset = hole.getKey();
+                holeSize = hole.getValue();
+                candidate = highestFitAbove(holeOffset, holeSize);
+                if (candidate >= 0) {
+                    break;
+                }
+            }
+            if (candidate < 0) {
+                return moved;
+            }
+            int size = sizes[candidate];
+            if (moved > 0 && moved + size > budget) {
+                return moved;
+            }
+
+            int oldOffset = offsets[candidate];
+            mover.move(candidate, oldOffset, holeOffset, size);
+            free.remove(holeOffset);
+            if (holeSize > size) {
+                free.put(holeOffset + size, holeSize - size);
+            }
+            offsets[candidate] = holeOffset;
+            live.remove(oldOffset);
+            live.put(holeOffset, candidate);
+            release(oldOffset, size);
+            moved += size;
+        }
+    }
+
+    /**
+     * Whether all free space is one region at the end of the arena.
+     */
+    public boolean isCompact() {
+        return free.isEmpty() || (free.size() == 1 && free.firstKey() + free.firstEntry().getValue() == capacity);
+    }
+
+    private int highestFitAbove(int offset, int size) {
+        for (Map.Entry<Integer, Integer> allocation : live.tailMap(offset, false).descendingMap().entrySet()) {
+            int handle = allocation.getValue();
+            if (sizes[handle] <= size) {
+                return handle;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Free regions as (offset, size) pairs in ascending offset order.
+     */
+    public int[] freeRegions() {
+        int[] regions = new int[free.size() * 2];
+        Iterator<Map.Entry<Integer, Integer>> iterator = free.entrySet().iterator();
+        for (int i = 0; iterator.hasNext(); i += 2) {
+            Map.Entry<Integer, Integer> region = iterator.next();
+            regions[i] = region.getKey();
+            regions[i + 1] = region.getValue();
+        }
+        return regions;
+    }
+
+    private int newHandle(int offset, int size) {
+        int handle;
+        if (freeHandleCount > 0) {
+            handle = freeHandles[--freeHandleCount];
+        } else {
+            if (handleCount == offsets.length) {
+                offsets = Arrays.copyOf(offsets, handleCount * 2);
+                sizes = Arrays.copyOf(sizes, handleCount * 2);
+                freeHandles = Arrays.copyOf(freeHandles, handleCount * 2);
+            }
+            handle = handleCount++;
+        }
+        offsets[handle] = offset;
+        sizes[handle] = size;
+        live.put(offset, handle);
+        return handle;
+    }
+}
@@ -0,0 +1,308 @@
+package org.example;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Saves modified chunks on a background thread. {@link #start} only takes a
+ * {@link Chunk#snapshot} of each modified chunk, which shares sections with the live chunk
+ * instead of copying them; encoding and writing the snapshots happens in the background.
+ * Chunks unloaded with unsaved edits are handed over with {@link #enqueue} and written the
+ * same way. Before any snapshot is written, the {@link EditJournal} is synced up to the last
+ * edit it holds, so the region files never hold an edit that a replay of the journal would
+ * undo. Once a cycle has saved every snapshot, and no earlier one is still failing, the
+ * journal is checkpointed up to the last edit the cycle covers.
+ * <p>
+ * If the journal has stopped writing after a failure, a cycle writes its snapshots without
+ * it, since the journal no longer protects those edits, and then restarts the journal with
+ * an empty file so a replay of its old records cannot undo them.
+ * <p>
+ * A snapshot that could not be saved is handed back by the next {@link #start}: its
+ * sections are marked dirty again on the live chunk, or it is written again if the chunk is
+ * not loaded. Until a snapshot is written, {@link #load} returns it in place of the saved
+ * chunk, so a chunk loaded again right after being unloaded keeps its edits.
+ * <p>
+ * {@link #start}, {@link #enqueue} and {@link #saveAll} must be called on the thread that
+ * owns the world; {@link #load} and the getters are safe from any thread.
+ */
+public class AutoSaver implements ChunkSource, AutoCloseable {
+    private final WorldStorage storage;
+    private final EditJournal journal;
+    private final ExecutorService executor = WorkerPools.newFixedPool("autosave", 1);
+    // Snapshots not written yet, by chunk key. Entries are taken, and failed ones put back,
+    // under the storage lock, so load() always sees the newest copy of a chunk.
+    private final Map<Long, Snapshot> queued = new ConcurrentHashMap<>();
+    private final Map<Long, Snapshot> failed = new ConcurrentHashMap<>();
+    private Future<?> cycle;
+    private volatile long checkpointedSequence = -1;
+    private volatile long snapshotNanos;
+    private volatile long durationNanos;
+    private volatile int chunksWritten;
+    private volatile long bytesWritten;
+    private volatile long cycles;
+    private volatile long journalRestarts;
+
+    /**
+     * A snapshot and the last journal edit it may hold.
+     */
+    private record Snapshot(Chunk chunk, long sequence) {
+    }
+
+    /**
+     * @param journal the journal to checkpoint after every complete cycle, or null
+     */
+    public AutoSaver(WorldStorage storage, EditJournal journal) {
+        this.storage = storage;
+        this.journal = journal;
+    }
+
+    public boolean isSaving() {
+        return cycle != null && !cycle.isDone();
+    }
+
+    /**
+     * Snapshots every modified chunk of the world and starts saving them, unless the previous
+     * cycle is still running.
+     *
+     * @return false if a cycle was already running or there was nothing to do
+     */
+    public boolean start(World world) {
+        if (isSaving()) {
+            return false;
+        }
+        long startNanos = System.nanoTime();
+        long sequence = lastSequence();
+        List<Long> keys = new ArrayList<>();
+        for (Map.Entry<Long, Snapshot> entry : failed.entrySet()) {
+            long key = entry.getKey();
+            Snapshot snapshot = entry.getValue();
+            if (!failed.remove(key, snapshot)) {
+                continue;
+            }
+            Chunk chunk = world.getChunk(snapshot.chunk().getChunkX(), snapshot.chunk().getChunkZ());
+            if (chunk != null) {
+                chunk.markDirty(snapshot.chunk().getDirtySections());
+            } else if (queued.putIfAbsent(key, snapshot) == null) {
+                keys.add(key);
+            }
+        }
+        for (Chunk chunk : world.getChunks()) {
+            if (chunk.isModified()) {
+                long key = World.chunkKey(chunk.getChunkX(), chunk.getChunkZ());
+                queued.put(key, new Snapshot(chunk.snapshot(), sequence));
+                keys.add(key);
+            }
+        }
+        snapshotNanos = System.nanoTime() - startNanos;
+        if (keys.isEmpty() && sequence <= checkpointedSequence) {
+            return false;
+        }
+        cycle = executor.submit(() -> save(keys, sequence));
+        return true;
+    }
+
+    private long lastSequence() {
+        return journal == null ? -1 : journal.getLastSequence();
+    }
+
+    private void save(List<Long> keys, long sequence) {
+        long startNanos = System.nanoTime();
+        int chunks = 0;
+        long bytes = 0;
+        boolean journalFailed = journal != null && (journal.isFailed() || !syncJournal(sequence));
+        if (journalFailed) {
+            System.err.println("Edit journal has failed, saving chunks without it");
+        }
+        boolean complete = true;
+        for (long key : keys) {
+            int written = write(key, journalFailed);
+            if (written < 0) {
+                complete = false;
+            } else if (written > 0) {
+                bytes += written;
+                chunks++;
+            }
+        }
+        // A failed unload save may hold edits up to the sequence too; the journal keeps them
+        // until the snapshot is written by a later cycle
+        complete &= failed.isEmpty();
+        if (complete && journal != null && (journalFailed || sequence > checkpointedSequence)) {
+            try {
+                if (journalFailed) {
+                    journal.restart();
+                    journalRestarts++;
+                } else {
+                    journal.checkpoint(sequence);
+                }
+                checkpointedSequence = sequence;
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+        durationNanos = System.nanoTime() - startNanos;
+        chunksWritten = chunks;
+        bytesWritten = bytes;
+        cycles++;
+    }
+
+    /**
+     * Writes the queued snapshot of a chunk, after syncing the journal up to it. A snapshot
+     * that cannot be written, or whose edits are not in the journal yet, moves to the failed
+     * ones.
+     *
+     * @param withoutJournal whether to write even though the journal has failed
+     * @return the bytes written, 0 if nothing was queued, or -1 if writing failed
+     */
+    private int write(long key, boolean withoutJournal) {
+        Snapshot snapshot;
+        while ((snapshot = queued.get(key)) != null) {
+            boolean synced = withoutJournal || syncJournal(snapshot.sequence());
+            synchronized (storage) {
+                if (!queued.remove(key, snapshot)) {
+                    // Replaced by a newer snapshot while the journal was synced
+                    continue;
+                }
+                if (synced) {
+                    try {
+                        int bytes = storage.save(snapshot.chunk());
+                        failed.remove(key);
+                        return bytes;
+                    } catch (IOException e) {
+                        e.printStackTrace();
+                    }
+                }
+                failed.put(key, snapshot);
+                return -1;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Makes sure the journal is on disk up to the sequence number, before region files get
+     * chunks holding those edits.
+     *
+     * @return false if the journal could not be synced
+     */
+    private boolean syncJournal(long sequence) {
+        if (journal == null || journal.getSyncedSequence() >= sequence) {
+            return true;
+        }
+        try {
+            journal.flush();
+            return true;
+        } catch (IOException e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    /**
+     * Takes a snapshot of a chunk that is being unloaded with unsaved edits, and writes it
+     * in the background. It replaces any older snapshot of the chunk not written yet.
+     */
+    public void enqueue(Chunk chunk) {
+        long key = World.chunkKey(chunk.getChunkX(), chunk.getChunkZ());
+        queued.put(key, new Snapshot(chunk.snapshot(), lastSequence()));
+        // With a failed journal this waits for the next cycle, which restarts the journal
+        executor.execute(() -> write(key, false));
+    }
+
+    /**
+     * Returns the newest copy of the chunk: a snapshot not written yet, or else the saved
+     * chunk.
+     */
+    @Override
+    public Chunk load(int chunkX, int chunkZ) throws IOException {
+        long key = World.chunkKey(chunkX, chunkZ);
+        synchronized (storage) {
+            Snapshot snapshot = queued.get(key);
+            if (snapshot == null) {
+                snapshot = failed.get(key);
+            }
+            return snapshot != null ? snapshot.chunk().restore() : storage.load(chunkX, chunkZ);
+        }
+    }
+
+    @Override
+    public Path setAside(int chunkX, int chunkZ) throws IOException {
+        return storage.setAside(chunkX, chunkZ);
+    }
+
+    /**
+     * Saves every modified chunk and waits for it, as on exit.
+     */
+    public void saveAll(World world) {
+        await();
+        if (start(world)) {
+            await();
+        }
+    }
+
+    private void await() {
+        if (cycle == null) {
+            return;
+        }
+        try {
+            cycle.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            e.getCause().printStackTrace();
+        }
+    }
+
+    /**
+     * Time the last {@link #start} spent taking snapshots, on the calling thread.
+     */
+    public long getSnapshotNanos() {
+        return snapshotNanos;
+    }
+
+    /**
+     * Time the last completed cycle took to write its snapshots and checkpoint the journal.
+     */
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+
+    public int getChunksWritten() {
+        return chunksWritten;
+    }
+
+    public long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    public long getCycles() {
+        return cycles;
+    }
+
+    /**
+     * How many times a cycle saved without the journal after it failed, and started it over.
+     */
+    public long getJournalRestarts() {
+        return journalRestarts;
+    }
+
+    /**
+     * Waits for a running cycle to finish.
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package org.example;
+
+/**
+ * The six axis-aligned faces of a block. Faces come in positive/negative pairs per axis,
+ * so {@code face >> 1} is the axis (0 = x, 1 = y, 2 = z) and {@code face & 1} is set for
+ * the negative side.
+ */
+public final class BlockFace {
+    public static final int EAST = 0;   // +x
+    public static final int WEST = 1;   // -x
+    public static final int UP = 2;     // +y
+    public static final int DOWN = 3;   // -y
+    public static final int SOUTH = 4;  // +z
+    public static final int NORTH = 5;  // -z
+    public static final int COUNT = 6;
+
+    public static final int[] DX = {1, -1, 0, 0, 0, 0};
+    public static final int[] DY = {0, 0, 1, -1, 0, 0};
+    public static final int[] DZ = {0, 0, 0, 0, 1, -1};
+
+    private BlockFace() {
+    }
+
+    public static int axis(int face) {
+        return face >> 1;
+    }
+
+    public static boolean isPositive(int face) {
+        return (face & 1) == 0;
+    }
+
+    public static int opposite(int face) {
+        return face ^ 1;
+    }
+}
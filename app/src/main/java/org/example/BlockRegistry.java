@@ -0,0 +1,110 @@
+package org.example;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Properties of every block type, kept in flat arrays indexed by block id so the mesher,
+ * raycast and lighting loops can read them with a single array load.
+ *
+ * <p>Face textures are named after their image in the resources directory and numbered
+ * in registration order; that number is the layer of the terrain texture array and is
+ * what {@link PackedVertex} carries.
+ */
+public final class BlockRegistry {
+    public static final int MAX_BLOCKS = 256;
+    public static final int MAX_EMISSION = 15;
+
+    private static final String[] NAMES = new String[MAX_BLOCKS];
+    private static final boolean[] OPAQUE = new boolean[MAX_BLOCKS];
+    private static final boolean[] SOLID = new boolean[MAX_BLOCKS];
+    private static final byte[] EMISSION = new byte[MAX_BLOCKS];
+    private static final int[] FACE_LAYERS = new int[MAX_BLOCKS * BlockFace.COUNT];
+    private static final List<String> TEXTURES = new ArrayList<>();
+
+    static {
+        register(Blocks.AIR, "air", false, false, 0);
+        register(Blocks.GRASS, "grass", true, true, 0);
+        setFaces(Blocks.GRASS, "grass_block_side", "grass_block_top", "grass_block_bottom");
+        register(Blocks.DIRT, "dirt", true, true, 0);
+        setFaces(Blocks.DIRT, "grass_block_bottom", "grass_block_bottom", "grass_block_bottom");
+        register(Blocks.STONE, "stone", true, true, 0);
+        setFaces(Blocks.STONE, "stone", "stone", "stone");
+    }
+
+    private BlockRegistry() {
+    }
+
+    public static boolean isRegistered(int id) {
+        return NAMES[id] != null;
+    }
+
+    public static String getName(int id) {
+        return NAMES[id];
+    }
+
+    /**
+     * Whether the block hides the faces of its neighbours.
+     */
+    public static boolean isOpaque(int id) {
+        return OPAQUE[id];
+    }
+
+    /**
+     * Whether the block stops rays and can be collided with.
+     */
+    public static boolean isSolid(int id) {
+        return SOLID[id];
+    }
+
+    /**
+     * Light level the block gives off, 0 to {@link #MAX_EMISSION}.
+     */
+    public static int getEmission(int id) {
+        return EMISSION[id];
+    }
+
+    /**
+     * Texture array layer for one face of a block.
+     */
+    public static int textureLayer(int id, int face) {
+        return FACE_LAYERS[id * BlockFace.COUNT + face];
+    }
+
+    public static int getTextureCount() {
+        return TEXTURES.size();
+    }
+
+    public static String getTextureName(int layer) {
+        return TEXTURES.get(layer);
+    }
+
+    private static void register(int id, String name, boolean opaque, boolean solid, int emission) {
+        if (NAMES[id] != null) {
+            throw new IllegalStateException("Block id " + id + " is already " + NAMES[id]);
+        }
+        NAMES[id] = name;
+        OPAQUE[id] = opaque;
+        SOLID[id] = solid;
+        EMISSION[id] = (byte) emission;
+    }
+
+    private static void setFaces(int id, String side, String top, String bottom) {
+        Arrays.fill(FACE_LAYERS, id * BlockFace.COUNT, (id + 1) * BlockFace.COUNT, texture(side));
+        FACE_LAYERS[id * BlockFace.COUNT + BlockFace.UP] = texture(top);
+        FACE_LAYERS[id * BlockFace.COUNT + BlockFace.DOWN] = texture(bottom);
+    }
+
+    private static int texture(String name) {
+        int layer = TEXTURES.indexOf(name);
+        if (layer < 0) {
+            if (TEXTURES.size() > PackedVertex.MAX_LAYER) {
+                throw new IllegalStateException("Too many block textures for the vertex format");
+            }
+            layer = TEXTURES.size();
+            TEXTURES.add(name);
+        }
+        return layer;
+    }
+}
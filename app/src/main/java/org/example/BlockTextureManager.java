@@ -0,0 +1,82 @@
+package org.example;
+
+import org.lwjgl.opengl.GL11;
+import org.lwjgl.opengl.GL12;
+import org.lwjgl.opengl.GL13;
+import org.lwjgl.opengl.GL30;
+import org.lwjgl.stb.STBImage;
+import org.lwjgl.system.MemoryStack;
+import org.lwjgl.system.MemoryUtil;
+
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+
+/**
+ * Loads every texture listed in {@link BlockRegistry} into the layers of one mipmapped
+ * {@code GL_TEXTURE_2D_ARRAY}, so all terrain draws with a single texture binding. Images
+ * of other sizes are rescaled to {@link #LAYER_SIZE}.
+ */
+public class BlockTextureManager {
+    public static final int LAYER_SIZE = 256;
+
+    private final int texture;
+
+    /**
+     * @param directory where the {@code <name>.png} images live, ending in a separator
+     */
+    public BlockTextureManager(String directory) {
+        int layers = BlockRegistry.getTextureCount();
+        texture = GL11.glGenTextures();
+        GL11.glBindTexture(GL30.GL_TEXTURE_2D_ARRAY, texture);
+        GL12.glTexImage3D(GL30.GL_TEXTURE_2D_ARRAY, 0, GL11.GL_RGBA8, LAYER_SIZE, LAYER_SIZE, layers, 0,
+                GL11.GL_RGBA, GL11.GL_UNSIGNED_BYTE, (ByteBuffer) null);
+
+        ByteBuffer scaled = MemoryUtil.memAlloc(LAYER_SIZE * LAYER_SIZE * TextureImages.CHANNELS);
+        try {
+            for (int layer = 0; layer < layers; layer++) {
+                String path = directory + BlockRegistry.getTextureName(layer) + ".png";
+                uploadLayer(layer, path, scaled);
+            }
+        } finally {
+            MemoryUtil.memFree(scaled);
+        }
+
+        GL30.glGenerateMipmap(GL30.GL_TEXTURE_2D_ARRAY);
+        // Crisp texels up close, blended mip levels in the distance
+        GL11.glTexParameteri(GL30.GL_TEXTURE_2D_ARRAY, GL11.GL_TEXTURE_MIN_FILTER, GL11.GL_NEAREST_MIPMAP_LINEAR);
+        GL11.glTexParameteri(GL30.GL_TEXTURE_2D_ARRAY, GL11.GL_TEXTURE_MAG_FILTER, GL11.GL_NEAREST);
+        GL11.glTexParameteri(GL30.GL_TEXTURE_2D_ARRAY, GL11.GL_TEXTURE_WRAP_S, GL11.GL_REPEAT);
+        GL11.glTexParameteri(GL30.GL_TEXTURE_2D_ARRAY, GL11.GL_TEXTURE_WRAP_T, GL11.GL_REPEAT);
+        GL11.glBindTexture(GL30.GL_TEXTURE_2D_ARRAY, 0);
+    }
+
+    private static void uploadLayer(int layer, String path, ByteBuffer scaled) {
+        try (MemoryStack stack = MemoryStack.stackPush()) {
+            IntBuffer width = stack.mallocInt(1);
+            IntBuffer height = stack.mallocInt(1);
+            IntBuffer channels = stack.mallocInt(1);
+
+            ByteBuffer data = STBImage.stbi_load(path, width, height, channels, TextureImages.CHANNELS);
+            if (data == null) {
+                throw new RuntimeException("Failed to load texture " + path + ": " + STBImage.stbi_failure_reason());
+            }
+            ByteBuffer pixels = data;
+            if (width.get(0) != LAYER_SIZE || height.get(0) != LAYER_SIZE) {
+                TextureImages.resize(data, width.get(0), height.get(0), scaled, LAYER_SIZE, LAYER_SIZE);
+                pixels = scaled;
+            }
+            GL12.glTexSubImage3D(GL30.GL_TEXTURE_2D_ARRAY, 0, 0, 0, layer, LAYER_SIZE, LAYER_SIZE, 1,
+                    GL11.GL_RGBA, GL11.GL_UNSIGNED_BYTE, pixels);
+            STBImage.stbi_image_free(data);
+        }
+    }
+
+    public void bind(int unit) {
+        GL13.glActiveTexture(GL13.GL_TEXTURE0 + unit);
+        GL11.glBindTexture(GL30.GL_TEXTURE_2D_ARRAY, texture);
+    }
+
+    public void delete() {
+        GL11.glDeleteTextures(texture);
+    }
+}
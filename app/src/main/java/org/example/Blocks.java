@@ -0,0 +1,14 @@
+package org.example;
+
+/**
+ * Numeric ids of the block types. Their properties live in {@link BlockRegistry}.
+ */
+public final class Blocks {
+    public static final int AIR = 0;
+    public static final int GRASS = 1;
+    public static final int DIRT = 2;
+    public static final int STONE = 3;
+
+    private Blocks() {
+    }
+}
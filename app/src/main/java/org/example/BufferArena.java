@@ -0,0 +1,201 @@
+package org.example;
+
+import org.lwjgl.opengl.GL15;
+import org.lwjgl.opengl.GL31;
+
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sub-allocates variable sized regions out of a few large GPU buffers ("pages"), so
+ * remeshing never creates or deletes buffer objects. Each page is managed by its own
+ * {@link ArenaAllocator} in bytes; when none has room a new page is added. Fragmented
+ * pages are compacted a little at a time by {@link #compact(int)}, copying regions into
+ * lower holes of the same page.
+ *
+ * <p>Allocations are identified by an int that packs the page index and the page's
+ * handle. Offsets can change during compaction, so read them when building draws.
+ */
+public class BufferArena {
+    public static final int DEFAULT_PAGE_BYTES = 16 << 20;
+    // Pages more fragmented than this are worth compacting
+    private static final float COMPACT_FRAGMENTATION = 0.25f;
+    private static final int HANDLE_BITS = 24;
+    private static final int HANDLE_MASK = (1 << HANDLE_BITS) - 1;
+    private static final int MAX_PAGES = 1 << (Integer.SIZE - 1 - HANDLE_BITS);
+
+    private static class Page {
+        final int buffer;
+        final ArenaAllocator allocator;
+        // Set when a compaction step found nothing to move, cleared by the next free
+        boolean settled;
+
+        Page(int buffer, int bytes) {
+            this.buffer = buffer;
+            this.allocator = new ArenaAllocator(bytes);
+        }
+    }
+
+    private final int pageBytes;
+    private final List<Page> pages = new ArrayList<>();
+    private final ArenaAllocator.Mover copier = this::copyRegion;
+    private long bytesCopied;
+
+    public BufferArena() {
+        this(DEFAULT_PAGE_BYTES);
+    }
+
+    public BufferArena(int pageBytes) {
+        this.pageBytes = pageBytes;
+    }
+
+    /**
+     * Reserves {@code bytes} in the first page with a large enough free region. Requests
+     * larger than a page get a page of their own.
+     */
+    public int allocate(int bytes) {
+        for (int i = 0; i < pages.size(); i++) {
+            int handle = pages.get(i).allocator.allocate(bytes);
+            if (handle >= 0) {
+                return id(i, handle);
+            }
+        }
+        if (pages.size() == MAX_PAGES) {
+            throw new IllegalStateException("Buffer arena is out of pages");
+        }
+        Page page = addPage(Math.max(pageBytes, bytes));
+        return id(pages.size() - 1, page.allocator.allocate(bytes));
+    }
+
+    public void free(int allocation) {
+        Page page = pages.get(page(allocation));
+        page.allocator.free(handle(allocation));
+        page.settled = false;
+    }
+
+    /**
+     * Writes {@code data} at the start of an allocation.
+     */
+    public void upload(int allocation, IntBuffer data) {
+        Page page = pages.get(page(allocation));
+        GL15.glBindBuffer(GL15.GL_ARRAY_BUFFER, page.buffer);
+        GL15.glBufferSubData(GL15.GL_ARRAY_BUFFER, getOffset(allocation), data);
+        GL15.glBindBuffer(GL15.GL_ARRAY_BUFFER, 0);
+    }
+
+    /**
+     * Copies regions of fragmented pages into lower holes, at most about
+     * {@code budgetBytes} per call.
+     *
+     * @return bytes copied
+     */
+    public int compact(int budgetBytes) {
+        int copied = 0;
+        for (int i = 0; i < pages.size() && copied < budgetBytes; i++) {
+            Page page = pages.get(i);
+            if (page.settled || page.allocator.getFragmentation() <= COMPACT_FRAGMENTATION) {
+                continue;
+            }
+            GL15.glBindBuffer(GL31.GL_COPY_READ_BUFFER, page.buffer);
+            GL15.glBindBuffer(GL31.GL_COPY_WRITE_BUFFER, page.buffer);
+            int moved = page.allocator.compactStep(budgetBytes - copied, copier);
+            page.settled = moved == 0;
+            copied += moved;
+        }
+        GL15.glBindBuffer(GL31.GL_COPY_READ_BUFFER, 0);
+        GL15.glBindBuffer(GL31.GL_COPY_WRITE_BUFFER, 0);
+        bytesCopied += copied;
+        return copied;
+    }
+
+    public void delete() {
+        for (Page page : pages) {
+            GL15.glDeleteBuffers(page.buffer);
+        }
+        pages.clear();
+    }
+
+    public static int page(int allocation) {
+        return allocation >>> HANDLE_BITS;
+    }
+
+    public int getBuffer(int page) {
+        return pages.get(page).buffer;
+    }
+
+    public int getOffset(int allocation) {
+        return pages.get(page(allocation)).allocator.getOffset(handle(allocation));
+    }
+
+    public int getPageCount() {
+        return pages.size();
+    }
+
+    public long getCapacity() {
+        long capacity = 0;
+        for (Page page : pages) {
+            capacity += page.allocator.getCapacity();
+        }
+        return capacity;
+    }
+
+    public long getBytesInUse() {
+        long used = 0;
+        for (Page page : pages) {
+            used += page.allocator.getUsed();
+        }
+        return used;
+    }
+
+    public long getBytesFree() {
+        return getCapacity() - getBytesInUse();
+    }
+
+    public long getLargestFreeBlock() {
+        long largest = 0;
+        for (Page page : pages) {
+            largest = Math.max(largest, page.allocator.getLargestFree());
+        }
+        return largest;
+    }
+
+    /**
+     * Free space outside each page's largest free region, as a share of all free space.
+     */
+    public float getFragmentation() {
+        long free = 0;
+        long scattered = 0;
+        for (Page page : pages) {
+            free += page.allocator.getFree();
+            scattered += page.allocator.getFree() - page.allocator.getLargestFree();
+        }
+        return free == 0 ? 0.0f : (float) scattered / free;
+    }
+
+    public long getBytesCopied() {
+        return bytesCopied;
+    }
+
+    private Page addPage(int bytes) {
+        int buffer = GL15.glGenBuffers();
+        GL15.glBindBuffer(GL15.GL_ARRAY_BUFFER, buffer);
+        GL15.glBufferData(GL15.GL_ARRAY_BUFFER, bytes, GL15.GL_DYNAMIC_DRAW);
+        GL15.glBindBuffer(GL15.GL_ARRAY_BUFFER, 0);
+        Page page = new Page(buffer, bytes);
+        pages.add(page);
+        return page;
+    }
+
+    private void copyRegion(int handle, int oldOffset, int newOffset, int size) {
+        GL31.glCopyBufferSubData(GL31.GL_COPY_READ_BUFFER, GL31.GL_COPY_WRITE_BUFFER, oldOffset, newOffset, size);
+    }
+
+    private static int id(int page, int handle) {
+        return (page << HANDLE_BITS) | handle;
+    }
+
+    private static int handle(int allocation) {
+        return allocation & HANDLE_MASK;
+    }
+}
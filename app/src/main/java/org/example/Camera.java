@@ -30,7 +30,16 @@ public class Camera {
     }
 
     public Matrix4f getViewMatrix() {
-        return new Matrix4f().lookAt(position, position.add(front, new Vector3f()), up);
+        return getViewMatrix(new Matrix4f());
+    }
+
+    /**
+     * Writes the view matrix into {@code dest} without allocating.
+     */
+    public Matrix4f getViewMatrix(Matrix4f dest) {
+        return dest.setLookAt(position.x, position.y, position.z,
+                position.x + front.x, position.y + front.y, position.z + front.z,
+                up.x, up.y, up.z);
     }
 
     public Vector3f getPosition() {
@@ -44,22 +53,22 @@ public class Camera {
     public void processKeyboard(Movement direction, float deltaTime) {
         float velocity = deltaTime * 2.5f;
         if (direction == Movement.FORWARD) {
-            position.add(new Vector3f(front).mul(velocity));
+            position.fma(velocity, front);
         }
         if (direction == Movement.BACKWARD) {
-            position.sub(new Vector3f(front).mul(velocity));
+            position.fma(-velocity, front);
         }
         if (direction == Movement.LEFT) {
-            position.sub(new Vector3f(right).mul(velocity));
+            position.fma(-velocity, right);
         }
         if (direction == Movement.RIGHT) {
-            position.add(new Vector3f(right).mul(velocity));
+            position.fma(velocity, right);
         }
         if (direction == Movement.UP) {
-            position.add(new Vector3f(worldUp).mul(velocity));
+            position.fma(velocity, worldUp);
         }
         if (direction == Movement.DOWN) {
-            position.sub(new Vector3f(worldUp).mul(velocity));
+            position.fma(-velocity, worldUp);
         }
     }
 
@@ -84,14 +93,13 @@ public class Camera {
 
     private void updateCameraVectors() {
         // Calculate the new Front vector
-        Vector3f front = new Vector3f();
         front.x = (float) Math.cos(Math.toRadians(yaw)) * (float) Math.cos(Math.toRadians(pitch));
         front.y = (float) Math.sin(Math.toRadians(pitch));
         front.z = (float) Math.sin(Math.toRadians(yaw)) * (float) Math.cos(Math.toRadians(pitch));
-        this.front.set(front.normalize());
+        front.normalize();
 
         // Also re-calculate the Right and Up vector
-        right.set(front.cross(worldUp, new Vector3f()).normalize());  // Normalize the vectors, because their length gets closer to 0 the more you look up or down which results in slower movement.
-        up.set(right.cross(front, new Vector3f()).normalize());
+        front.cross(worldUp, right).normalize();  // Normalize the vectors, because their length gets closer to 0 the more you look up or down which results in slower movement.
+        right.cross(front, up).normalize();
     }
 }
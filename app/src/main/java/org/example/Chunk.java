@@ -0,0 +1,167 @@
+package org.example;
+
+/**
+ * A 16 block wide column of the world, split vertically into {@link ChunkSection}s.
+ * Sections that have never held a block are left null.
+ * <p>
+ * A {@link #snapshot} shares this chunk's sections instead of copying them; a shared section
+ * is copied the first time this chunk changes it afterwards.
+ */
+public class Chunk {
+    public static final int SIZE = ChunkSection.SIZE;
+    public static final int SECTION_COUNT = 16;
+    public static final int HEIGHT = SECTION_COUNT * ChunkSection.SIZE;
+
+    private final int chunkX;
+    private final int chunkZ;
+    private final ChunkSection[] sections = new ChunkSection[SECTION_COUNT];
+    private static final int ALL_SECTIONS = (1 << SECTION_COUNT) - 1;
+
+    // Bit per section with blocks changed since generation, the last save or the last snapshot
+    private int dirtySections;
+    // Bit per section that a snapshot may still read, so must be copied before it changes
+    private int sharedSections;
+
+    public Chunk(int chunkX, int chunkZ) {
+        this.chunkX = chunkX;
+        this.chunkZ = chunkZ;
+    }
+
+    public int getChunkX() {
+        return chunkX;
+    }
+
+    public int getChunkZ() {
+        return chunkZ;
+    }
+
+    public ChunkSection getSection(int sectionY) {
+        return sections[sectionY];
+    }
+
+    /**
+     * Installs a whole section, as when reading a saved chunk. A null section is empty.
+     */
+    void setSection(int sectionY, ChunkSection section) {
+        sections[sectionY] = section;
+        sharedSections &= ~(1 << sectionY);
+    }
+
+    public int getBlock(int x, int y, int z) {
+        if (y < 0 || y >= HEIGHT) {
+            return Blocks.AIR;
+        }
+        ChunkSection section = sections[y >> 4];
+        if (section == null) {
+            return Blocks.AIR;
+        }
+        return section.getBlock(x, y & 15, z);
+    }
+
+    /**
+     * Sets a block using coordinates local to this chunk and returns the previous id.
+     */
+    public int setBlock(int x, int y, int z, int id) {
+        if (y < 0 || y >= HEIGHT) {
+            throw new IllegalArgumentException("y out of range: " + y);
+        }
+        int sectionY = y >> 4;
+        int bit = 1 << sectionY;
+        ChunkSection section = sections[sectionY];
+        if (section == null) {
+            if (id == Blocks.AIR) {
+                return Blocks.AIR;
+            }
+            section = new ChunkSection();
+            sections[sectionY] = section;
+            sharedSections &= ~bit;
+        } else if ((sharedSections & bit) != 0) {
+            int previous = section.getBlock(x, y & 15, z);
+            if (previous == id) {
+                return previous;
+            }
+            section = section.copy();
+            sections[sectionY] = section;
+            sharedSections &= ~bit;
+        }
+        int previous = section.setBlock(x, y & 15, z, id);
+        if (previous != id) {
+            dirtySections |= bit;
+        }
+        return previous;
+    }
+
+    /**
+     * Whether any block changed since generation or the last save, i.e. whether the chunk
+     * has to be saved.
+     */
+    public boolean isModified() {
+        return dirtySections != 0;
+    }
+
+    /**
+     * Bit {@code sectionY} is set for every section with changed blocks.
+     */
+    public int getDirtySections() {
+        return dirtySections;
+    }
+
+    /**
+     * Marks the chunk as matching what the generator produces, or what was last saved.
+     */
+    public void clearModified() {
+        dirtySections = 0;
+    }
+
+    /**
+     * Marks sections as changed again, as when saving a snapshot of them failed.
+     */
+    void markDirty(int sectionMask) {
+        dirtySections |= sectionMask & ALL_SECTIONS;
+    }
+
+    /**
+     * Returns a copy of this chunk to be saved, or read, on another thread. It shares every
+     * section with this chunk, so taking it costs no more than copying the section
+     * references; this chunk copies a shared section before it next changes it, so the
+     * snapshot never sees later edits. The snapshot takes over the dirty sections, and this
+     * chunk counts as saved up to now.
+     * <p>
+     * The snapshot must not be changed itself.
+     */
+    public Chunk snapshot() {
+        Chunk snapshot = new Chunk(chunkX, chunkZ);
+        System.arraycopy(sections, 0, snapshot.sections, 0, SECTION_COUNT);
+        snapshot.dirtySections = dirtySections;
+        snapshot.sharedSections = ALL_SECTIONS;
+        sharedSections = ALL_SECTIONS;
+        dirtySections = 0;
+        return snapshot;
+    }
+
+    /**
+     * Returns a chunk with the contents of this snapshot, for when a chunk is loaded again
+     * before its snapshot was saved. Like {@link #snapshot} it shares the sections instead of
+     * copying them, and it leaves this snapshot unchanged.
+     */
+    public Chunk restore() {
+        Chunk chunk = new Chunk(chunkX, chunkZ);
+        System.arraycopy(sections, 0, chunk.sections, 0, SECTION_COUNT);
+        chunk.sharedSections = ALL_SECTIONS;
+        return chunk;
+    }
+
+    public void compact() {
+        for (int sectionY = 0; sectionY < SECTION_COUNT; sectionY++) {
+            ChunkSection section = sections[sectionY];
+            if (section != null) {
+                if ((sharedSections & (1 << sectionY)) != 0) {
+                    section = section.copy();
+                    sections[sectionY] = section;
+                    sharedSections &= ~(1 << sectionY);
+                }
+                section.compact();
+            }
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package org.example;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Encodes chunks for saving. Each codec has a fixed id that is stored next to every saved
+ * chunk, so a world can switch codecs and still read what it saved before. Codecs keep no
+ * state between calls and can be shared between threads.
+ */
+public interface ChunkCodec {
+    String PROPERTY = "codec";
+
+    /**
+     * Stored with every encoded chunk; never reuse the id of a removed codec.
+     */
+    int getId();
+
+    String getName();
+
+    /**
+     * Returns a buffer ready to be read, holding exactly the encoded chunk.
+     */
+    ByteBuffer encode(Chunk chunk);
+
+    /**
+     * Reads a chunk from the buffer's remaining bytes, leaving the buffer itself untouched.
+     * The chunk starts out unmodified.
+     *
+     * @throws IllegalArgumentException if the data is not a chunk this codec can read
+     */
+    Chunk decode(ByteBuffer data);
+
+    static ChunkCodec create(String name) {
+        switch (name) {
+            case "raw":
+                return RawChunkCodec.INSTANCE;
+            case "rle":
+                return RleChunkCodec.INSTANCE;
+            case "deflate":
+                return DeflateChunkCodec.INSTANCE;
+            default:
+                throw new IllegalArgumentException("Unknown chunk codec: " + name);
+        }
+    }
+
+    static ChunkCodec forId(int id) {
+        switch (id) {
+            case RawChunkCodec.ID:
+                return RawChunkCodec.INSTANCE;
+            case RleChunkCodec.ID:
+                return RleChunkCodec.INSTANCE;
+            case DeflateChunkCodec.ID:
+                return DeflateChunkCodec.INSTANCE;
+            default:
+                throw new IllegalArgumentException("Unknown chunk codec id: " + id);
+        }
+    }
+
+    /**
+     * Picks the codec named by the {@code codec} system property, or the given default.
+     */
+    static ChunkCodec fromSystemProperty(String defaultName) {
+        return create(System.getProperty(PROPERTY, defaultName));
+    }
+}
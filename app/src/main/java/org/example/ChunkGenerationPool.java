@@ -0,0 +1,161 @@
+package org.example;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Consumer;
+
+/**
+ * Generates chunks on worker threads, or loads them when a saved copy exists. Finished
+ * chunks are queued until the thread that owns the world drains them, since {@link World}
+ * itself is not thread-safe. {@link #request} and {@link #drain} must be called from that
+ * thread. A chunk whose generation throws is logged and handed to the next
+ * {@link #drainFailures}, so whoever requested it can request it again.
+ */
+public class ChunkGenerationPool implements AutoCloseable {
+    /**
+     * Receives the chunks whose generation failed.
+     */
+    public interface FailureListener {
+        void chunkFailed(int chunkX, int chunkZ);
+    }
+
+    private final TerrainGenerator generator;
+    // Null when nothing is ever saved
+    private final ChunkSource storage;
+    private final ExecutorService executor;
+    private final Queue<Chunk> completed = new ConcurrentLinkedQueue<>();
+    // Keys of chunks whose generation threw, for drainFailures to forget on the owning thread
+    private final Queue<Long> failed = new ConcurrentLinkedQueue<>();
+    private final Set<Long> pending = new HashSet<>();
+
+    public ChunkGenerationPool(TerrainGenerator generator) {
+        this(generator, WorkerPools.defaultThreadCount());
+    }
+
+    public ChunkGenerationPool(TerrainGenerator generator, int threads) {
+        this(generator, null, threads);
+    }
+
+    public ChunkGenerationPool(TerrainGenerator generator, ChunkSource storage) {
+        this(generator, storage, WorkerPools.defaultThreadCount());
+    }
+
+    public ChunkGenerationPool(TerrainGenerator generator, ChunkSource storage, int threads) {
+        this.generator = generator;
+        this.storage = storage;
+        this.executor = WorkerPools.newFixedPool("terrain", threads);
+    }
+
+    /**
+     * Queues a chunk for generation unless it is already on its way.
+     *
+     * @return whether a new generation task was started
+     */
+    public boolean request(int chunkX, int chunkZ) {
+        long key = World.chunkKey(chunkX, chunkZ);
+        if (!pending.add(key)) {
+            return false;
+        }
+        executor.execute(() -> {
+            try {
+                completed.add(loadOrGenerate(chunkX, chunkZ));
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+                failed.add(key);
+            }
+        });
+        return true;
+    }
+
+    private Chunk loadOrGenerate(int chunkX, int chunkZ) {
+        return loadOrGenerate(generator, storage, chunkX, chunkZ);
+    }
+
+    /**
+     * Returns the saved chunk, or a freshly generated one if it was never saved. A saved
+     * chunk that cannot be read is set aside before it is generated again, so that saving
+     * the new one does not overwrite it. Storage may be null.
+     *
+     * @throws UncheckedIOException if an unreadable chunk could not be set aside, in which
+     * case the chunk must stay unloaded
+     */
+    static Chunk loadOrGenerate(TerrainGenerator generator, ChunkSource storage, int chunkX, int chunkZ) {
+        if (storage != null) {
+            try {
+                Chunk chunk = storage.load(chunkX, chunkZ);
+                if (chunk != null) {
+                    return chunk;
+                }
+            } catch (IOException e) {
+                e.printStackTrace();
+                try {
+                    Path aside = storage.setAside(chunkX, chunkZ);
+                    System.err.println("Moved unreadable chunk " + chunkX + ", " + chunkZ + " to " + aside);
+                } catch (IOException setAsideFailure) {
+                    setAsideFailure.addSuppressed(e);
+                    throw new UncheckedIOException(setAsideFailure);
+                }
+            }
+        }
+        return generator.generate(chunkX, chunkZ);
+    }
+
+    /**
+     * Forgets a requested chunk. If it is still being generated the result is discarded.
+     */
+    public void cancel(int chunkX, int chunkZ) {
+        pending.remove(World.chunkKey(chunkX, chunkZ));
+    }
+
+    public boolean isPending(int chunkX, int chunkZ) {
+        return pending.contains(World.chunkKey(chunkX, chunkZ));
+    }
+
+    /**
+     * Hands up to {@code max} finished chunks to {@code consumer}, skipping cancelled ones.
+     */
+    public int drain(Consumer<Chunk> consumer, int max) {
+        int drained = 0;
+        Chunk chunk;
+        while (drained < max && (chunk = completed.poll()) != null) {
+            if (pending.remove(World.chunkKey(chunk.getChunkX(), chunk.getChunkZ()))) {
+                consumer.accept(chunk);
+                drained++;
+            }
+        }
+        return drained;
+    }
+
+    /**
+     * Forgets the chunks whose generation failed and hands them to {@code listener}, skipping
+     * cancelled ones.
+     *
+     * @return the number of failed chunks handed over
+     */
+    public int drainFailures(FailureListener listener) {
+        int drained = 0;
+        Long key;
+        while ((key = failed.poll()) != null) {
+            if (pending.remove(key)) {
+                listener.chunkFailed((int) (key >> 32), (int) (long) key);
+                drained++;
+            }
+        }
+        return drained;
+    }
+
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
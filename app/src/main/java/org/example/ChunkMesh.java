@@ -0,0 +1,125 @@
+package org.example;
+
+/**
+ * The geometry of one chunk section as a list of axis-aligned quads. Quad positions are
+ * local to the section, with block (x, y, z) occupying the cube from (x, y, z) to
+ * (x + 1, y + 1, z + 1).
+ *
+ * <p>Each quad is {@link #QUAD_STRIDE} ints: face, block id, the minimum block x/y/z it
+ * covers and its extent along the face's two in-plane axes. For a face on axis {@code a}
+ * the width runs along axis {@code (a + 1) % 3} and the height along {@code (a + 2) % 3}.
+ */
+public class ChunkMesh {
+    public static final int QUAD_FACE = 0;
+    public static final int QUAD_BLOCK = 1;
+    public static final int QUAD_X = 2;
+    public static final int QUAD_Y = 3;
+    public static final int QUAD_Z = 4;
+    public static final int QUAD_WIDTH = 5;
+    public static final int QUAD_HEIGHT = 6;
+    public static final int QUAD_STRIDE = 7;
+
+    public static final int VERTICES_PER_QUAD = 4;
+    public static final int INDICES_PER_QUAD = 6;
+
+    private final int sectionX;
+    private final int sectionY;
+    private final int sectionZ;
+    private final int[] quads;
+    private final int quadCount;
+
+    public ChunkMesh(int sectionX, int sectionY, int sectionZ, int[] quads, int quadCount) {
+        this.sectionX = sectionX;
+        this.sectionY = sectionY;
+        this.sectionZ = sectionZ;
+        this.quads = quads;
+        this.quadCount = quadCount;
+    }
+
+    public int getSectionX() {
+        return sectionX;
+    }
+
+    public int getSectionY() {
+        return sectionY;
+    }
+
+    public int getSectionZ() {
+        return sectionZ;
+    }
+
+    public int getQuadCount() {
+        return quadCount;
+    }
+
+    public int getQuad(int quad, int field) {
+        return quads[quad * QUAD_STRIDE + field];
+    }
+
+    public boolean isEmpty() {
+        return quadCount == 0;
+    }
+
+    public int getVertexCount() {
+        return quadCount * VERTICES_PER_QUAD;
+    }
+
+    public int getIndexCount() {
+        return quadCount * INDICES_PER_QUAD;
+    }
+
+    public int getTriangleCount() {
+        return quadCount * 2;
+    }
+
+    /**
+     * Expands the quads into {@link PackedVertex} vertices, four per quad, wound
+     * counter-clockwise when seen from outside the block.
+     */
+    public int[] buildVertices() {
+        int[] vertices = new int[getVertexCount()];
+        int[] min = new int[3];
+        int[] corner = new int[3];
+        int offset = 0;
+        for (int q = 0; q < quadCount; q++) {
+            int face = getQuad(q, QUAD_FACE);
+            int axis = BlockFace.axis(face);
+            int uAxis = (axis + 1) % 3;
+            int vAxis = (axis + 2) % 3;
+            int width = getQuad(q, QUAD_WIDTH);
+            int height = getQuad(q, QUAD_HEIGHT);
+            int layer = BlockRegistry.textureLayer(getQuad(q, QUAD_BLOCK), face);
+            min[0] = getQuad(q, QUAD_X);
+            min[1] = getQuad(q, QUAD_Y);
+            min[2] = getQuad(q, QUAD_Z);
+
+            corner[axis] = BlockFace.isPositive(face) ? min[axis] + 1 : min[axis];
+            for (int c = 0; c < 4; c++) {
+                // Corners go (0,0) (1,0) (1,1) (0,1) in (u, v), reversed for negative faces
+                int index = BlockFace.isPositive(face) ? c : 3 - c;
+                corner[uAxis] = min[uAxis] + (index == 1 || index == 2 ? width : 0);
+                corner[vAxis] = min[vAxis] + (index >= 2 ? height : 0);
+                vertices[offset++] = PackedVertex.encode(corner[0], corner[1], corner[2], face, PackedVertex.MAX_AO, layer);
+            }
+        }
+        return vertices;
+    }
+
+    /**
+     * Index pattern shared by every mesh: two triangles per quad.
+     */
+    public static int[] buildQuadIndices(int quadCount) {
+        int[] indices = new int[quadCount * INDICES_PER_QUAD];
+        for (int q = 0; q < quadCount; q++) {
+            int base = q * VERTICES_PER_QUAD;
+            int i = q * INDICES_PER_QUAD;
+            indices[i] = base;
+            indices[i + 1] = base + 1;
+            indices[i + 2] = base + 2;
+            indices[i + 3] = base + 2;
+            indices[i + 4] = base + 3;
+            indices[i + 5] = base;
+        }
+        return indices;
+    }
+}
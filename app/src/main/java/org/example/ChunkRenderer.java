@@ -0,0 +1,214 @@
+package org.example;
+
+import org.lwjgl.opengl.GL;
+import org.lwjgl.opengl.GL11;
+import org.lwjgl.opengl.GL15;
+import org.lwjgl.opengl.GL20;
+import org.lwjgl.opengl.GL30;
+import org.lwjgl.opengl.GL31;
+import org.lwjgl.opengl.GL32;
+import org.lwjgl.opengl.GL33;
+import org.lwjgl.opengl.GL40;
+import org.lwjgl.opengl.GL43;
+import org.lwjgl.system.MemoryUtil;
+
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.util.Arrays;
+
+/**
+ * Owns the GPU copy of every meshed chunk section. Section meshes are sub-allocated from
+ * the large vertex buffers of a {@link BufferArena} and share a single quad index buffer,
+ * so the visible sections of each arena page are drawn with one
+ * {@code glMultiDrawElementsIndirect} call. Without GL 4.3 the same commands are replayed
+ * one {@code glDrawElementsBaseVertex} at a time. Culling and building the commands is left
+ * to a {@link SectionDrawList}.
+ */
+public class ChunkRenderer {
+    private static final int ORIGIN_ATTRIBUTE = 1;
+
+    private final boolean multiDrawIndirect = GL.getCapabilities().OpenGL43;
+    private final BufferArena arena = new BufferArena();
+    private final SectionDrawList drawList = new SectionDrawList(arena::getOffset);
+    // One VAO per arena page, as a multi-draw reads from one vertex buffer
+    private int[] pageVaos = new int[0];
+    private final int commandBuffer;
+    private final int originBuffer;
+    private final int indexBuffer;
+    private IntBuffer commandData = MemoryUtil.memAllocInt(64 * IndirectCommandBuffer.COMMAND_STRIDE);
+    private FloatBuffer originData = MemoryUtil.memAllocFloat(64 * IndirectCommandBuffer.ORIGIN_STRIDE);
+    private int indexCapacityQuads;
+
+    public ChunkRenderer() {
+        commandBuffer = GL15.glGenBuffers();
+        originBuffer = GL15.glGenBuffers();
+        indexBuffer = GL15.glGenBuffers();
+    }
+
+    public void upload(MeshResult mesh) {
+        long key = mesh.getSectionKey();
+        remove(key);
+        if (mesh.isEmpty()) {
+            return;
+        }
+        ensureIndexCapacity(mesh.getQuadCount());
+
+        int[] vertices = mesh.getVertices();
+        int allocation = arena.allocate(vertices.length * PackedVertex.BYTES);
+        ensurePages();
+        IntBuffer vertexData = MemoryUtil.memAllocInt(vertices.length);
+        vertexData.put(vertices).flip();
+        arena.upload(allocation, vertexData);
+        MemoryUtil.memFree(vertexData);
+
+        drawList.add(mesh.getSectionX(), mesh.getSectionY(), mesh.getSectionZ(), BufferArena.page(allocation),
+                allocation, mesh.getQuadCount() * ChunkMesh.INDICES_PER_QUAD);
+    }
+
+    public void remove(long key) {
+        int allocation = drawList.remove(key);
+        if (allocation >= 0) {
+            arena.free(allocation);
+        }
+    }
+
+    /**
+     * Spends up to {@code budgetBytes} of GPU copies defragmenting the vertex arena. Draw
+     * commands built before this are stale, so call it before {@link #cull}.
+     */
+    public void compact(int budgetBytes) {
+        if (arena.compact(budgetBytes) > 0) {
+            drawList.clear();
+        }
+    }
+
+    /**
+     * Builds the draw commands for the sections whose bounds intersect the view frustum, for
+     * the next {@link #render}. Touches no GL state.
+     */
+    public void cull(Frustum frustum) {
+        drawList.cull(frustum);
+    }
+
+    public void render() {
+        for (int page = 0; page < drawList.getPageCount(); page++) {
+            IndirectCommandBuffer commands = drawList.getCommands(page);
+            if (commands.isEmpty()) {
+                continue;
+            }
+            GL30.glBindVertexArray(pageVaos[page]);
+            if (multiDrawIndirect) {
+                uploadCommands(commands);
+                GL43.glMultiDrawElementsIndirect(GL11.GL_TRIANGLES, GL11.GL_UNSIGNED_INT, 0, commands.getCount(), 0);
+                GL15.glBindBuffer(GL40.GL_DRAW_INDIRECT_BUFFER, 0);
+            } else {
+                for (int i = 0; i < commands.getCount(); i++) {
+                    GL20.glVertexAttrib3f(ORIGIN_ATTRIBUTE, commands.getOrigin(i, 0), commands.getOrigin(i, 1),
+                            commands.getOrigin(i, 2));
+                    GL32.glDrawElementsBaseVertex(GL11.GL_TRIANGLES,
+                            commands.getCommand(i, IndirectCommandBuffer.COMMAND_COUNT), GL11.GL_UNSIGNED_INT, 0,
+                            commands.getCommand(i, IndirectCommandBuffer.COMMAND_BASE_VERTEX));
+                }
+            }
+        }
+        GL30.glBindVertexArray(0);
+    }
+
+    public void delete() {
+        for (int vao : pageVaos) {
+            GL30.glDeleteVertexArrays(vao);
+        }
+        arena.delete();
+        GL15.glDeleteBuffers(commandBuffer);
+        GL15.glDeleteBuffers(originBuffer);
+        GL15.glDeleteBuffers(indexBuffer);
+        MemoryUtil.memFree(commandData);
+        MemoryUtil.memFree(originData);
+    }
+
+    public int getSectionCount() {
+        return drawList.getSectionCount();
+    }
+
+    public int getSectionsTested() {
+        return drawList.getSectionsTested();
+    }
+
+    public int getSectionsCulled() {
+        return drawList.getSectionsCulled();
+    }
+
+    public int getDrawCount() {
+        return drawList.getDrawCount();
+    }
+
+    public BufferArena getArena() {
+        return arena;
+    }
+
+    /**
+     * Gives every arena page a VAO reading packed vertices from that page's buffer.
+     */
+    private void ensurePages() {
+        int pageCount = arena.getPageCount();
+        if (pageVaos.length == pageCount) {
+            return;
+        }
+        int first = pageVaos.length;
+        pageVaos = Arrays.copyOf(pageVaos, pageCount);
+        for (int page = first; page < pageCount; page++) {
+            int vao = GL30.glGenVertexArrays();
+            GL30.glBindVertexArray(vao);
+            GL15.glBindBuffer(GL15.GL_ARRAY_BUFFER, arena.getBuffer(page));
+            GL30.glVertexAttribIPointer(0, 1, GL11.GL_UNSIGNED_INT, PackedVertex.BYTES, 0);
+            GL20.glEnableVertexAttribArray(0);
+            if (multiDrawIndirect) {
+                // Each draw's base instance selects its section origin
+                GL15.glBindBuffer(GL15.GL_ARRAY_BUFFER, originBuffer);
+                GL20.glVertexAttribPointer(ORIGIN_ATTRIBUTE, 3, GL11.GL_FLOAT, false, 3 * Float.BYTES, 0);
+                GL20.glEnableVertexAttribArray(ORIGIN_ATTRIBUTE);
+                GL33.glVertexAttribDivisor(ORIGIN_ATTRIBUTE, 1);
+            }
+            GL15.glBindBuffer(GL15.GL_ELEMENT_ARRAY_BUFFER, indexBuffer);
+            GL30.glBindVertexArray(0);
+            GL15.glBindBuffer(GL15.GL_ARRAY_BUFFER, 0);
+            pageVaos[page] = vao;
+        }
+    }
+
+    private void uploadCommands(IndirectCommandBuffer commands) {
+        int commandInts = commands.getCount() * IndirectCommandBuffer.COMMAND_STRIDE;
+        int originFloats = commands.getCount() * IndirectCommandBuffer.ORIGIN_STRIDE;
+        if (commandData.capacity() < commandInts) {
+            commandData = MemoryUtil.memRealloc(commandData, Math.max(commandInts, commandData.capacity() * 2));
+            originData = MemoryUtil.memRealloc(originData, Math.max(originFloats, originData.capacity() * 2));
+        }
+        commandData.clear();
+        commandData.put(commands.getCommands(), 0, commandInts).flip();
+        originData.clear();
+        originData.put(commands.getOrigins(), 0, originFloats).flip();
+
+        // Orphan and refill both buffers, they are rewritten for every draw
+        GL15.glBindBuffer(GL15.GL_ARRAY_BUFFER, originBuffer);
+        GL15.glBufferData(GL15.GL_ARRAY_BUFFER, originData, GL15.GL_STREAM_DRAW);
+        GL15.glBindBuffer(GL15.GL_ARRAY_BUFFER, 0);
+        GL15.glBindBuffer(GL40.GL_DRAW_INDIRECT_BUFFER, commandBuffer);
+        GL15.glBufferData(GL40.GL_DRAW_INDIRECT_BUFFER, commandData, GL15.GL_STREAM_DRAW);
+    }
+
+    private void ensureIndexCapacity(int quadCount) {
+        if (quadCount <= indexCapacityQuads) {
+            return;
+        }
+        int capacity = Math.max(quadCount, indexCapacityQuads * 2);
+        int[] indices = ChunkMesh.buildQuadIndices(capacity);
+        IntBuffer indexData = MemoryUtil.memAllocInt(indices.length);
+        indexData.put(indices).flip();
+        // Through the copy target, so no VAO's element binding is disturbed
+        GL15.glBindBuffer(GL31.GL_COPY_WRITE_BUFFER, indexBuffer);
+        GL15.glBufferData(GL31.GL_COPY_WRITE_BUFFER, indexData, GL15.GL_STATIC_DRAW);
+        GL15.glBindBuffer(GL31.GL_COPY_WRITE_BUFFER, 0);
+        MemoryUtil.memFree(indexData);
+        indexCapacityQuads = capacity;
+    }
+}
@@ -0,0 +1,359 @@
+package org.example;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A 16x16x16 cube of blocks. Block ids are stored in a per-section palette and every
+ * block holds a bit-packed index into that palette. A section made of a single block
+ * type keeps just that one palette entry and no index data at all.
+ */
+public class ChunkSection {
+    public static final int SIZE = 16;
+    public static final int VOLUME = SIZE * SIZE * SIZE;
+
+    private int[] palette;
+    private int paletteSize;
+    // Bits per index, always 0 or a power of two so an index never straddles two longs
+    private int bits;
+    private int indicesPerLongShift;
+    private long mask;
+    private long[] data;
+    private int nonAirCount;
+
+    public ChunkSection() {
+        this(Blocks.AIR);
+    }
+
+    public ChunkSection(int fill) {
+        reset(fill);
+    }
+
+    /**
+     * Returns an independent copy of this section.
+     */
+    public ChunkSection copy() {
+        ChunkSection copy = new ChunkSection();
+        copy.palette = palette.clone();
+        copy.paletteSize = paletteSize;
+        copy.bits = bits;
+        copy.indicesPerLongShift = indicesPerLongShift;
+        copy.mask = mask;
+        copy.data = data == null ? null : data.clone();
+        copy.nonAirCount = nonAirCount;
+        return copy;
+    }
+
+    /**
+     * Bytes taken by {@link #write}.
+     */
+    public int serializedSize() {
+        return 1 + 4 + paletteSize * 4 + (data == null ? 0 : data.length * 8);
+    }
+
+    /**
+     * Writes the palette and packed indices as they are, so reading them back needs no
+     * re-encoding. Uses the buffer's byte order.
+     */
+    public void write(ByteBuffer buffer) {
+        buffer.put((byte) bits);
+        buffer.putInt(paletteSize);
+        for (int i = 0; i < paletteSize; i++) {
+            buffer.putInt(palette[i]);
+        }
+        if (data != null) {
+            buffer.asLongBuffer().put(data);
+            buffer.position(buffer.position() + data.length * 8);
+        }
+    }
+
+    /**
+     * Reads a section written by {@link #write}.
+     *
+     * @throws IllegalArgumentException if the data does not describe a valid section
+     */
+    public static ChunkSection read(ByteBuffer buffer) {
+        int bits = buffer.get();
+        int paletteSize = buffer.getInt();
+        if (bits < 0 || bits > 32 || Integer.bitCount(bits) > 1 || paletteSize < 1 || paletteSize > (1L << bits)) {
+            throw new IllegalArgumentException("Invalid section: " + bits + " bits, palette of " + paletteSize);
+        }
+        ChunkSection section = new ChunkSection();
+        if (bits == 0) {
+            section.reset(buffer.getInt());
+            return section;
+        }
+        int[] palette = new int[Math.max(paletteSize, 2)];
+        for (int i = 0; i < paletteSize; i++) {
+            palette[i] = buffer.getInt();
+        }
+        section.setBits(bits);
+        buffer.asLongBuffer().get(section.data);
+        buffer.position(buffer.position() + section.data.length * 8);
+        section.palette = palette;
+        section.paletteSize = paletteSize;
+
+        int airIndex = section.paletteIndexOf(Blocks.AIR);
+        int nonAir = VOLUME;
+        for (int i = 0; i < VOLUME; i++) {
+            int index = section.readIndex(i);
+            if (index >= paletteSize) {
+                throw new IllegalArgumentException("Palette index " + index + " out of range " + paletteSize);
+            }
+            if (index == airIndex) {
+                nonAir--;
+            }
+        }
+        section.nonAirCount = nonAir;
+        if (nonAir == 0) {
+            section.reset(Blocks.AIR);
+        }
+        return section;
+    }
+
+    /**
+     * Block id stored at the given palette position.
+     */
+    public int getPaletteId(int paletteIndex) {
+        return palette[paletteIndex];
+    }
+
+    /**
+     * Palette position of the block at the given index, always 0 in a uniform section.
+     */
+    public int getPaletteIndex(int index) {
+        return bits == 0 ? 0 : readIndex(index);
+    }
+
+    /**
+     * Builds a section from a palette and one palette position per block.
+     *
+     * @throws IllegalArgumentException if a position is outside the palette
+     */
+    public static ChunkSection fromPalette(int[] palette, int paletteSize, int[] indices) {
+        if (paletteSize < 1 || paletteSize > palette.length || indices.length != VOLUME) {
+            throw new IllegalArgumentException("Invalid palette of " + paletteSize + " for " + indices.length + " blocks");
+        }
+        ChunkSection section = new ChunkSection();
+        if (paletteSize == 1) {
+            section.reset(palette[0]);
+            return section;
+        }
+        section.setBits(bitsFor(paletteSize));
+        section.palette = palette;
+        section.paletteSize = paletteSize;
+        int airIndex = section.paletteIndexOf(Blocks.AIR);
+        int nonAir = VOLUME;
+        for (int i = 0; i < VOLUME; i++) {
+            int index = indices[i];
+            if (index < 0 || index >= paletteSize) {
+                throw new IllegalArgumentException("Palette index " + index + " out of range " + paletteSize);
+            }
+            section.writeIndex(i, index);
+            if (index == airIndex) {
+                nonAir--;
+            }
+        }
+        section.nonAirCount = nonAir;
+        if (nonAir == 0) {
+            section.reset(Blocks.AIR);
+        }
+        return section;
+    }
+
+    public static int index(int x, int y, int z) {
+        return (y << 8) | (z << 4) | x;
+    }
+
+    public int getBlock(int x, int y, int z) {
+        return getBlock(index(x, y, z));
+    }
+
+    public int getBlock(int index) {
+        if (bits == 0) {
+            return palette[0];
+        }
+        return palette[readIndex(index)];
+    }
+
+    /**
+     * Sets the block at the given local coordinates and returns the id that was there before.
+     */
+    public int setBlock(int x, int y, int z, int id) {
+        return setBlock(index(x, y, z), id);
+    }
+
+    public int setBlock(int index, int id) {
+        int previous = getBlock(index);
+        if (previous == id) {
+            return previous;
+        }
+
+        int paletteIndex = paletteIndexOf(id);
+        if (paletteIndex < 0) {
+            paletteIndex = addToPalette(id);
+        }
+        writeIndex(index, paletteIndex);
+
+        if (previous == Blocks.AIR) {
+            nonAirCount++;
+        } else if (id == Blocks.AIR) {
+            nonAirCount--;
+            if (nonAirCount == 0) {
+                reset(Blocks.AIR);
+            }
+        }
+        return previous;
+    }
+
+    public boolean isEmpty() {
+        return nonAirCount == 0;
+    }
+
+    public int getNonAirCount() {
+        return nonAirCount;
+    }
+
+    public boolean isUniform() {
+        return bits == 0;
+    }
+
+    public int getPaletteSize() {
+        return paletteSize;
+    }
+
+    public int getBitsPerBlock() {
+        return bits;
+    }
+
+    /**
+     * Drops palette entries that are no longer referenced and shrinks the index width to
+     * match. A section left with a single block type collapses back to one palette entry.
+     */
+    public void compact() {
+        if (bits == 0) {
+            return;
+        }
+        int[] counts = new int[paletteSize];
+        for (int i = 0; i < VOLUME; i++) {
+            counts[readIndex(i)]++;
+        }
+
+        int[] remap = new int[paletteSize];
+        int used = 0;
+        for (int i = 0; i < paletteSize; i++) {
+            remap[i] = counts[i] > 0 ? used++ : -1;
+        }
+        if (used == paletteSize && bitsFor(used) == bits) {
+            return;
+        }
+        if (used == 1) {
+            for (int i = 0; i < paletteSize; i++) {
+                if (counts[i] > 0) {
+                    reset(palette[i]);
+                    return;
+                }
+            }
+        }
+
+        int[] newPalette = new int[Math.max(used, 2)];
+        for (int i = 0; i < paletteSize; i++) {
+            if (remap[i] >= 0) {
+                newPalette[remap[i]] = palette[i];
+            }
+        }
+        long[] oldData = data;
+        int oldBits = bits;
+        int oldShift = indicesPerLongShift;
+        long oldMask = mask;
+
+        setBits(bitsFor(used));
+        for (int i = 0; i < VOLUME; i++) {
+            writeIndex(i, remap[readIndex(oldData, oldBits, oldShift, oldMask, i)]);
+        }
+        palette = newPalette;
+        paletteSize = used;
+    }
+
+    private void reset(int fill) {
+        palette = new int[]{fill};
+        paletteSize = 1;
+        bits = 0;
+        indicesPerLongShift = 0;
+        mask = 0;
+        data = null;
+        nonAirCount = fill == Blocks.AIR ? 0 : VOLUME;
+    }
+
+    private int paletteIndexOf(int id) {
+        for (int i = 0; i < paletteSize; i++) {
+            if (palette[i] == id) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private int addToPalette(int id) {
+        if (paletteSize == palette.length) {
+            int[] grown = new int[palette.length * 2];
+            System.arraycopy(palette, 0, grown, 0, paletteSize);
+            palette = grown;
+        }
+        palette[paletteSize] = id;
+        paletteSize++;
+
+        if (paletteSize > (1 << bits)) {
+            resize(bitsFor(paletteSize));
+        }
+        return paletteSize - 1;
+    }
+
+    private void resize(int newBits) {
+        long[] oldData = data;
+        int oldBits = bits;
+        int oldShift = indicesPerLongShift;
+        long oldMask = mask;
+
+        setBits(newBits);
+        if (oldBits == 0) {
+            // Every block pointed at palette entry 0, which a zeroed array already encodes
+            return;
+        }
+        for (int i = 0; i < VOLUME; i++) {
+            writeIndex(i, readIndex(oldData, oldBits, oldShift, oldMask, i));
+        }
+    }
+
+    private void setBits(int newBits) {
+        bits = newBits;
+        int indicesPerLong = 64 / newBits;
+        indicesPerLongShift = Integer.numberOfTrailingZeros(indicesPerLong);
+        mask = (1L << newBits) - 1;
+        data = new long[VOLUME / indicesPerLong];
+    }
+
+    private int readIndex(int index) {
+        return readIndex(data, bits, indicesPerLongShift, mask, index);
+    }
+
+    private static int readIndex(long[] data, int bits, int shift, long mask, int index) {
+        long word = data[index >>> shift];
+        int offset = (index & ((1 << shift) - 1)) * bits;
+        return (int) ((word >>> offset) & mask);
+    }
+
+    private void writeIndex(int index, int value) {
+        int word = index >>> indicesPerLongShift;
+        int offset = (index & ((1 << indicesPerLongShift) - 1)) * bits;
+        data[word] = (data[word] & ~(mask << offset)) | ((long) value << offset);
+    }
+
+    private static int bitsFor(int paletteSize) {
+        int needed = 32 - Integer.numberOfLeadingZeros(paletteSize - 1);
+        int bits = 1;
+        while (bits < needed) {
+            bits <<= 1;
+        }
+        return bits;
+    }
+}
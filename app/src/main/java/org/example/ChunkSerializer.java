@@ -0,0 +1,81 @@
+package org.example;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Binary form of a chunk for saving: a small header followed by each non-empty section in
+ * its in-memory palette layout. Little endian, so the packed longs copy straight through on
+ * common hardware.
+ */
+public final class ChunkSerializer {
+    public static final int VERSION = 1;
+    // Version, chunk x and z, mask of the sections present
+    private static final int HEADER_BYTES = 4 + 4 + 4 + 4;
+
+    private ChunkSerializer() {
+    }
+
+    public static int serializedSize(Chunk chunk) {
+        int size = HEADER_BYTES;
+        for (int sectionY = 0; sectionY < Chunk.SECTION_COUNT; sectionY++) {
+            ChunkSection section = chunk.getSection(sectionY);
+            if (section != null && !section.isEmpty()) {
+                size += section.serializedSize();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Returns a buffer ready to be read, holding exactly the serialized chunk.
+     */
+    public static ByteBuffer write(Chunk chunk) {
+        ByteBuffer buffer = ByteBuffer.allocate(serializedSize(chunk)).order(ByteOrder.LITTLE_ENDIAN);
+        write(chunk, buffer);
+        return buffer.flip();
+    }
+
+    public static void write(Chunk chunk, ByteBuffer buffer) {
+        int mask = 0;
+        for (int sectionY = 0; sectionY < Chunk.SECTION_COUNT; sectionY++) {
+            ChunkSection section = chunk.getSection(sectionY);
+            if (section != null && !section.isEmpty()) {
+                mask |= 1 << sectionY;
+            }
+        }
+        buffer.putInt(VERSION);
+        buffer.putInt(chunk.getChunkX());
+        buffer.putInt(chunk.getChunkZ());
+        buffer.putInt(mask);
+        for (int sectionY = 0; sectionY < Chunk.SECTION_COUNT; sectionY++) {
+            if ((mask & (1 << sectionY)) != 0) {
+                chunk.getSection(sectionY).write(buffer);
+            }
+        }
+    }
+
+    /**
+     * Reads a chunk from the buffer's position onwards. The chunk starts out unmodified.
+     *
+     * @throws IllegalArgumentException if the data is not a chunk this version can read
+     */
+    public static Chunk read(ByteBuffer buffer) {
+        buffer = buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        int version = buffer.getInt();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported chunk version " + version);
+        }
+        Chunk chunk = new Chunk(buffer.getInt(), buffer.getInt());
+        int mask = buffer.getInt();
+        if ((mask >>> Chunk.SECTION_COUNT) != 0) {
+            throw new IllegalArgumentException("Invalid section mask " + Integer.toHexString(mask));
+        }
+        for (int sectionY = 0; sectionY < Chunk.SECTION_COUNT; sectionY++) {
+            if ((mask & (1 << sectionY)) != 0) {
+                chunk.setSection(sectionY, ChunkSection.read(buffer));
+            }
+        }
+        return chunk;
+    }
+}
@@ -0,0 +1,22 @@
+package org.example;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Somewhere saved chunks can be read back from.
+ */
+public interface ChunkSource {
+    /**
+     * Returns the saved chunk, or null if it was never saved.
+     */
+    Chunk load(int chunkX, int chunkZ) throws IOException;
+
+    /**
+     * Moves the saved copy of a chunk that cannot be read out of the way, so that saving the
+     * chunk again never overwrites it.
+     *
+     * @return where the saved copy was moved to, or null if there was none
+     */
+    Path setAside(int chunkX, int chunkZ) throws IOException;
+}
@@ -0,0 +1,162 @@
+package org.example;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Decides which chunks should be resident around a moving viewer. Chunks inside the load
+ * radius are requested nearest first; chunks are only released once they fall outside the
+ * larger unload radius, so walking back and forth over a chunk border does not thrash.
+ * <p>
+ * Every tracked chunk lies within the unload radius of the centre, so they are kept in a
+ * grid one unload diameter across that wraps around in both directions: no two of them
+ * share a cell, and updates allocate nothing.
+ */
+public class ChunkStreamer {
+    public interface Listener {
+        void loadChunk(int chunkX, int chunkZ);
+
+        void unloadChunk(int chunkX, int chunkZ);
+    }
+
+    private final int loadRadius;
+    private final int unloadRadius;
+    // (dx, dz) pairs inside the load radius, sorted by distance from the centre
+    private final int[] offsets;
+    private final int gridSize;
+    // Tracked chunk keys by grid cell, see cell()
+    private final long[] trackedKeys;
+    private final boolean[] trackedCells;
+    private int trackedCount;
+    private int centerX;
+    private int centerZ;
+    private boolean hasCenter;
+    private boolean complete;
+
+    public ChunkStreamer(int loadRadius, int unloadRadius) {
+        if (loadRadius < 0 || unloadRadius < loadRadius) {
+            throw new IllegalArgumentException("Need 0 <= load radius <= unload radius, got " + loadRadius + " and " + unloadRadius);
+        }
+        this.loadRadius = loadRadius;
+        this.unloadRadius = unloadRadius;
+        this.offsets = sortedOffsets(loadRadius);
+        this.gridSize = 2 * unloadRadius + 1;
+        this.trackedKeys = new long[gridSize * gridSize];
+        this.trackedCells = new boolean[gridSize * gridSize];
+    }
+
+    private static int[] sortedOffsets(int radius) {
+        List<int[]> cells = new ArrayList<>();
+        for (int dx = -radius; dx <= radius; dx++) {
+            for (int dz = -radius; dz <= radius; dz++) {
+                if (dx * dx + dz * dz <= radius * radius) {
+                    cells.add(new int[]{dx, dz});
+                }
+            }
+        }
+        cells.sort((a, b) -> Integer.compare(a[0] * a[0] + a[1] * a[1], b[0] * b[0] + b[1] * b[1]));
+        int[] offsets = new int[cells.size() * 2];
+        for (int i = 0; i < cells.size(); i++) {
+            offsets[i * 2] = cells.get(i)[0];
+            offsets[i * 2 + 1] = cells.get(i)[1];
+        }
+        return offsets;
+    }
+
+    /**
+     * Moves the viewer to the given world position. Unloads chunks beyond the unload radius
+     * and requests at most {@code maxLoads} missing chunks, closest first.
+     *
+     * @return the number of chunks requested
+     */
+    public int update(float x, float z, int maxLoads, Listener listener) {
+        int chunkX = (int) Math.floor(x) >> 4;
+        int chunkZ = (int) Math.floor(z) >> 4;
+        if (!hasCenter || chunkX != centerX || chunkZ != centerZ) {
+            hasCenter = true;
+            centerX = chunkX;
+            centerZ = chunkZ;
+            complete = false;
+            unloadDistant(listener);
+        }
+        if (complete || maxLoads <= 0) {
+            return 0;
+        }
+
+        int loaded = 0;
+        for (int i = 0; i < offsets.length; i += 2) {
+            int loadX = centerX + offsets[i];
+            int loadZ = centerZ + offsets[i + 1];
+            int cell = cell(loadX, loadZ);
+            if (!trackedCells[cell]) {
+                trackedCells[cell] = true;
+                trackedKeys[cell] = World.chunkKey(loadX, loadZ);
+                trackedCount++;
+                listener.loadChunk(loadX, loadZ);
+                if (++loaded == maxLoads) {
+                    return loaded;
+                }
+            }
+        }
+        complete = true;
+        return loaded;
+    }
+
+    private void unloadDistant(Listener listener) {
+        for (int cell = 0; cell < trackedCells.length; cell++) {
+            if (!trackedCells[cell]) {
+                continue;
+            }
+            long key = trackedKeys[cell];
+            int chunkX = (int) (key >> 32);
+            int chunkZ = (int) key;
+            int dx = chunkX - centerX;
+            int dz = chunkZ - centerZ;
+            if (dx * dx + dz * dz > unloadRadius * unloadRadius) {
+                trackedCells[cell] = false;
+                trackedCount--;
+                listener.unloadChunk(chunkX, chunkZ);
+            }
+        }
+    }
+
+    /**
+     * The grid cell of a chunk. Chunks within the unload radius of the centre never share
+     * one, so a chunk that is not tracked may find its cell taken by another.
+     */
+    private int cell(int chunkX, int chunkZ) {
+        return Math.floorMod(chunkX, gridSize) * gridSize + Math.floorMod(chunkZ, gridSize);
+    }
+
+    /**
+     * Stops tracking a chunk that could not be loaded, so the next {@link #update} requests
+     * it again.
+     */
+    public void forget(int chunkX, int chunkZ) {
+        if (isTracked(chunkX, chunkZ)) {
+            trackedCells[cell(chunkX, chunkZ)] = false;
+            trackedCount--;
+            complete = false;
+        }
+    }
+
+    /**
+     * Whether the chunk is currently wanted, i.e. requested and not unloaded since.
+     */
+    public boolean isTracked(int chunkX, int chunkZ) {
+        int cell = cell(chunkX, chunkZ);
+        return trackedCells[cell] && trackedKeys[cell] == World.chunkKey(chunkX, chunkZ);
+    }
+
+    public int getTrackedCount() {
+        return trackedCount;
+    }
+
+    public int getLoadRadius() {
+        return loadRadius;
+    }
+
+    public int getUnloadRadius() {
+        return unloadRadius;
+    }
+}
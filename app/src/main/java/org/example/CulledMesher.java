@@ -0,0 +1,36 @@
+package org.example;
+
+/**
+ * Emits one unit quad for every block face that is not covered by an opaque neighbour.
+ * Produces more triangles than {@link GreedyMesher} but does a single pass with no merging,
+ * which keeps rebuild cost low in scenes that are edited constantly.
+ */
+public class CulledMesher implements Mesher {
+    private final QuadList quads = new QuadList();
+
+    @Override
+    public ChunkMesh mesh(PaddedSection section) {
+        quads.clear();
+        for (int y = 0; y < ChunkSection.SIZE; y++) {
+            for (int z = 0; z < ChunkSection.SIZE; z++) {
+                for (int x = 0; x < ChunkSection.SIZE; x++) {
+                    int block = section.get(x, y, z);
+                    if (block == Blocks.AIR) {
+                        continue;
+                    }
+                    for (int face = 0; face < BlockFace.COUNT; face++) {
+                        if (!section.isOpaque(x + BlockFace.DX[face], y + BlockFace.DY[face], z + BlockFace.DZ[face])) {
+                            quads.add(face, block, x, y, z, 1, 1);
+                        }
+                    }
+                }
+            }
+        }
+        return quads.toMesh(section);
+    }
+
+    @Override
+    public String getName() {
+        return "culled";
+    }
+}
@@ -0,0 +1,89 @@
+package org.example;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Deflates the {@link ChunkSerializer} layout with {@code java.util.zip}. Deflate finds the
+ * repeats in the packed indices by itself; on generated terrain, deflating the raw layout
+ * comes out both smaller and faster to decode than deflating the {@link RleChunkCodec}
+ * runs. Stored as the raw length as an int, then a zlib stream.
+ */
+public final class DeflateChunkCodec implements ChunkCodec {
+    public static final int ID = 2;
+    public static final DeflateChunkCodec INSTANCE = new DeflateChunkCodec();
+    private static final int LEVEL = Deflater.DEFAULT_COMPRESSION;
+    // Largest raw chunk accepted on decode, to refuse absurd lengths from bad data
+    private static final int MAX_ENCODED_BYTES = 4 << 20;
+
+    private DeflateChunkCodec() {
+    }
+
+    @Override
+    public int getId() {
+        return ID;
+    }
+
+    @Override
+    public String getName() {
+        return "deflate";
+    }
+
+    @Override
+    public ByteBuffer encode(Chunk chunk) {
+        ByteBuffer encoded = ChunkSerializer.write(chunk);
+        int length = encoded.remaining();
+        Deflater deflater = new Deflater(LEVEL);
+        try {
+            deflater.setInput(encoded);
+            deflater.finish();
+            byte[] out = new byte[Math.max(64, length / 2)];
+            ByteBuffer.wrap(out).order(ByteOrder.LITTLE_ENDIAN).putInt(length);
+            int size = 4;
+            while (!deflater.finished()) {
+                if (size == out.length) {
+                    out = Arrays.copyOf(out, out.length * 2);
+                }
+                size += deflater.deflate(out, size, out.length - size);
+            }
+            return ByteBuffer.wrap(out, 0, size).order(ByteOrder.LITTLE_ENDIAN);
+        } finally {
+            deflater.end();
+        }
+    }
+
+    @Override
+    public Chunk decode(ByteBuffer data) {
+        ByteBuffer in = data.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        int length = in.getInt();
+        if (length <= 0 || length > MAX_ENCODED_BYTES) {
+            throw new IllegalArgumentException("Invalid inflated length " + length);
+        }
+        // One spare byte, so a stream longer than announced shows up instead of being cut off
+        byte[] inflated = new byte[length + 1];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(in);
+            int size = 0;
+            while (!inflater.finished() && size < inflated.length) {
+                int read = inflater.inflate(inflated, size, inflated.length - size);
+                if (read == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalArgumentException("Truncated deflate stream");
+                }
+                size += read;
+            }
+            if (size != length || !inflater.finished()) {
+                throw new IllegalArgumentException("Deflate stream does not match its length " + length);
+            }
+        } catch (DataFormatException e) {
+            throw new IllegalArgumentException("Corrupt deflate stream", e);
+        } finally {
+            inflater.end();
+        }
+        return ChunkSerializer.read(ByteBuffer.wrap(inflated, 0, length));
+    }
+}
@@ -0,0 +1,399 @@
+package org.example;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only log of block edits, so edits survive a crash without their chunk being
+ * rewritten on every change. Each edit is a {@value #RECORD_BYTES} byte little-endian
+ * record: sequence number, block x, y and z, old id, new id, and a CRC32C of the rest.
+ * <p>
+ * {@link #append} only copies the record into memory. A background thread writes whatever
+ * was appended since its last pass with one {@link FileChannel} write and one fsync every
+ * sync interval, so a crash loses at most that interval of edits and the render thread
+ * never waits on the disk.
+ * <p>
+ * On startup, {@link #recover} replays the journal on top of the region files before a new
+ * journal is started. Once the chunks touched by every edit up to some sequence number are
+ * saved, {@link #checkpoint} drops those records. Replaying an edit that was already saved
+ * writes the same id again, so a crash between saving and checkpointing loses nothing.
+ * <p>
+ * {@link #append} and the getters are safe from any thread; the other methods wait for a
+ * running write. If a write fails the journal stops writing, and {@link #flush},
+ * {@link #checkpoint} and {@link #close} report the failure until {@link #restart} starts
+ * the file over.
+ */
+public class EditJournal implements AutoCloseable {
+    public static final int RECORD_BYTES = 32;
+    public static final long DEFAULT_SYNC_INTERVAL_NANOS = 50_000_000L;
+    private static final int CHECKSUMMED_BYTES = RECORD_BYTES - 4;
+    private static final int INITIAL_BUFFER_BYTES = 1024 * RECORD_BYTES;
+
+    /**
+     * Receives replayed edits in sequence order.
+     */
+    public interface Visitor {
+        void edit(long sequence, int x, int y, int z, int oldId, int newId);
+    }
+
+    private final Path path;
+    private final ScheduledExecutorService writer;
+    private final CRC32C crc = new CRC32C();
+
+    // Guarded by appendLock: records not yet handed to the writer
+    private final Object appendLock = new Object();
+    private ByteBuffer pending = newBuffer(INITIAL_BUFFER_BYTES);
+    private long nextSequence;
+
+    // Guarded by this: the writer's side
+    private ByteBuffer spare = newBuffer(INITIAL_BUFFER_BYTES);
+    private FileChannel channel;
+    private long firstSequence;
+    private volatile long fileRecords;
+    private volatile long syncedSequence;
+    private volatile long syncCount;
+    private volatile long bytesWritten;
+    private volatile IOException failure;
+    private boolean closed;
+
+    public EditJournal(Path path, long firstSequence) throws IOException {
+        this(path, firstSequence, DEFAULT_SYNC_INTERVAL_NANOS);
+    }
+
+    /**
+     * Starts an empty journal at the path, replacing any journal there, so replay the old one
+     * first. Sequence numbers continue from {@code firstSequence}.
+     */
+    public EditJournal(Path path, long firstSequence, long syncIntervalNanos) throws IOException {
+        if (syncIntervalNanos <= 0) {
+            throw new IllegalArgumentException("Sync interval must be positive: " + syncIntervalNanos);
+        }
+        this.path = path;
+        this.firstSequence = firstSequence;
+        nextSequence = firstSequence;
+        syncedSequence = firstSequence - 1;
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        writer = WorkerPools.newScheduledThread("edit-journal");
+        writer.scheduleWithFixedDelay(this::syncInBackground, syncIntervalNanos, syncIntervalNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private static ByteBuffer newBuffer(int bytes) {
+        return ByteBuffer.allocate(bytes).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Queues an edit and returns its sequence number.
+     */
+    public long append(int x, int y, int z, int oldId, int newId) {
+        synchronized (appendLock) {
+            if (pending.remaining() < RECORD_BYTES) {
+                ByteBuffer grown = newBuffer(pending.capacity() * 2);
+                pending = grown.put(pending.flip());
+            }
+            long sequence = nextSequence++;
+            // The checksum is filled in by the writer, off the calling thread
+            pending.putLong(sequence).putInt(x).putInt(y).putInt(z).putInt(oldId).putInt(newId).putInt(0);
+            return sequence;
+        }
+    }
+
+    private void syncInBackground() {
+        boolean firstFailure = failure == null;
+        try {
+            sync();
+        } catch (IOException e) {
+            if (firstFailure) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    private synchronized void sync() throws IOException {
+        ByteBuffer batch;
+        long last;
+        synchronized (appendLock) {
+            if (pending.position() == 0 && failure == null) {
+                return;
+            }
+            batch = pending;
+            pending = spare;
+            last = nextSequence - 1;
+        }
+        batch.flip();
+        try {
+            if (failure != null) {
+                throw failure;
+            }
+            if (closed) {
+                throw new IllegalStateException("Journal is closed");
+            }
+            for (int offset = 0; offset < batch.limit(); offset += RECORD_BYTES) {
+                crc.reset();
+                crc.update(batch.slice(offset, CHECKSUMMED_BYTES));
+                batch.putInt(offset + CHECKSUMMED_BYTES, (int) crc.getValue());
+            }
+            int bytes = batch.limit();
+            while (batch.hasRemaining()) {
+                channel.write(batch);
+            }
+            channel.force(false);
+            fileRecords += bytes / RECORD_BYTES;
+            bytesWritten += bytes;
+            syncCount++;
+            syncedSequence = last;
+        } catch (IOException e) {
+            if (failure == null) {
+                failure = e;
+            }
+            throw e;
+        } finally {
+            spare = batch.clear();
+        }
+    }
+
+    /**
+     * Writes and fsyncs everything appended so far.
+     */
+    public void flush() throws IOException {
+        sync();
+    }
+
+    /**
+     * Starts the file over after a write failed, and clears the failure. Every record in the
+     * file is dropped, so only call this once the chunks they touch are saved; records
+     * appended since the last failed write are kept and written by the next sync.
+     */
+    public synchronized void restart() throws IOException {
+        if (closed) {
+            throw new IllegalStateException("Journal is closed");
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            // The old channel is given up either way
+        }
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        channel.force(true);
+        synchronized (appendLock) {
+            firstSequence = nextSequence - pending.position() / RECORD_BYTES;
+        }
+        syncedSequence = firstSequence - 1;
+        fileRecords = 0;
+        failure = null;
+    }
+
+    /**
+     * Drops the records up to and including the sequence number, once the chunks they touch
+     * have been saved. The remaining records are copied to a new file that atomically
+     * replaces the journal, so a crash leaves either the old or the new journal.
+     */
+    public synchronized void checkpoint(long throughSequence) throws IOException {
+        sync();
+        long dropped = Math.min(throughSequence + 1 - firstSequence, fileRecords);
+        if (dropped <= 0) {
+            return;
+        }
+        if (dropped == fileRecords) {
+            channel.truncate(0);
+            channel.force(true);
+        } else {
+            long keptBytes = (fileRecords - dropped) * RECORD_BYTES;
+            ByteBuffer kept = ByteBuffer.allocate(Math.toIntExact(keptBytes));
+            long position = dropped * RECORD_BYTES;
+            while (kept.hasRemaining()) {
+                position += channel.read(kept, position);
+            }
+            kept.flip();
+            Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+            try (FileChannel copy = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                while (kept.hasRemaining()) {
+                    copy.write(kept);
+                }
+                copy.force(true);
+            }
+            channel.close();
+            Files.move(temporary, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            channel.position(channel.size());
+        }
+        firstSequence += dropped;
+        fileRecords -= dropped;
+    }
+
+    /**
+     * The sequence number of the last edit appended, or one less than the first sequence
+     * number if nothing was.
+     */
+    public long getLastSequence() {
+        synchronized (appendLock) {
+            return nextSequence - 1;
+        }
+    }
+
+    /**
+     * The sequence number of the last edit known to be on disk.
+     */
+    public long getSyncedSequence() {
+        return syncedSequence;
+    }
+
+    public int getPendingCount() {
+        synchronized (appendLock) {
+            return pending.position() / RECORD_BYTES;
+        }
+    }
+
+    /**
+     * Whether a write failed and the journal stopped writing.
+     */
+    public boolean isFailed() {
+        return failure != null;
+    }
+
+    public long getSyncCount() {
+        return syncCount;
+    }
+
+    public long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    /**
+     * Size of the journal file, which {@link #checkpoint} shrinks again.
+     */
+    public long getFileBytes() {
+        return fileRecords * RECORD_BYTES;
+    }
+
+    /**
+     * Writes what is still pending and closes the file. Records not dropped by a checkpoint
+     * stay in the file to be replayed on the next start.
+     */
+    @Override
+    public void close() throws IOException {
+        writer.shutdown();
+        try {
+            writer.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            try {
+                sync();
+            } finally {
+                closed = true;
+                channel.close();
+            }
+        }
+    }
+
+    /**
+     * Reads the journal at the path, if there is one, and passes every intact edit to the
+     * visitor in order. Reading stops at the first record that is cut short, fails its
+     * checksum or breaks the sequence, which is where a crash interrupted a write.
+     *
+     * @return the sequence number after the last edit replayed, or -1 if there were none
+     */
+    public static long replay(Path path, Visitor visitor) throws IOException {
+        FileChannel channel;
+        try {
+            channel = FileChannel.open(path, StandardOpenOption.READ);
+        } catch (NoSuchFileException e) {
+            return -1;
+        }
+        try (channel) {
+            ByteBuffer buffer = newBuffer(INITIAL_BUFFER_BYTES);
+            CRC32C crc = new CRC32C();
+            long next = -1;
+            boolean end = false;
+            while (!end) {
+                end = channel.read(buffer) < 0;
+                buffer.flip();
+                // Bytes short of a whole record at the end were cut off by a crash
+                while (buffer.remaining() >= RECORD_BYTES) {
+                    int offset = buffer.position();
+                    crc.reset();
+                    crc.update(buffer.slice(offset, CHECKSUMMED_BYTES));
+                    long sequence = buffer.getLong();
+                    int x = buffer.getInt();
+                    int y = buffer.getInt();
+                    int z = buffer.getInt();
+                    int oldId = buffer.getInt();
+                    int newId = buffer.getInt();
+                    int checksum = buffer.getInt();
+                    if (checksum != (int) crc.getValue() || (next >= 0 && sequence != next)) {
+                        return next;
+                    }
+                    visitor.edit(sequence, x, y, z, oldId, newId);
+                    next = sequence + 1;
+                }
+                buffer.compact();
+            }
+            return next;
+        }
+    }
+
+    /**
+     * Replays the journal at the path into the storage: every chunk an edit touches is
+     * loaded, or generated if it was never saved, edited and saved again. Then starts a new
+     * journal there, continuing the sequence numbers.
+     *
+     * @throws IOException if a chunk an edit touches was saved but cannot be read back; the
+     * storage and the journal are left untouched, since saving generated terrain in its place
+     * would lose the chunk
+     */
+    public static EditJournal recover(Path path, WorldStorage storage, TerrainGenerator generator) throws IOException {
+        World world = new World();
+        long next;
+        try {
+            next = replay(path, (sequence, x, y, z, oldId, newId) -> {
+                if (y < 0 || y >= Chunk.HEIGHT) {
+                    return;
+                }
+                int chunkX = x >> 4;
+                int chunkZ = z >> 4;
+                Chunk chunk = world.getChunk(chunkX, chunkZ);
+                if (chunk == null) {
+                    chunk = loadForRecovery(storage, generator, chunkX, chunkZ);
+                    world.putChunk(chunk);
+                }
+                chunk.setBlock(x & 15, y, z & 15, newId);
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        for (Chunk chunk : world.getChunks()) {
+            if (chunk.isModified()) {
+                storage.save(chunk);
+            }
+        }
+        return new EditJournal(path, Math.max(next, 0));
+    }
+
+    private static Chunk loadForRecovery(WorldStorage storage, TerrainGenerator generator, int chunkX, int chunkZ) {
+        Chunk chunk;
+        try {
+            chunk = storage.load(chunkX, chunkZ);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return chunk != null ? chunk : generator.generate(chunkX, chunkZ);
+    }
+}
@@ -0,0 +1,63 @@
+package org.example;
+
+import org.joml.Matrix4f;
+
+/**
+ * The camera matrices for the current frame. The projection is only rebuilt when the
+ * viewport changes and every update reuses the same matrix objects, so keeping these
+ * current allocates nothing.
+ * <p>
+ * The far plane follows the view distance: it reaches the far corner of the farthest loaded
+ * chunk, one chunk beyond the view distance in both directions, so nothing that is streamed
+ * in gets clipped.
+ */
+public class FrameMatrices {
+    private static final float FOV_RADIANS = (float) Math.toRadians(45.0f);
+    private static final float NEAR = 0.1f;
+
+    private final Matrix4f projection = new Matrix4f();
+    private final Matrix4f view = new Matrix4f();
+    private final Matrix4f projectionView = new Matrix4f();
+    private final Frustum frustum = new Frustum();
+    private final float far;
+
+    /** @param viewDistance the radius, in chunks, that is streamed in around the camera */
+    public FrameMatrices(int viewDistance) {
+        if (viewDistance < 0) {
+            throw new IllegalArgumentException("View distance must not be negative: " + viewDistance);
+        }
+        this.far = (viewDistance + 1) * Chunk.SIZE * (float) Math.sqrt(2.0);
+    }
+
+    public void setViewport(int width, int height) {
+        // A minimised window reports a zero sized framebuffer
+        float aspect = height > 0 ? (float) width / (float) height : 1.0f;
+        projection.setPerspective(FOV_RADIANS, aspect, NEAR, far);
+    }
+
+    public void update(Camera camera) {
+        camera.getViewMatrix(view);
+        projectionView.set(projection).mul(view);
+        frustum.set(projectionView);
+    }
+
+    public Matrix4f getProjection() {
+        return projection;
+    }
+
+    public Matrix4f getView() {
+        return view;
+    }
+
+    public Matrix4f getProjectionView() {
+        return projectionView;
+    }
+
+    public float getFar() {
+        return far;
+    }
+
+    public Frustum getFrustum() {
+        return frustum;
+    }
+}
@@ -0,0 +1,66 @@
+package org.example;
+
+import org.joml.Vector3f;
+
+import java.util.function.Consumer;
+
+/**
+ * The work of a frame that runs on the CPU without touching GL: hands the sections that
+ * edits made stale to the mesher, streams chunks around the camera, adds the generated ones
+ * and requests the failed ones again, drains finished meshes to the uploader, and updates
+ * the frame matrices. Each step keeps to a per-frame budget, and none of them allocates
+ * once the world is loaded.
+ * <p>
+ * Not thread-safe; {@link #run} is called once per frame by the thread that owns the world.
+ */
+public class FrameUpdate {
+    // Per-frame budget for moving finished chunk meshes to the GPU
+    private static final long UPLOAD_BYTES_PER_FRAME = 4L * 1024 * 1024;
+    private static final long UPLOAD_NANOS_PER_FRAME = 2_000_000L;
+    private static final int MAX_CHUNKS_GENERATING = 32;
+    private static final int CHUNKS_ADDED_PER_FRAME = 8;
+
+    private final Camera camera;
+    private final FrameMatrices frameMatrices;
+    private final RemeshTracker remeshTracker;
+    private final RemeshTracker.Scheduler remesher;
+    private final ChunkStreamer chunkStreamer;
+    private final ChunkStreamer.Listener chunkListener;
+    private final ChunkGenerationPool chunkGenerator;
+    private final Consumer<Chunk> chunkAdder;
+    private final ChunkGenerationPool.FailureListener chunkForgetter;
+    private final MeshScheduler meshScheduler;
+    private final MeshScheduler.FailureListener meshFailureListener;
+    private final Consumer<MeshResult> meshUploader;
+
+    public FrameUpdate(Camera camera, FrameMatrices frameMatrices, RemeshTracker remeshTracker,
+                       RemeshTracker.Scheduler remesher, ChunkStreamer chunkStreamer,
+                       ChunkStreamer.Listener chunkListener, ChunkGenerationPool chunkGenerator,
+                       Consumer<Chunk> chunkAdder, MeshScheduler meshScheduler, Consumer<MeshResult> meshUploader) {
+        this.camera = camera;
+        this.frameMatrices = frameMatrices;
+        this.remeshTracker = remeshTracker;
+        this.remesher = remesher;
+        this.chunkStreamer = chunkStreamer;
+        this.chunkListener = chunkListener;
+        this.chunkGenerator = chunkGenerator;
+        this.chunkAdder = chunkAdder;
+        this.chunkForgetter = chunkStreamer::forget;
+        this.meshScheduler = meshScheduler;
+        this.meshFailureListener = remeshTracker::meshFailed;
+        this.meshUploader = meshUploader;
+    }
+
+    public void run() {
+        Vector3f position = camera.getPosition();
+        // Remeshes this frame's edits before the meshes are drained, so any mesh uploaded
+        // afterwards already includes them
+        remeshTracker.flush(position.x, position.y, position.z, remesher);
+        chunkGenerator.drainFailures(chunkForgetter);
+        chunkStreamer.update(position.x, position.z, MAX_CHUNKS_GENERATING - chunkGenerator.getPendingCount(), chunkListener);
+        chunkGenerator.drain(chunkAdder, CHUNKS_ADDED_PER_FRAME);
+        meshScheduler.drainFailures(meshFailureListener);
+        meshScheduler.drain(meshUploader, UPLOAD_BYTES_PER_FRAME, UPLOAD_NANOS_PER_FRAME);
+        frameMatrices.update(camera);
+    }
+}
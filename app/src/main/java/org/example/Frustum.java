@@ -0,0 +1,62 @@
+package org.example;
+
+import org.joml.Matrix4f;
+
+/**
+ * The six clipping planes of a combined projection * view matrix, for rejecting
+ * axis-aligned boxes that cannot be on screen. Pure math, no GL state involved.
+ */
+public class Frustum {
+    // a, b, c, d per plane: left, right, bottom, top, near, far
+    private final float[] planes = new float[24];
+
+    /**
+     * Extracts the planes from a projection * view matrix (Gribb and Hartmann).
+     */
+    public Frustum set(Matrix4f projectionView) {
+        Matrix4f m = projectionView;
+        setPlane(0, m.m03() + m.m00(), m.m13() + m.m10(), m.m23() + m.m20(), m.m33() + m.m30());
+        setPlane(1, m.m03() - m.m00(), m.m13() - m.m10(), m.m23() - m.m20(), m.m33() - m.m30());
+        setPlane(2, m.m03() + m.m01(), m.m13() + m.m11(), m.m23() + m.m21(), m.m33() + m.m31());
+        setPlane(3, m.m03() - m.m01(), m.m13() - m.m11(), m.m23() - m.m21(), m.m33() - m.m31());
+        setPlane(4, m.m03() + m.m02(), m.m13() + m.m12(), m.m23() + m.m22(), m.m33() + m.m32());
+        setPlane(5, m.m03() - m.m02(), m.m13() - m.m12(), m.m23() - m.m22(), m.m33() - m.m32());
+        return this;
+    }
+
+    private void setPlane(int plane, float a, float b, float c, float d) {
+        int i = plane * 4;
+        planes[i] = a;
+        planes[i + 1] = b;
+        planes[i + 2] = c;
+        planes[i + 3] = d;
+    }
+
+    /**
+     * Whether any part of the box may be inside the frustum. Boxes near a frustum corner
+     * can be reported visible when they are not, but a visible box is never rejected.
+     */
+    public boolean intersectsAabb(float minX, float minY, float minZ, float maxX, float maxY, float maxZ) {
+        for (int i = 0; i < 24; i += 4) {
+            float a = planes[i];
+            float b = planes[i + 1];
+            float c = planes[i + 2];
+            // Test the box corner furthest along the plane normal
+            float x = a >= 0 ? maxX : minX;
+            float y = b >= 0 ? maxY : minY;
+            float z = c >= 0 ? maxZ : minZ;
+            if (a * x + b * y + c * z + planes[i + 3] < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public boolean intersectsSection(int sectionX, int sectionY, int sectionZ) {
+        // Blocks are centred on integer coordinates, so sections start half a block early
+        float minX = sectionX * ChunkSection.SIZE - 0.5f;
+        float minY = sectionY * ChunkSection.SIZE - 0.5f;
+        float minZ = sectionZ * ChunkSection.SIZE - 0.5f;
+        return intersectsAabb(minX, minY, minZ, minX + ChunkSection.SIZE, minY + ChunkSection.SIZE, minZ + ChunkSection.SIZE);
+    }
+}
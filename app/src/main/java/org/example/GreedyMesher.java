@@ -0,0 +1,88 @@
+package org.example;
+
+/**
+ * Builds section meshes from exposed faces only, merging runs of coplanar faces of the
+ * same block into as few rectangles as possible. One instance keeps scratch buffers, so
+ * use one per thread.
+ */
+public class GreedyMesher implements Mesher {
+    private final int[] mask = new int[ChunkSection.SIZE * ChunkSection.SIZE];
+    private final int[] position = new int[3];
+    private final int[] neighbor = new int[3];
+    private final QuadList quads = new QuadList();
+
+    @Override
+    public ChunkMesh mesh(PaddedSection section) {
+        quads.clear();
+        final int size = ChunkSection.SIZE;
+
+        for (int face = 0; face < BlockFace.COUNT; face++) {
+            int axis = BlockFace.axis(face);
+            int uAxis = (axis + 1) % 3;
+            int vAxis = (axis + 2) % 3;
+            int step = BlockFace.isPositive(face) ? 1 : -1;
+
+            for (int slice = 0; slice < size; slice++) {
+                // Mark every block in this slice whose face towards the neighbour is visible
+                position[axis] = slice;
+                neighbor[axis] = slice + step;
+                for (int v = 0; v < size; v++) {
+                    position[vAxis] = v;
+                    neighbor[vAxis] = v;
+                    for (int u = 0; u < size; u++) {
+                        position[uAxis] = u;
+                        neighbor[uAxis] = u;
+                        int block = section.get(position[0], position[1], position[2]);
+                        boolean visible = block != Blocks.AIR
+                                && !section.isOpaque(neighbor[0], neighbor[1], neighbor[2]);
+                        mask[v * size + u] = visible ? block : Blocks.AIR;
+                    }
+                }
+
+                // Grow each marked face along u, then along v while the whole row matches
+                for (int v = 0; v < size; v++) {
+                    for (int u = 0; u < size; ) {
+                        int block = mask[v * size + u];
+                        if (block == Blocks.AIR) {
+                            u++;
+                            continue;
+                        }
+                        int width = 1;
+                        while (u + width < size && mask[v * size + u + width] == block) {
+                            width++;
+                        }
+                        int height = 1;
+                        grow:
+                        while (v + height < size) {
+                            int row = (v + height) * size;
+                            for (int k = 0; k < width; k++) {
+                                if (mask[row + u + k] != block) {
+                                    break grow;
+                                }
+                            }
+                            height++;
+                        }
+                        for (int h = 0; h < height; h++) {
+                            int row = (v + h) * size;
+                            for (int k = 0; k < width; k++) {
+                                mask[row + u + k] = Blocks.AIR;
+                            }
+                        }
+
+                        position[uAxis] = u;
+                        position[vAxis] = v;
+                        quads.add(face, block, position[0], position[1], position[2], width, height);
+                        u += width;
+                    }
+                }
+            }
+        }
+
+        return quads.toMesh(section);
+    }
+
+    @Override
+    public String getName() {
+        return "greedy";
+    }
+}
@@ -0,0 +1,108 @@
+package org.example;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded, least recently used cache of per-column terrain heights, one {@code short[256]}
+ * per chunk indexed {@code z * 16 + x}. Safe to use from any number of threads. Heights are
+ * computed outside the lock, so two threads missing on the same chunk may both compute it;
+ * the source must therefore be deterministic, and the first result stored wins.
+ */
+public class HeightmapCache {
+    public static final int COLUMNS = Chunk.SIZE * Chunk.SIZE;
+    // short[256] with its header, plus the map entry, its key and the linked list pointers
+    static final int ESTIMATED_ENTRY_BYTES = 16 + COLUMNS * Short.BYTES + 64;
+
+    /**
+     * Computes the heights of one chunk's columns.
+     */
+    public interface Source {
+        void computeHeights(int chunkX, int chunkZ, short[] heights);
+    }
+
+    private final int capacity;
+    private final Source source;
+    private final LinkedHashMap<Long, short[]> entries;
+    private long hits;
+    private long misses;
+
+    public HeightmapCache(int capacity, Source source) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.source = source;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, short[]> eldest) {
+                return size() > HeightmapCache.this.capacity;
+            }
+        };
+    }
+
+    /**
+     * Returns the heights of a chunk's columns, computing them on a miss. The array is shared
+     * with other callers and must not be modified.
+     */
+    public short[] get(int chunkX, int chunkZ) {
+        long key = World.chunkKey(chunkX, chunkZ);
+        synchronized (this) {
+            short[] heights = entries.get(key);
+            if (heights != null) {
+                hits++;
+                return heights;
+            }
+            misses++;
+        }
+        short[] heights = new short[COLUMNS];
+        source.computeHeights(chunkX, chunkZ, heights);
+        synchronized (this) {
+            short[] raced = entries.putIfAbsent(key, heights);
+            return raced != null ? raced : heights;
+        }
+    }
+
+    /**
+     * Height of the column at the given block coordinates: the number of blocks from y = 0
+     * up to and including the surface block.
+     */
+    public int getHeight(int x, int z) {
+        return get(x >> 4, z >> 4)[(z & 15) * Chunk.SIZE + (x & 15)];
+    }
+
+    public synchronized void invalidate(int chunkX, int chunkZ) {
+        entries.remove(World.chunkKey(chunkX, chunkZ));
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public synchronized int getSize() {
+        return entries.size();
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Share of lookups answered from the cache, 0 before the first lookup.
+     */
+    public synchronized float getHitRate() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0.0f : (float) hits / lookups;
+    }
+
+    /**
+     * Approximate heap held by the cached heightmaps.
+     */
+    public long getEstimatedBytes() {
+        return (long) getSize() * ESTIMATED_ENTRY_BYTES;
+    }
+}
@@ -0,0 +1,98 @@
+package org.example;
+
+import java.util.Arrays;
+
+/**
+ * Builds the {@code DrawElementsIndirectCommand} records for one multi-draw call, plus one
+ * section origin per draw. Each draw's base instance is its own index, so an instanced
+ * vertex attribute with a divisor of one picks up the matching origin.
+ */
+public class IndirectCommandBuffer {
+    public static final int COMMAND_COUNT = 0;
+    public static final int COMMAND_INSTANCE_COUNT = 1;
+    public static final int COMMAND_FIRST_INDEX = 2;
+    public static final int COMMAND_BASE_VERTEX = 3;
+    public static final int COMMAND_BASE_INSTANCE = 4;
+    public static final int COMMAND_STRIDE = 5;
+    public static final int COMMAND_BYTES = COMMAND_STRIDE * Integer.BYTES;
+    public static final int ORIGIN_STRIDE = 3;
+
+    private int[] commands;
+    private float[] origins;
+    private int count;
+
+    public IndirectCommandBuffer() {
+        this(64);
+    }
+
+    public IndirectCommandBuffer(int initialCapacity) {
+        commands = new int[Math.max(1, initialCapacity) * COMMAND_STRIDE];
+        origins = new float[Math.max(1, initialCapacity) * ORIGIN_STRIDE];
+    }
+
+    public void clear() {
+        count = 0;
+    }
+
+    /**
+     * Appends one draw of {@code indexCount} indices from the start of the shared index
+     * buffer, with vertex indices offset by {@code baseVertex}.
+     */
+    public void add(int indexCount, int baseVertex, float originX, float originY, float originZ) {
+        if (count * COMMAND_STRIDE == commands.length) {
+            commands = Arrays.copyOf(commands, commands.length * 2);
+            origins = Arrays.copyOf(origins, origins.length * 2);
+        }
+        int c = count * COMMAND_STRIDE;
+        commands[c + COMMAND_COUNT] = indexCount;
+        commands[c + COMMAND_INSTANCE_COUNT] = 1;
+        commands[c + COMMAND_FIRST_INDEX] = 0;
+        commands[c + COMMAND_BASE_VERTEX] = baseVertex;
+        commands[c + COMMAND_BASE_INSTANCE] = count;
+        int o = count * ORIGIN_STRIDE;
+        origins[o] = originX;
+        origins[o + 1] = originY;
+        origins[o + 2] = originZ;
+        count++;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    public int getCommand(int draw, int field) {
+        return commands[draw * COMMAND_STRIDE + field];
+    }
+
+    public float getOrigin(int draw, int axis) {
+        return origins[draw * ORIGIN_STRIDE + axis];
+    }
+
+    /**
+     * Backing command array; only the first {@code getCount() * COMMAND_STRIDE} ints are
+     * meaningful.
+     */
+    public int[] getCommands() {
+        return commands;
+    }
+
+    /**
+     * Backing origin array; only the first {@code getCount() * ORIGIN_STRIDE} floats are
+     * meaningful.
+     */
+    public float[] getOrigins() {
+        return origins;
+    }
+
+    public int getTriangleCount() {
+        int indices = 0;
+        for (int i = 0; i < count; i++) {
+            indices += commands[i * COMMAND_STRIDE + COMMAND_COUNT];
+        }
+        return indices / 3;
+    }
+}
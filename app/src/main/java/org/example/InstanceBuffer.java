@@ -0,0 +1,144 @@
+package org.example;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * CPU copy of per-instance block offsets for instanced cube drawing. Instances are packed
+ * densely (removal moves the last instance into the gap) and the range of instances
+ * changed since the last upload is tracked, so only that range has to be sent to the GPU.
+ */
+public class InstanceBuffer {
+    public static final int FLOATS_PER_INSTANCE = 3;
+
+    private final Map<Long, Integer> indexByBlock = new HashMap<>();
+    private long[] blocks = new long[64];
+    private float[] data = new float[64 * FLOATS_PER_INSTANCE];
+    private int count;
+    private int dirtyStart = Integer.MAX_VALUE;
+    private int dirtyEnd;
+    private boolean grown;
+
+    /**
+     * @return false if the block already had an instance
+     */
+    public boolean add(int x, int y, int z) {
+        long key = World.blockKey(x, y, z);
+        if (indexByBlock.containsKey(key)) {
+            return false;
+        }
+        if (count == blocks.length) {
+            long[] grownBlocks = new long[blocks.length * 2];
+            System.arraycopy(blocks, 0, grownBlocks, 0, count);
+            blocks = grownBlocks;
+            float[] grownData = new float[data.length * 2];
+            System.arraycopy(data, 0, grownData, 0, count * FLOATS_PER_INSTANCE);
+            data = grownData;
+            grown = true;
+        }
+        int index = count++;
+        blocks[index] = key;
+        data[index * FLOATS_PER_INSTANCE] = x;
+        data[index * FLOATS_PER_INSTANCE + 1] = y;
+        data[index * FLOATS_PER_INSTANCE + 2] = z;
+        indexByBlock.put(key, index);
+        markDirty(index);
+        return true;
+    }
+
+    /**
+     * @return false if the block had no instance
+     */
+    public boolean remove(int x, int y, int z) {
+        Integer index = indexByBlock.get(World.blockKey(x, y, z));
+        if (index == null) {
+            return false;
+        }
+        removeAt(index);
+        return true;
+    }
+
+    /**
+     * Removes every instance inside the given chunk section, e.g. once the section's mesh
+     * includes those blocks.
+     *
+     * @return the number of instances removed
+     */
+    public int removeSection(int sectionX, int sectionY, int sectionZ) {
+        int removed = 0;
+        for (int i = count - 1; i >= 0; i--) {
+            int offset = i * FLOATS_PER_INSTANCE;
+            if (((int) data[offset]) >> 4 == sectionX
+                    && ((int) data[offset + 1]) >> 4 == sectionY
+                    && ((int) data[offset + 2]) >> 4 == sectionZ) {
+                removeAt(i);
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    private void removeAt(int index) {
+        indexByBlock.remove(blocks[index]);
+        int last = --count;
+        if (index != last) {
+            blocks[index] = blocks[last];
+            System.arraycopy(data, last * FLOATS_PER_INSTANCE, data, index * FLOATS_PER_INSTANCE, FLOATS_PER_INSTANCE);
+            indexByBlock.put(blocks[index], index);
+            markDirty(index);
+        }
+        // Nothing past count is drawn, so a shrink alone needs no upload
+        if (dirtyEnd > count) {
+            dirtyEnd = count;
+        }
+    }
+
+    private void markDirty(int index) {
+        dirtyStart = Math.min(dirtyStart, index);
+        dirtyEnd = Math.max(dirtyEnd, index + 1);
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public float[] getData() {
+        return data;
+    }
+
+    public int getCapacity() {
+        return blocks.length;
+    }
+
+    public boolean isDirty() {
+        return dirtyStart < dirtyEnd;
+    }
+
+    /**
+     * First instance changed since {@link #markClean()}.
+     */
+    public int getDirtyStart() {
+        return dirtyStart;
+    }
+
+    /**
+     * One past the last instance changed since {@link #markClean()}.
+     */
+    public int getDirtyEnd() {
+        return dirtyEnd;
+    }
+
+    /**
+     * Whether the backing array grew since {@link #markClean()}, meaning the GPU buffer
+     * must be reallocated rather than partially updated.
+     */
+    public boolean hasGrown() {
+        return grown;
+    }
+
+    public void markClean() {
+        dirtyStart = Integer.MAX_VALUE;
+        dirtyEnd = 0;
+        grown = false;
+    }
+}
@@ -0,0 +1,81 @@
+package org.example;
+
+import org.lwjgl.opengl.GL11;
+import org.lwjgl.opengl.GL15;
+import org.lwjgl.opengl.GL20;
+import org.lwjgl.opengl.GL30;
+import org.lwjgl.opengl.GL31;
+import org.lwjgl.opengl.GL33;
+import org.lwjgl.system.MemoryUtil;
+
+import java.nio.FloatBuffer;
+
+/**
+ * Draws every cube in an {@link InstanceBuffer} with a single instanced draw call, reusing
+ * the 36 vertex cube VAO. The per-instance offsets live in one long-lived GPU buffer that
+ * only receives the instances changed since the last frame.
+ */
+public class InstancedCubeRenderer {
+    private static final int OFFSET_ATTRIBUTE = 3;
+    private static final int CUBE_VERTEX_COUNT = 36;
+
+    private final int cubeVao;
+    private final int instanceVbo;
+    private int capacity;
+
+    public InstancedCubeRenderer(int cubeVao) {
+        this.cubeVao = cubeVao;
+        this.instanceVbo = GL15.glGenBuffers();
+
+        GL30.glBindVertexArray(cubeVao);
+        GL15.glBindBuffer(GL15.GL_ARRAY_BUFFER, instanceVbo);
+        GL20.glVertexAttribPointer(OFFSET_ATTRIBUTE, 3, GL11.GL_FLOAT, false, InstanceBuffer.FLOATS_PER_INSTANCE * 4, 0);
+        GL20.glEnableVertexAttribArray(OFFSET_ATTRIBUTE);
+        GL33.glVertexAttribDivisor(OFFSET_ATTRIBUTE, 1);
+        GL30.glBindVertexArray(0);
+        GL15.glBindBuffer(GL15.GL_ARRAY_BUFFER, 0);
+    }
+
+    /**
+     * Sends whatever changed in {@code instances} to the GPU.
+     */
+    public void sync(InstanceBuffer instances) {
+        if (!instances.isDirty() && !instances.hasGrown()) {
+            return;
+        }
+        GL15.glBindBuffer(GL15.GL_ARRAY_BUFFER, instanceVbo);
+        if (instances.hasGrown() || capacity < instances.getCapacity()) {
+            capacity = instances.getCapacity();
+            GL15.glBufferData(GL15.GL_ARRAY_BUFFER, (long) capacity * InstanceBuffer.FLOATS_PER_INSTANCE * 4, GL15.GL_DYNAMIC_DRAW);
+            upload(0, instances.getCount(), instances);
+        } else {
+            upload(instances.getDirtyStart(), instances.getDirtyEnd(), instances);
+        }
+        GL15.glBindBuffer(GL15.GL_ARRAY_BUFFER, 0);
+        instances.markClean();
+    }
+
+    private void upload(int start, int end, InstanceBuffer instances) {
+        if (end <= start) {
+            return;
+        }
+        int floats = (end - start) * InstanceBuffer.FLOATS_PER_INSTANCE;
+        FloatBuffer buffer = MemoryUtil.memAllocFloat(floats);
+        buffer.put(instances.getData(), start * InstanceBuffer.FLOATS_PER_INSTANCE, floats).flip();
+        GL15.glBufferSubData(GL15.GL_ARRAY_BUFFER, (long) start * InstanceBuffer.FLOATS_PER_INSTANCE * 4, buffer);
+        MemoryUtil.memFree(buffer);
+    }
+
+    public void render(InstanceBuffer instances) {
+        if (instances.getCount() == 0) {
+            return;
+        }
+        GL30.glBindVertexArray(cubeVao);
+        GL31.glDrawArraysInstanced(GL11.GL_TRIANGLES, 0, CUBE_VERTEX_COUNT, instances.getCount());
+        GL30.glBindVertexArray(0);
+    }
+
+    public void delete() {
+        GL15.glDeleteBuffers(instanceVbo);
+    }
+}
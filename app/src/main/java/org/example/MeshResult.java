@@ -0,0 +1,59 @@
+package org.example;
+
+/**
+ * A finished section mesh in its upload-ready vertex form, handed from a meshing worker
+ * to the render thread. Never modified after construction.
+ */
+public class MeshResult {
+    private final int sectionX;
+    private final int sectionY;
+    private final int sectionZ;
+    private final long version;
+    private final int quadCount;
+    private final int[] vertices;
+
+    public MeshResult(ChunkMesh mesh, long version) {
+        this.sectionX = mesh.getSectionX();
+        this.sectionY = mesh.getSectionY();
+        this.sectionZ = mesh.getSectionZ();
+        this.version = version;
+        this.quadCount = mesh.getQuadCount();
+        this.vertices = mesh.buildVertices();
+    }
+
+    public int getSectionX() {
+        return sectionX;
+    }
+
+    public int getSectionY() {
+        return sectionY;
+    }
+
+    public int getSectionZ() {
+        return sectionZ;
+    }
+
+    public long getSectionKey() {
+        return World.sectionKey(sectionX, sectionY, sectionZ);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public int getQuadCount() {
+        return quadCount;
+    }
+
+    public int[] getVertices() {
+        return vertices;
+    }
+
+    public int getByteSize() {
+        return vertices.length * PackedVertex.BYTES;
+    }
+
+    public boolean isEmpty() {
+        return quadCount == 0;
+    }
+}
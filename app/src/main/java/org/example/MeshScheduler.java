@@ -0,0 +1,165 @@
+package org.example;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Meshes chunk sections on a fixed pool of worker threads. Sections are snapshotted on the
+ * calling thread, meshed in the background, and the finished meshes wait in a lock-free
+ * queue until the render thread drains them under a per-frame budget.
+ *
+ * <p>{@link #schedule} and {@link #drain} must both be called from the thread that owns the
+ * world. A section scheduled again before its previous mesh was drained only uploads the
+ * newest result. A section whose meshing throws is logged and handed to the next
+ * {@link #drainFailures}, after which it no longer counts as pending.
+ */
+public class MeshScheduler implements AutoCloseable {
+    /**
+     * Receives the sections whose meshing failed.
+     */
+    public interface FailureListener {
+        void meshFailed(long sectionKey);
+    }
+
+    private final ExecutorService executor;
+    private final ThreadLocal<Mesher> meshers;
+    private final Queue<MeshResult> completed = new ConcurrentLinkedQueue<>();
+    // Sections whose meshing threw, for drainFailures to forget on the owning thread
+    private final Queue<FailedMesh> failed = new ConcurrentLinkedQueue<>();
+    private final Map<Long, Long> latestVersions = new HashMap<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder meshedSections = new LongAdder();
+    private final LongAdder meshedQuads = new LongAdder();
+    private final LongAdder meshNanos = new LongAdder();
+    private long nextVersion;
+
+    private record FailedMesh(long sectionKey, long version) {
+    }
+
+    public MeshScheduler(Supplier<Mesher> mesherFactory) {
+        this(mesherFactory, WorkerPools.defaultThreadCount());
+    }
+
+    public MeshScheduler(Supplier<Mesher> mesherFactory, int threads) {
+        this.executor = WorkerPools.newFixedPool("mesher", threads);
+        this.meshers = ThreadLocal.withInitial(mesherFactory);
+    }
+
+    public void schedule(World world, int sectionX, int sectionY, int sectionZ) {
+        if (sectionY < 0 || sectionY >= Chunk.SECTION_COUNT) {
+            return;
+        }
+        SectionSnapshot snapshot = SectionSnapshot.capture(world, sectionX, sectionY, sectionZ);
+        long version = ++nextVersion;
+        long key = World.sectionKey(sectionX, sectionY, sectionZ);
+        latestVersions.put(key, version);
+
+        inFlight.incrementAndGet();
+        executor.execute(() -> {
+            try {
+                long start = System.nanoTime();
+                ChunkMesh mesh = meshers.get().mesh(snapshot.toPadded());
+                MeshResult result = new MeshResult(mesh, version);
+                meshNanos.add(System.nanoTime() - start);
+                meshedSections.increment();
+                meshedQuads.add(mesh.getQuadCount());
+                completed.add(result);
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+                failed.add(new FailedMesh(key, version));
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        });
+    }
+
+    /**
+     * Forgets a scheduled section so a mesh still being built for it is never uploaded.
+     */
+    public void cancel(int sectionX, int sectionY, int sectionZ) {
+        latestVersions.remove(World.sectionKey(sectionX, sectionY, sectionZ));
+    }
+
+    /**
+     * Hands finished meshes to {@code uploader} until either budget runs out. At least one
+     * mesh is taken per call so uploads always make progress. Superseded meshes are dropped
+     * without counting against the budget.
+     *
+     * @return the number of meshes handed to the uploader
+     */
+    public int drain(Consumer<MeshResult> uploader, long maxBytes, long maxNanos) {
+        long start = System.nanoTime();
+        long bytes = 0;
+        int uploaded = 0;
+        MeshResult result;
+        while ((result = completed.peek()) != null) {
+            if (uploaded > 0 && (bytes + result.getByteSize() > maxBytes || System.nanoTime() - start > maxNanos)) {
+                break;
+            }
+            completed.poll();
+
+            Long latest = latestVersions.get(result.getSectionKey());
+            if (latest == null || latest != result.getVersion()) {
+                continue;
+            }
+            latestVersions.remove(result.getSectionKey());
+            uploader.accept(result);
+            bytes += result.getByteSize();
+            uploaded++;
+        }
+        return uploaded;
+    }
+
+    /**
+     * Forgets the sections whose meshing failed and hands them to {@code listener}, skipping
+     * ones scheduled again or cancelled since.
+     *
+     * @return the number of failed sections handed over
+     */
+    public int drainFailures(FailureListener listener) {
+        int drained = 0;
+        FailedMesh failure;
+        while ((failure = failed.poll()) != null) {
+            if (latestVersions.remove(failure.sectionKey(), failure.version())) {
+                listener.meshFailed(failure.sectionKey());
+                drained++;
+            }
+        }
+        return drained;
+    }
+
+    /**
+     * Sections scheduled but not yet drained, including ones still being meshed.
+     */
+    public int getPendingCount() {
+        return latestVersions.size();
+    }
+
+    public int getInFlightCount() {
+        return inFlight.get();
+    }
+
+    public long getMeshedSections() {
+        return meshedSections.sum();
+    }
+
+    public long getMeshedQuads() {
+        return meshedQuads.sum();
+    }
+
+    public long getMeshNanos() {
+        return meshNanos.sum();
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,31 @@
+package org.example;
+
+/**
+ * Turns a captured chunk section into renderable quads. Implementations keep scratch
+ * state, so each thread needs its own instance.
+ */
+public interface Mesher {
+    String PROPERTY = "mesher";
+
+    ChunkMesh mesh(PaddedSection section);
+
+    String getName();
+
+    static Mesher create(String name) {
+        switch (name) {
+            case "greedy":
+                return new GreedyMesher();
+            case "culled":
+                return new CulledMesher();
+            default:
+                throw new IllegalArgumentException("Unknown mesher: " + name);
+        }
+    }
+
+    /**
+     * Picks the mesher named by the {@code mesher} system property, greedy by default.
+     */
+    static Mesher fromSystemProperty() {
+        return create(System.getProperty(PROPERTY, "greedy"));
+    }
+}
@@ -0,0 +1,36 @@
+package org.example;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Named numeric readings gathered from the engine's subsystems, for periodic logging.
+ * Components expose plain getters and get registered here by whoever owns them.
+ */
+public class Metrics {
+    private final Map<String, LongSupplier> gauges = new LinkedHashMap<>();
+
+    public void register(String name, LongSupplier gauge) {
+        gauges.put(name, gauge);
+    }
+
+    public long get(String name) {
+        LongSupplier gauge = gauges.get(name);
+        if (gauge == null) {
+            throw new IllegalArgumentException("Unknown metric: " + name);
+        }
+        return gauge.getAsLong();
+    }
+
+    public String format() {
+        StringBuilder builder = new StringBuilder();
+        for (Map.Entry<String, LongSupplier> entry : gauges.entrySet()) {
+            if (builder.length() > 0) {
+                builder.append(' ');
+            }
+            builder.append(entry.getKey()).append('=').append(entry.getValue().getAsLong());
+        }
+        return builder.toString();
+    }
+}
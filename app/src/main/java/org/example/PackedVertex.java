@@ -0,0 +1,69 @@
+package org.example;
+
+/**
+ * Encodes a chunk mesh vertex into a single int, decoded again in {@code vertex_shader.glsl}.
+ *
+ * <pre>
+ * bits  0-4   x (0..16)
+ * bits  5-9   y (0..16)
+ * bits 10-14  z (0..16)
+ * bits 15-17  face, see {@link BlockFace}
+ * bits 18-19  ambient occlusion (0 = darkest, 3 = unoccluded)
+ * bits 20-31  texture layer (0..4095)
+ * </pre>
+ *
+ * Texture coordinates are not stored; the shader derives them from the position and face.
+ */
+public final class PackedVertex {
+    public static final int BYTES = Integer.BYTES;
+    public static final int MAX_POSITION = ChunkSection.SIZE;
+    public static final int MAX_AO = 3;
+    public static final int MAX_LAYER = 4095;
+
+    private static final int POSITION_BITS = 5;
+    private static final int FACE_SHIFT = 15;
+    private static final int AO_SHIFT = 18;
+    private static final int LAYER_SHIFT = 20;
+
+    private PackedVertex() {
+    }
+
+    public static int encode(int x, int y, int z, int face, int ao, int layer) {
+        if (x < 0 || x > MAX_POSITION || y < 0 || y > MAX_POSITION || z < 0 || z > MAX_POSITION) {
+            throw new IllegalArgumentException("Position out of range: " + x + ", " + y + ", " + z);
+        }
+        if (face < 0 || face >= BlockFace.COUNT || ao < 0 || ao > MAX_AO || layer < 0 || layer > MAX_LAYER) {
+            throw new IllegalArgumentException("Attribute out of range: face " + face + ", ao " + ao + ", layer " + layer);
+        }
+        return x
+                | y << POSITION_BITS
+                | z << (POSITION_BITS * 2)
+                | face << FACE_SHIFT
+                | ao << AO_SHIFT
+                | layer << LAYER_SHIFT;
+    }
+
+    public static int x(int vertex) {
+        return vertex & 31;
+    }
+
+    public static int y(int vertex) {
+        return (vertex >>> POSITION_BITS) & 31;
+    }
+
+    public static int z(int vertex) {
+        return (vertex >>> (POSITION_BITS * 2)) & 31;
+    }
+
+    public static int face(int vertex) {
+        return (vertex >>> FACE_SHIFT) & 7;
+    }
+
+    public static int ao(int vertex) {
+        return (vertex >>> AO_SHIFT) & 3;
+    }
+
+    public static int layer(int vertex) {
+        return vertex >>> LAYER_SHIFT;
+    }
+}
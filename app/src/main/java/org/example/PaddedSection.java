@@ -0,0 +1,64 @@
+package org.example;
+
+/**
+ * A copy of one chunk section plus a one block border taken from its neighbours, so a
+ * mesher can look across section and chunk boundaries without touching the world.
+ * Local coordinates run from -1 to 16 on every axis.
+ */
+public class PaddedSection {
+    public static final int SIZE = ChunkSection.SIZE + 2;
+
+    private final int sectionX;
+    private final int sectionY;
+    private final int sectionZ;
+    private final int[] blocks = new int[SIZE * SIZE * SIZE];
+
+    public PaddedSection(int sectionX, int sectionY, int sectionZ) {
+        this.sectionX = sectionX;
+        this.sectionY = sectionY;
+        this.sectionZ = sectionZ;
+    }
+
+    public static PaddedSection capture(World world, int sectionX, int sectionY, int sectionZ) {
+        PaddedSection padded = new PaddedSection(sectionX, sectionY, sectionZ);
+        int baseX = sectionX * ChunkSection.SIZE;
+        int baseY = sectionY * ChunkSection.SIZE;
+        int baseZ = sectionZ * ChunkSection.SIZE;
+        for (int y = -1; y <= ChunkSection.SIZE; y++) {
+            for (int z = -1; z <= ChunkSection.SIZE; z++) {
+                for (int x = -1; x <= ChunkSection.SIZE; x++) {
+                    padded.set(x, y, z, world.getBlock(baseX + x, baseY + y, baseZ + z));
+                }
+            }
+        }
+        return padded;
+    }
+
+    private static int index(int x, int y, int z) {
+        return ((y + 1) * SIZE + (z + 1)) * SIZE + (x + 1);
+    }
+
+    public int get(int x, int y, int z) {
+        return blocks[index(x, y, z)];
+    }
+
+    public void set(int x, int y, int z, int id) {
+        blocks[index(x, y, z)] = id;
+    }
+
+    public boolean isOpaque(int x, int y, int z) {
+        return BlockRegistry.isOpaque(blocks[index(x, y, z)]);
+    }
+
+    public int getSectionX() {
+        return sectionX;
+    }
+
+    public int getSectionY() {
+        return sectionY;
+    }
+
+    public int getSectionZ() {
+        return sectionZ;
+    }
+}
@@ -0,0 +1,36 @@
+package org.example;
+
+/**
+ * Growable scratch buffer of quads in the {@link ChunkMesh} layout, reused across meshes.
+ */
+class QuadList {
+    private int[] quads = new int[256 * ChunkMesh.QUAD_STRIDE];
+    private int quadCount;
+
+    void clear() {
+        quadCount = 0;
+    }
+
+    void add(int face, int block, int x, int y, int z, int width, int height) {
+        int offset = quadCount * ChunkMesh.QUAD_STRIDE;
+        if (offset + ChunkMesh.QUAD_STRIDE > quads.length) {
+            int[] grown = new int[quads.length * 2];
+            System.arraycopy(quads, 0, grown, 0, offset);
+            quads = grown;
+        }
+        quads[offset + ChunkMesh.QUAD_FACE] = face;
+        quads[offset + ChunkMesh.QUAD_BLOCK] = block;
+        quads[offset + ChunkMesh.QUAD_X] = x;
+        quads[offset + ChunkMesh.QUAD_Y] = y;
+        quads[offset + ChunkMesh.QUAD_Z] = z;
+        quads[offset + ChunkMesh.QUAD_WIDTH] = width;
+        quads[offset + ChunkMesh.QUAD_HEIGHT] = height;
+        quadCount++;
+    }
+
+    ChunkMesh toMesh(PaddedSection section) {
+        int[] result = new int[quadCount * ChunkMesh.QUAD_STRIDE];
+        System.arraycopy(quads, 0, result, 0, result.length);
+        return new ChunkMesh(section.getSectionX(), section.getSectionY(), section.getSectionZ(), result, quadCount);
+    }
+}
@@ -0,0 +1,35 @@
+package org.example;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The {@link ChunkSerializer} layout as is: fastest to read and write, largest on disk.
+ */
+public final class RawChunkCodec implements ChunkCodec {
+    // Region files written before codecs existed hold raw chunks with codec id 0
+    public static final int ID = 0;
+    public static final RawChunkCodec INSTANCE = new RawChunkCodec();
+
+    private RawChunkCodec() {
+    }
+
+    @Override
+    public int getId() {
+        return ID;
+    }
+
+    @Override
+    public String getName() {
+        return "raw";
+    }
+
+    @Override
+    public ByteBuffer encode(Chunk chunk) {
+        return ChunkSerializer.write(chunk);
+    }
+
+    @Override
+    public Chunk decode(ByteBuffer data) {
+        return ChunkSerializer.read(data);
+    }
+}
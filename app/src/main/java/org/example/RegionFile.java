@@ -0,0 +1,234 @@
+package org.example;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.BitSet;
+import java.util.zip.CRC32C;
+
+/**
+ * Stores up to {@value #SIZE}x{@value #SIZE} chunks in one file of 4 KiB sectors. The first
+ * {@value #HEADER_SECTORS} sectors hold one {@value #ENTRY_BYTES} byte entry per chunk:
+ * first sector, length in bytes, CRC32C of the payload, and the id of the
+ * {@link ChunkCodec} that encoded it. Each payload
+ * occupies a run of whole sectors. The file is mapped into memory, so reading a chunk is a
+ * slice of the mapping rather than a copy.
+ * <p>
+ * Writes never touch sectors the header points at: the payload goes to free sectors and
+ * is flushed before its header entry is, and only then are the old sectors released. After
+ * a crash every entry therefore refers to either the previous or the new payload. An entry
+ * whose payload fails its checksum, say from a torn header write, reads as absent.
+ * <p>
+ * Not thread-safe.
+ */
+public class RegionFile implements AutoCloseable {
+    public static final int SIZE = 32;
+    public static final int SECTOR_BYTES = 4096;
+    static final int ENTRY_BYTES = 16;
+    static final int HEADER_SECTORS = SIZE * SIZE * ENTRY_BYTES / SECTOR_BYTES;
+    // The file grows 1 MiB at a time so the mapping is rarely replaced
+    private static final int GROW_SECTORS = 256;
+
+    private final FileChannel channel;
+    private MappedByteBuffer mapped;
+    private int sectorCount;
+    private final BitSet usedSectors = new BitSet();
+    private final int[] firstSectors = new int[SIZE * SIZE];
+    private final int[] lengths = new int[SIZE * SIZE];
+    private final int[] checksums = new int[SIZE * SIZE];
+    private final int[] codecIds = new int[SIZE * SIZE];
+    private final CRC32C crc = new CRC32C();
+
+    public RegionFile(Path path) throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            // A partly grown file from a crash is rounded up; the extra sectors are free
+            long size = channel.size();
+            sectorCount = Math.max(HEADER_SECTORS, (int) ((size + SECTOR_BYTES - 1) / SECTOR_BYTES));
+            map(sectorCount);
+            usedSectors.set(0, HEADER_SECTORS);
+            readHeader();
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private void map(int sectors) throws IOException {
+        mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) sectors * SECTOR_BYTES);
+        mapped.order(ByteOrder.LITTLE_ENDIAN);
+        sectorCount = sectors;
+    }
+
+    private void readHeader() {
+        for (int i = 0; i < SIZE * SIZE; i++) {
+            int entry = i * ENTRY_BYTES;
+            int first = mapped.getInt(entry);
+            int length = mapped.getInt(entry + 4);
+            int sectors = sectorsFor(length);
+            // Entries that point outside the file or into another chunk's sectors are dropped
+            if (length <= 0 || first < HEADER_SECTORS || first + sectors > sectorCount) {
+                continue;
+            }
+            int clash = usedSectors.nextSetBit(first);
+            if (clash >= 0 && clash < first + sectors) {
+                continue;
+            }
+            firstSectors[i] = first;
+            lengths[i] = length;
+            checksums[i] = mapped.getInt(entry + 8);
+            codecIds[i] = mapped.getInt(entry + 12);
+            usedSectors.set(first, first + sectors);
+        }
+    }
+
+    private static int sectorsFor(int length) {
+        return (int) (((long) length + SECTOR_BYTES - 1) / SECTOR_BYTES);
+    }
+
+    private static int entryIndex(int localX, int localZ) {
+        if (localX < 0 || localX >= SIZE || localZ < 0 || localZ >= SIZE) {
+            throw new IllegalArgumentException("Local chunk position out of range: " + localX + ", " + localZ);
+        }
+        return localZ * SIZE + localX;
+    }
+
+    public boolean contains(int localX, int localZ) {
+        return lengths[entryIndex(localX, localZ)] > 0;
+    }
+
+    /**
+     * Id of the codec the chunk was written with; only meaningful if the chunk exists.
+     */
+    public int getCodecId(int localX, int localZ) {
+        return codecIds[entryIndex(localX, localZ)];
+    }
+
+    /**
+     * Returns a read-only view of a chunk's payload inside the mapping, or null if the chunk
+     * is absent or fails its checksum. The view is only valid until the next write.
+     */
+    public ByteBuffer read(int localX, int localZ) {
+        int index = entryIndex(localX, localZ);
+        int length = lengths[index];
+        if (length == 0) {
+            return null;
+        }
+        ByteBuffer payload = mapped.slice(firstSectors[index] * SECTOR_BYTES, length).asReadOnlyBuffer();
+        if (checksum(payload) != checksums[index]) {
+            return null;
+        }
+        return payload.order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Like {@link #read}, but without checking the checksum, to rescue what is left of a
+     * damaged chunk. Returns null only if the chunk is absent.
+     */
+    public ByteBuffer readUnchecked(int localX, int localZ) {
+        int index = entryIndex(localX, localZ);
+        int length = lengths[index];
+        if (length == 0) {
+            return null;
+        }
+        return mapped.slice(firstSectors[index] * SECTOR_BYTES, length).asReadOnlyBuffer().order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Stores the remaining bytes of payload as the chunk's new data, durably: when this
+     * returns, both the payload and the header entry have been flushed to the device.
+     */
+    public void write(int localX, int localZ, ByteBuffer payload, int codecId) throws IOException {
+        int index = entryIndex(localX, localZ);
+        int length = payload.remaining();
+        if (length == 0) {
+            throw new IllegalArgumentException("Empty chunk payload");
+        }
+        int sectors = sectorsFor(length);
+        int first = allocate(sectors);
+        int offset = first * SECTOR_BYTES;
+        mapped.put(offset, payload.duplicate(), payload.position(), length);
+        mapped.force(offset, length);
+
+        int checksum = checksum(mapped.slice(offset, length));
+        int entry = index * ENTRY_BYTES;
+        mapped.putInt(entry, first);
+        mapped.putInt(entry + 4, length);
+        mapped.putInt(entry + 8, checksum);
+        mapped.putInt(entry + 12, codecId);
+        mapped.force(entry, ENTRY_BYTES);
+
+        if (lengths[index] > 0) {
+            usedSectors.clear(firstSectors[index], firstSectors[index] + sectorsFor(lengths[index]));
+        }
+        firstSectors[index] = first;
+        lengths[index] = length;
+        checksums[index] = checksum;
+        codecIds[index] = codecId;
+    }
+
+    /**
+     * Drops a chunk durably: when this returns, its cleared header entry has been flushed to
+     * the device. Its sectors are free again afterwards.
+     */
+    public void remove(int localX, int localZ) throws IOException {
+        int index = entryIndex(localX, localZ);
+        if (lengths[index] == 0) {
+            return;
+        }
+        int entry = index * ENTRY_BYTES;
+        mapped.putLong(entry, 0);
+        mapped.putLong(entry + 8, 0);
+        mapped.force(entry, ENTRY_BYTES);
+
+        usedSectors.clear(firstSectors[index], firstSectors[index] + sectorsFor(lengths[index]));
+        firstSectors[index] = 0;
+        lengths[index] = 0;
+        checksums[index] = 0;
+        codecIds[index] = 0;
+    }
+
+    /**
+     * Marks a run of free sectors as used, the lowest that fits, growing the file if none do.
+     */
+    private int allocate(int sectors) throws IOException {
+        int first = usedSectors.nextClearBit(HEADER_SECTORS);
+        while (first < sectorCount) {
+            int end = usedSectors.nextSetBit(first);
+            if (end < 0 || end - first >= sectors) {
+                break;
+            }
+            first = usedSectors.nextClearBit(end);
+        }
+        if (first + sectors > sectorCount) {
+            int needed = first + sectors;
+            map(Math.max(needed, sectorCount + GROW_SECTORS));
+        }
+        usedSectors.set(first, first + sectors);
+        return first;
+    }
+
+    private int checksum(ByteBuffer payload) {
+        crc.reset();
+        crc.update(payload.duplicate());
+        return (int) crc.getValue();
+    }
+
+    public int getSectorCount() {
+        return sectorCount;
+    }
+
+    public int getUsedSectorCount() {
+        return usedSectors.cardinality();
+    }
+
+    @Override
+    public void close() throws IOException {
+        mapped = null;
+        channel.close();
+    }
+}
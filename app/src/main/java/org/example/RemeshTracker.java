@@ -0,0 +1,198 @@
+package org.example;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collects the sections that block edits made stale, and remeshes each of them once per
+ * frame however many edits touched it. An edit marks the section holding the block, plus
+ * the neighbouring section across any border face the block touches. {@link #flush} hands
+ * the dirty sections nearest the camera to the mesher, up to a per-frame budget; the rest
+ * wait for the next frame.
+ * <p>
+ * Also measures how many frames pass between an edit and the upload of the first mesh that
+ * includes it. Frames are whatever counter the caller passes in.
+ * <p>
+ * Not thread-safe; used by the thread that owns the world.
+ */
+public class RemeshTracker {
+    /**
+     * Receives the sections to remesh, nearest first.
+     */
+    public interface Scheduler {
+        void remesh(int sectionX, int sectionY, int sectionZ);
+    }
+
+    private static final Comparator<DirtySection> NEAREST_FIRST = Comparator.comparingDouble(section -> section.distanceSquared);
+
+    private final int maxSectionsPerFrame;
+    private final Map<Long, DirtySection> dirty = new HashMap<>();
+    // Sections handed to the mesher, by key, with the frame of their oldest edit not yet visible
+    private final Map<Long, Long> awaitingUpload = new HashMap<>();
+    // Reused by flush to sort the dirty sections
+    private final List<DirtySection> byDistance = new ArrayList<>();
+    private long coalescedEdits;
+    private long visibleEdits;
+    private long totalLatencyFrames;
+    private long lastLatencyFrames;
+    private long maxLatencyFrames;
+
+    private static final class DirtySection {
+        final int sectionX;
+        final int sectionY;
+        final int sectionZ;
+        final long editFrame;
+        double distanceSquared;
+
+        DirtySection(int sectionX, int sectionY, int sectionZ, long editFrame) {
+            this.sectionX = sectionX;
+            this.sectionY = sectionY;
+            this.sectionZ = sectionZ;
+            this.editFrame = editFrame;
+        }
+    }
+
+    public RemeshTracker(int maxSectionsPerFrame) {
+        if (maxSectionsPerFrame <= 0) {
+            throw new IllegalArgumentException("Sections per frame must be positive: " + maxSectionsPerFrame);
+        }
+        this.maxSectionsPerFrame = maxSectionsPerFrame;
+    }
+
+    /**
+     * Marks the section holding the changed block, plus any neighbouring section whose
+     * border faces the block touches.
+     */
+    public void markBlock(int x, int y, int z, long frame) {
+        int sectionX = x >> 4;
+        int sectionY = y >> 4;
+        int sectionZ = z >> 4;
+        markSection(sectionX, sectionY, sectionZ, frame);
+        for (int face = 0; face < BlockFace.COUNT; face++) {
+            int nx = x + BlockFace.DX[face];
+            int ny = y + BlockFace.DY[face];
+            int nz = z + BlockFace.DZ[face];
+            if (nx >> 4 != sectionX || ny >> 4 != sectionY || nz >> 4 != sectionZ) {
+                markSection(nx >> 4, ny >> 4, nz >> 4, frame);
+            }
+        }
+    }
+
+    public void markSection(int sectionX, int sectionY, int sectionZ, long frame) {
+        if (sectionY < 0 || sectionY >= Chunk.SECTION_COUNT) {
+            return;
+        }
+        long key = World.sectionKey(sectionX, sectionY, sectionZ);
+        if (dirty.containsKey(key)) {
+            coalescedEdits++;
+        } else {
+            dirty.put(key, new DirtySection(sectionX, sectionY, sectionZ, frame));
+        }
+    }
+
+    /**
+     * Hands the dirty sections nearest the given position to the scheduler, at most the
+     * per-frame budget of them.
+     *
+     * @return the number of sections handed over
+     */
+    public int flush(float x, float y, float z, Scheduler scheduler) {
+        if (dirty.isEmpty()) {
+            return 0;
+        }
+        byDistance.addAll(dirty.values());
+        for (DirtySection section : byDistance) {
+            double dx = section.sectionX * ChunkSection.SIZE + ChunkSection.SIZE / 2.0 - x;
+            double dy = section.sectionY * ChunkSection.SIZE + ChunkSection.SIZE / 2.0 - y;
+            double dz = section.sectionZ * ChunkSection.SIZE + ChunkSection.SIZE / 2.0 - z;
+            section.distanceSquared = dx * dx + dy * dy + dz * dz;
+        }
+        byDistance.sort(NEAREST_FIRST);
+        int count = Math.min(byDistance.size(), maxSectionsPerFrame);
+        for (int i = 0; i < count; i++) {
+            DirtySection section = byDistance.get(i);
+            long key = World.sectionKey(section.sectionX, section.sectionY, section.sectionZ);
+            dirty.remove(key);
+            awaitingUpload.merge(key, section.editFrame, Math::min);
+            scheduler.remesh(section.sectionX, section.sectionY, section.sectionZ);
+        }
+        byDistance.clear();
+        return count;
+    }
+
+    /**
+     * Records that a mesh of the section was uploaded. Meshes are only scheduled after the
+     * edits they include were flushed, so this is when those edits become visible.
+     */
+    public void uploaded(long sectionKey, long frame) {
+        Long editFrame = awaitingUpload.remove(sectionKey);
+        if (editFrame != null) {
+            lastLatencyFrames = frame - editFrame;
+            maxLatencyFrames = Math.max(maxLatencyFrames, lastLatencyFrames);
+            totalLatencyFrames += lastLatencyFrames;
+            visibleEdits++;
+        }
+    }
+
+    /**
+     * Forgets a section whose meshing failed, so its edits are not counted as visible by a
+     * later upload of a mesh that does not hold them.
+     */
+    public void meshFailed(long sectionKey) {
+        awaitingUpload.remove(sectionKey);
+    }
+
+    /**
+     * Forgets the sections of an unloaded chunk.
+     */
+    public void cancelChunk(int chunkX, int chunkZ) {
+        for (int sectionY = 0; sectionY < Chunk.SECTION_COUNT; sectionY++) {
+            long key = World.sectionKey(chunkX, sectionY, chunkZ);
+            dirty.remove(key);
+            awaitingUpload.remove(key);
+        }
+    }
+
+    /**
+     * Sections edited but not handed to the mesher yet.
+     */
+    public int getDirtyCount() {
+        return dirty.size();
+    }
+
+    /**
+     * Sections handed to the mesher whose mesh was not uploaded yet.
+     */
+    public int getAwaitingCount() {
+        return awaitingUpload.size();
+    }
+
+    /**
+     * Section marks that found the section already dirty, each one a remesh saved.
+     */
+    public long getCoalescedEdits() {
+        return coalescedEdits;
+    }
+
+    /**
+     * Remeshed sections whose edits became visible.
+     */
+    public long getVisibleEdits() {
+        return visibleEdits;
+    }
+
+    public long getLastLatencyFrames() {
+        return lastLatencyFrames;
+    }
+
+    public long getMaxLatencyFrames() {
+        return maxLatencyFrames;
+    }
+
+    public double getAverageLatencyFrames() {
+        return visibleEdits == 0 ? 0 : (double) totalLatencyFrames / visibleEdits;
+    }
+}
@@ -0,0 +1,163 @@
+package org.example;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * Run-length encodes each section's palette indices in storage order, so whole layers of
+ * stone or air shrink to a couple of bytes. Numbers are unsigned LEB128 varints: section
+ * palette size, palette ids, then (run length - 1, palette index) pairs until the section
+ * is full.
+ */
+public final class RleChunkCodec implements ChunkCodec {
+    public static final int ID = 1;
+    public static final RleChunkCodec INSTANCE = new RleChunkCodec();
+    private static final int VERSION = 1;
+
+    private RleChunkCodec() {
+    }
+
+    @Override
+    public int getId() {
+        return ID;
+    }
+
+    @Override
+    public String getName() {
+        return "rle";
+    }
+
+    @Override
+    public ByteBuffer encode(Chunk chunk) {
+        Output out = new Output();
+        int mask = 0;
+        for (int sectionY = 0; sectionY < Chunk.SECTION_COUNT; sectionY++) {
+            ChunkSection section = chunk.getSection(sectionY);
+            if (section != null && !section.isEmpty()) {
+                mask |= 1 << sectionY;
+            }
+        }
+        out.varint(VERSION);
+        out.varint(zigZag(chunk.getChunkX()));
+        out.varint(zigZag(chunk.getChunkZ()));
+        out.varint(mask);
+        for (int sectionY = 0; sectionY < Chunk.SECTION_COUNT; sectionY++) {
+            if ((mask & (1 << sectionY)) != 0) {
+                writeSection(chunk.getSection(sectionY), out);
+            }
+        }
+        return ByteBuffer.wrap(out.bytes, 0, out.size).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private static void writeSection(ChunkSection section, Output out) {
+        int paletteSize = section.getPaletteSize();
+        out.varint(paletteSize);
+        for (int i = 0; i < paletteSize; i++) {
+            out.varint(section.getPaletteId(i));
+        }
+        if (paletteSize == 1) {
+            return;
+        }
+        int run = 0;
+        int current = section.getPaletteIndex(0);
+        for (int i = 1; i < ChunkSection.VOLUME; i++) {
+            int index = section.getPaletteIndex(i);
+            if (index == current) {
+                run++;
+            } else {
+                out.varint(run);
+                out.varint(current);
+                current = index;
+                run = 0;
+            }
+        }
+        out.varint(run);
+        out.varint(current);
+    }
+
+    @Override
+    public Chunk decode(ByteBuffer data) {
+        ByteBuffer in = data.duplicate();
+        int version = varint(in);
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported RLE chunk version " + version);
+        }
+        Chunk chunk = new Chunk(unZigZag(varint(in)), unZigZag(varint(in)));
+        int mask = varint(in);
+        if ((mask >>> Chunk.SECTION_COUNT) != 0) {
+            throw new IllegalArgumentException("Invalid section mask " + Integer.toHexString(mask));
+        }
+        int[] indices = new int[ChunkSection.VOLUME];
+        for (int sectionY = 0; sectionY < Chunk.SECTION_COUNT; sectionY++) {
+            if ((mask & (1 << sectionY)) != 0) {
+                chunk.setSection(sectionY, readSection(in, indices));
+            }
+        }
+        return chunk;
+    }
+
+    private static ChunkSection readSection(ByteBuffer in, int[] indices) {
+        int paletteSize = varint(in);
+        if (paletteSize < 1 || paletteSize > ChunkSection.VOLUME) {
+            throw new IllegalArgumentException("Invalid palette size " + paletteSize);
+        }
+        int[] palette = new int[Math.max(paletteSize, 2)];
+        for (int i = 0; i < paletteSize; i++) {
+            palette[i] = varint(in);
+        }
+        if (paletteSize == 1) {
+            return new ChunkSection(palette[0]);
+        }
+        int filled = 0;
+        while (filled < ChunkSection.VOLUME) {
+            int length = varint(in) + 1;
+            int index = varint(in);
+            if (length > ChunkSection.VOLUME - filled) {
+                throw new IllegalArgumentException("Run of " + length + " overflows the section");
+            }
+            Arrays.fill(indices, filled, filled + length, index);
+            filled += length;
+        }
+        return ChunkSection.fromPalette(palette, paletteSize, indices);
+    }
+
+    private static int zigZag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    private static int unZigZag(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static int varint(ByteBuffer in) {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int b = in.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Varint longer than 5 bytes");
+    }
+
+    /**
+     * Growable byte array; encoded chunks are small, so starting at 4 KiB rarely grows.
+     */
+    private static final class Output {
+        byte[] bytes = new byte[4096];
+        int size;
+
+        void varint(int value) {
+            if (size + 5 > bytes.length) {
+                bytes = Arrays.copyOf(bytes, bytes.length * 2);
+            }
+            while ((value & ~0x7F) != 0) {
+                bytes[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            bytes[size++] = (byte) value;
+        }
+    }
+}
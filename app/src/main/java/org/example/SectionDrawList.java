@@ -0,0 +1,164 @@
+package org.example;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The resident chunk section meshes and the draw commands culled from them each frame, one
+ * {@link IndirectCommandBuffer} per arena page. Touches no GL state: {@link ChunkRenderer}
+ * uploads the commands it builds, and anything else can run the same cull pass without a
+ * GL context.
+ * <p>
+ * Sections are kept in a list as well as by key, so culling walks an array and a removal
+ * swaps the last section into the hole. Once the buffers have grown to the largest frame,
+ * {@link #cull} allocates nothing.
+ * <p>
+ * Not thread-safe; used by the thread that renders.
+ */
+public class SectionDrawList {
+    /**
+     * Tells where an allocation currently starts, in bytes from the start of its page.
+     * Compaction moves allocations, so offsets are read again on every {@link #cull}.
+     */
+    public interface Offsets {
+        int getOffset(int allocation);
+    }
+
+    private static final class Section {
+        final int sectionX;
+        final int sectionY;
+        final int sectionZ;
+        final int page;
+        final int allocation;
+        final int indexCount;
+        int listIndex;
+
+        Section(int sectionX, int sectionY, int sectionZ, int page, int allocation, int indexCount) {
+            this.sectionX = sectionX;
+            this.sectionY = sectionY;
+            this.sectionZ = sectionZ;
+            this.page = page;
+            this.allocation = allocation;
+            this.indexCount = indexCount;
+        }
+    }
+
+    private final Offsets offsets;
+    private final Map<Long, Section> sections = new HashMap<>();
+    private final List<Section> sectionList = new ArrayList<>();
+    private IndirectCommandBuffer[] pageCommands = new IndirectCommandBuffer[0];
+    private int drawCount;
+    private int sectionsTested;
+    private int sectionsCulled;
+
+    public SectionDrawList(Offsets offsets) {
+        this.offsets = offsets;
+    }
+
+    /**
+     * Adds the mesh of a section, stored in an allocation of the given page.
+     *
+     * @throws IllegalArgumentException if the section is already present; remove it first
+     */
+    public void add(int sectionX, int sectionY, int sectionZ, int page, int allocation, int indexCount) {
+        if (page < 0) {
+            throw new IllegalArgumentException("Page must not be negative: " + page);
+        }
+        long key = World.sectionKey(sectionX, sectionY, sectionZ);
+        if (sections.containsKey(key)) {
+            throw new IllegalArgumentException("Section " + sectionX + ", " + sectionY + ", " + sectionZ + " is already present");
+        }
+        if (page >= pageCommands.length) {
+            int first = pageCommands.length;
+            pageCommands = Arrays.copyOf(pageCommands, page + 1);
+            for (int i = first; i <= page; i++) {
+                pageCommands[i] = new IndirectCommandBuffer();
+            }
+        }
+        Section section = new Section(sectionX, sectionY, sectionZ, page, allocation, indexCount);
+        section.listIndex = sectionList.size();
+        sectionList.add(section);
+        sections.put(key, section);
+    }
+
+    /**
+     * Removes a section, and the commands of the last cull, which may draw it.
+     *
+     * @return the allocation that held the section's mesh, or -1 if it was not present
+     */
+    public int remove(long sectionKey) {
+        Section section = sections.remove(sectionKey);
+        if (section == null) {
+            return -1;
+        }
+        Section last = sectionList.remove(sectionList.size() - 1);
+        if (last != section) {
+            last.listIndex = section.listIndex;
+            sectionList.set(section.listIndex, last);
+        }
+        clear();
+        return section.allocation;
+    }
+
+    /**
+     * Builds the draw commands for the sections whose bounds intersect the view frustum.
+     */
+    public void cull(Frustum frustum) {
+        int count = sectionList.size();
+        clear();
+        for (int i = 0; i < count; i++) {
+            Section section = sectionList.get(i);
+            if (frustum.intersectsSection(section.sectionX, section.sectionY, section.sectionZ)) {
+                // Blocks are centred on their integer coordinates, mesh corners are not
+                pageCommands[section.page].add(section.indexCount,
+                        offsets.getOffset(section.allocation) / PackedVertex.BYTES,
+                        section.sectionX * ChunkSection.SIZE - 0.5f,
+                        section.sectionY * ChunkSection.SIZE - 0.5f,
+                        section.sectionZ * ChunkSection.SIZE - 0.5f);
+                drawCount++;
+            }
+        }
+        sectionsTested = count;
+        sectionsCulled = count - drawCount;
+    }
+
+    /**
+     * Drops the commands of the last cull, e.g. after compaction moved the meshes they draw.
+     */
+    public void clear() {
+        for (IndirectCommandBuffer commands : pageCommands) {
+            commands.clear();
+        }
+        drawCount = 0;
+    }
+
+    /**
+     * The number of pages that have held a section, and so have a command buffer.
+     */
+    public int getPageCount() {
+        return pageCommands.length;
+    }
+
+    public IndirectCommandBuffer getCommands(int page) {
+        return pageCommands[page];
+    }
+
+    public int getSectionCount() {
+        return sections.size();
+    }
+
+    public int getSectionsTested() {
+        return sectionsTested;
+    }
+
+    public int getSectionsCulled() {
+        return sectionsCulled;
+    }
+
+    public int getDrawCount() {
+        return drawCount;
+    }
+}
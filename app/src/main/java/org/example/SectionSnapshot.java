@@ -0,0 +1,73 @@
+package org.example;
+
+/**
+ * Private copies of a chunk section and its 26 neighbours, taken on the thread that owns
+ * the world so the section can be meshed elsewhere while the world keeps changing.
+ */
+public class SectionSnapshot {
+    private final int sectionX;
+    private final int sectionY;
+    private final int sectionZ;
+    // Indexed by (dy + 1) * 9 + (dz + 1) * 3 + (dx + 1), null where there are no blocks
+    private final ChunkSection[] sections = new ChunkSection[27];
+
+    private SectionSnapshot(int sectionX, int sectionY, int sectionZ) {
+        this.sectionX = sectionX;
+        this.sectionY = sectionY;
+        this.sectionZ = sectionZ;
+    }
+
+    public static SectionSnapshot capture(World world, int sectionX, int sectionY, int sectionZ) {
+        SectionSnapshot snapshot = new SectionSnapshot(sectionX, sectionY, sectionZ);
+        for (int dy = -1; dy <= 1; dy++) {
+            int y = sectionY + dy;
+            if (y < 0 || y >= Chunk.SECTION_COUNT) {
+                continue;
+            }
+            for (int dz = -1; dz <= 1; dz++) {
+                for (int dx = -1; dx <= 1; dx++) {
+                    Chunk chunk = world.getChunk(sectionX + dx, sectionZ + dz);
+                    ChunkSection section = chunk == null ? null : chunk.getSection(y);
+                    if (section != null && !section.isEmpty()) {
+                        snapshot.sections[(dy + 1) * 9 + (dz + 1) * 3 + (dx + 1)] = section.copy();
+                    }
+                }
+            }
+        }
+        return snapshot;
+    }
+
+    public int getSectionX() {
+        return sectionX;
+    }
+
+    public int getSectionY() {
+        return sectionY;
+    }
+
+    public int getSectionZ() {
+        return sectionZ;
+    }
+
+    public boolean isEmpty() {
+        return sections[13] == null;
+    }
+
+    public PaddedSection toPadded() {
+        PaddedSection padded = new PaddedSection(sectionX, sectionY, sectionZ);
+        final int size = ChunkSection.SIZE;
+        for (int y = -1; y <= size; y++) {
+            int dy = Math.floorDiv(y, size);
+            for (int z = -1; z <= size; z++) {
+                int dz = Math.floorDiv(z, size);
+                for (int x = -1; x <= size; x++) {
+                    ChunkSection section = sections[(dy + 1) * 9 + (dz + 1) * 3 + (Math.floorDiv(x, size) + 1)];
+                    if (section != null) {
+                        padded.set(x, y, z, section.getBlock(x & 15, y & 15, z & 15));
+                    }
+                }
+            }
+        }
+        return padded;
+    }
+}
@@ -0,0 +1,96 @@
+package org.example;
+
+import org.joml.Matrix4f;
+import org.lwjgl.opengl.GL11;
+import org.lwjgl.opengl.GL20;
+import org.lwjgl.system.MemoryUtil;
+
+import java.nio.FloatBuffer;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A linked vertex + fragment shader program. Uniform locations are looked up once and
+ * cached, and matrices are uploaded through a reused off-heap buffer, so setting uniforms
+ * in the render loop allocates nothing.
+ */
+public class ShaderProgram {
+    private final int program;
+    private final Map<String, Integer> uniformLocations = new HashMap<>();
+    private final FloatBuffer matrixBuffer = MemoryUtil.memAllocFloat(16);
+
+    public ShaderProgram(String vertexPath, String fragmentPath) {
+        // Load shader source code from files
+        String vertexShaderSource = ShaderUtils.loadShaderSource(vertexPath);
+        String fragmentShaderSource = ShaderUtils.loadShaderSource(fragmentPath);
+
+        int vertexShader = GL20.glCreateShader(GL20.GL_VERTEX_SHADER);
+        GL20.glShaderSource(vertexShader, vertexShaderSource);
+        GL20.glCompileShader(vertexShader);
+        checkCompileErrors(vertexShader, "VERTEX");
+
+        int fragmentShader = GL20.glCreateShader(GL20.GL_FRAGMENT_SHADER);
+        GL20.glShaderSource(fragmentShader, fragmentShaderSource);
+        GL20.glCompileShader(fragmentShader);
+        checkCompileErrors(fragmentShader, "FRAGMENT");
+
+        program = GL20.glCreateProgram();
+        GL20.glAttachShader(program, vertexShader);
+        GL20.glAttachShader(program, fragmentShader);
+        GL20.glLinkProgram(program);
+        checkCompileErrors(program, "PROGRAM");
+
+        GL20.glDeleteShader(vertexShader);
+        GL20.glDeleteShader(fragmentShader);
+    }
+
+    private static void checkCompileErrors(int shader, String type) {
+        int success;
+        if (type.equals("PROGRAM")) {
+            success = GL20.glGetProgrami(shader, GL20.GL_LINK_STATUS);
+            if (success == GL11.GL_FALSE) {
+                String infoLog = GL20.glGetProgramInfoLog(shader);
+                System.out.println("ERROR::PROGRAM_LINKING_ERROR of type: " + type + "\n" + infoLog);
+            }
+        } else {
+            success = GL20.glGetShaderi(shader, GL20.GL_COMPILE_STATUS);
+            if (success == GL11.GL_FALSE) {
+                String infoLog = GL20.glGetShaderInfoLog(shader);
+                System.out.println("ERROR::SHADER_COMPILATION_ERROR of type: " + type + "\n" + infoLog);
+            }
+        }
+    }
+
+    public void use() {
+        GL20.glUseProgram(program);
+    }
+
+    /**
+     * Returns the location of a uniform, querying GL only the first time a name is asked
+     * for. Resolve locations up front and keep the ints rather than calling this per frame.
+     */
+    public int uniform(String name) {
+        Integer location = uniformLocations.get(name);
+        if (location == null) {
+            location = GL20.glGetUniformLocation(program, name);
+            uniformLocations.put(name, location);
+        }
+        return location;
+    }
+
+    /**
+     * Uploads a matrix to a uniform of this program, which must be in use.
+     */
+    public void setMatrix4(int location, Matrix4f matrix) {
+        GL20.glUniformMatrix4fv(location, false, matrix.get(matrixBuffer));
+    }
+
+    public void setInt(int location, int value) {
+        GL20.glUniform1i(location, value);
+    }
+
+    public void delete() {
+        GL20.glDeleteProgram(program);
+        MemoryUtil.memFree(matrixBuffer);
+    }
+}
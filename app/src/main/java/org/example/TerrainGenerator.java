@@ -0,0 +1,102 @@
+package org.example;
+
+import FastNoiseLite.FastNoiseLite;
+import FastNoiseLite.NoiseConfig;
+
+/**
+ * Builds the terrain of any chunk from a height noise. The noise settings are an immutable
+ * {@link NoiseConfig} shared by all threads, so {@link #generate} can be called from any
+ * number of threads at once. Column heights go through a {@link HeightmapCache} that spawn
+ * placement reads as well, so the noise runs once per column.
+ * <p>
+ * A chunk is a pure function of the world seed and its coordinates: the same seed always
+ * gives the same blocks, whichever thread generates it and in whatever order, so a chunk
+ * that was never modified can be dropped on unload and generated again later.
+ */
+public class TerrainGenerator {
+    public static final int DIRT_DEPTH = 3;
+    // A little more than the chunks loaded at the default view distance
+    public static final int DEFAULT_HEIGHTMAP_CAPACITY = 1024;
+    // FastNoiseLite's own default, so worlds from before seeds were configurable stay the same
+    public static final long DEFAULT_SEED = 1337;
+
+    private final long seed;
+    private final NoiseConfig noise;
+    private final HeightmapCache heightmaps;
+
+    public TerrainGenerator() {
+        this(DEFAULT_SEED);
+    }
+
+    public TerrainGenerator(long seed) {
+        this(seed, DEFAULT_HEIGHTMAP_CAPACITY);
+    }
+
+    public TerrainGenerator(long seed, int heightmapCapacity) {
+        this.seed = seed;
+        this.noise = NoiseConfig.Builder()
+                .SetSeed(noiseSeed(seed))
+                .SetNoiseType(FastNoiseLite.NoiseType.Perlin)
+                .SetFrequency(0.1f)
+                .Build();
+        this.heightmaps = new HeightmapCache(heightmapCapacity, this::computeHeights);
+    }
+
+    /**
+     * Folds the 64-bit world seed into the noise's 32-bit seed; seeds that fit in an int map
+     * to themselves.
+     */
+    static int noiseSeed(long seed) {
+        // The last term cancels the high word exactly when it is only sign extension
+        return (int) seed ^ (int) (seed >>> 32) ^ ((int) seed >> 31);
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public HeightmapCache getHeightmaps() {
+        return heightmaps;
+    }
+
+    private void computeHeights(int chunkX, int chunkZ, short[] heights) {
+        float[] columns = new float[HeightmapCache.COLUMNS];
+        noise.GenUniformGrid2D(columns, chunkX * Chunk.SIZE, chunkZ * Chunk.SIZE, Chunk.SIZE, Chunk.SIZE);
+        for (int i = 0; i < columns.length; i++) {
+            heights[i] = (short) (columns[i] * 8 + 8); // Height between 0 and 16
+        }
+    }
+
+    public Chunk generate(int chunkX, int chunkZ) {
+        Chunk chunk = new Chunk(chunkX, chunkZ);
+        short[] heights = heightmaps.get(chunkX, chunkZ);
+        for (int x = 0; x < Chunk.SIZE; x++) {
+            for (int z = 0; z < Chunk.SIZE; z++) {
+                int height = heights[z * Chunk.SIZE + x];
+                for (int y = 0; y < height; y++) {
+                    chunk.setBlock(x, y, z, blockAt(y, height));
+                }
+            }
+        }
+        chunk.compact();
+        chunk.clearModified();
+        return chunk;
+    }
+
+    /**
+     * Lowest y at which a player standing at the given column is clear of the terrain.
+     */
+    public int spawnHeight(int x, int z) {
+        return heightmaps.getHeight(x, z);
+    }
+
+    /**
+     * Grass on top, then {@link #DIRT_DEPTH} blocks of dirt, then stone.
+     */
+    static int blockAt(int y, int height) {
+        if (y == height - 1) {
+            return Blocks.GRASS;
+        }
+        return y >= height - 1 - DIRT_DEPTH ? Blocks.DIRT : Blocks.STONE;
+    }
+}
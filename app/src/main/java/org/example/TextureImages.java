@@ -0,0 +1,47 @@
+package org.example;
+
+import java.nio.ByteBuffer;
+
+/**
+ * CPU-side helpers for RGBA8 images on their way into GL textures.
+ */
+public final class TextureImages {
+    public static final int CHANNELS = 4;
+
+    private TextureImages() {
+    }
+
+    /**
+     * Rescales an RGBA8 image. Each destination pixel averages the block of source pixels it
+     * covers, which reduces to nearest-neighbour sampling when enlarging. Reads and writes
+     * from the buffers' current positions without moving them.
+     */
+    public static void resize(ByteBuffer src, int srcWidth, int srcHeight,
+                              ByteBuffer dst, int dstWidth, int dstHeight) {
+        int srcBase = src.position();
+        int dstBase = dst.position();
+        int[] sum = new int[CHANNELS];
+        for (int y = 0; y < dstHeight; y++) {
+            int y0 = (int) ((long) y * srcHeight / dstHeight);
+            int y1 = Math.max(y0 + 1, (int) ((long) (y + 1) * srcHeight / dstHeight));
+            for (int x = 0; x < dstWidth; x++) {
+                int x0 = (int) ((long) x * srcWidth / dstWidth);
+                int x1 = Math.max(x0 + 1, (int) ((long) (x + 1) * srcWidth / dstWidth));
+                sum[0] = sum[1] = sum[2] = sum[3] = 0;
+                for (int sy = y0; sy < y1; sy++) {
+                    for (int sx = x0; sx < x1; sx++) {
+                        int p = srcBase + (sy * srcWidth + sx) * CHANNELS;
+                        for (int c = 0; c < CHANNELS; c++) {
+                            sum[c] += src.get(p + c) & 0xff;
+                        }
+                    }
+                }
+                int count = (y1 - y0) * (x1 - x0);
+                int q = dstBase + (y * dstWidth + x) * CHANNELS;
+                for (int c = 0; c < CHANNELS; c++) {
+                    dst.put(q + c, (byte) ((sum[c] + count / 2) / count));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package org.example;
+
+/**
+ * Exact voxel traversal (Amanatides & Woo): visits every block a ray passes through, in
+ * order, and stops at the first solid one. Blocks are centred on their integer coordinates.
+ * The result is kept in this object, so a cast allocates nothing; reuse one instance.
+ */
+public class VoxelRaycast {
+    private boolean hit;
+    private int blockX;
+    private int blockY;
+    private int blockZ;
+    private int face;
+    private float distance;
+
+    /**
+     * Casts a ray from the origin along a normalised direction.
+     *
+     * @return whether a solid block was hit within {@code maxDistance}
+     */
+    public boolean cast(World world, float originX, float originY, float originZ,
+                        float dirX, float dirY, float dirZ, float maxDistance) {
+        hit = false;
+        face = -1;
+        distance = 0;
+
+        // Shift by half a block so block n spans [n, n + 1) on every axis
+        float x = originX + 0.5f;
+        float y = originY + 0.5f;
+        float z = originZ + 0.5f;
+        int cellX = (int) Math.floor(x);
+        int cellY = (int) Math.floor(y);
+        int cellZ = (int) Math.floor(z);
+
+        int stepX = dirX > 0 ? 1 : dirX < 0 ? -1 : 0;
+        int stepY = dirY > 0 ? 1 : dirY < 0 ? -1 : 0;
+        int stepZ = dirZ > 0 ? 1 : dirZ < 0 ? -1 : 0;
+
+        // Ray length needed to cross one whole cell, and to reach the next boundary
+        float deltaX = stepX == 0 ? Float.POSITIVE_INFINITY : Math.abs(1.0f / dirX);
+        float deltaY = stepY == 0 ? Float.POSITIVE_INFINITY : Math.abs(1.0f / dirY);
+        float deltaZ = stepZ == 0 ? Float.POSITIVE_INFINITY : Math.abs(1.0f / dirZ);
+        float maxX = stepX == 0 ? Float.POSITIVE_INFINITY : (stepX > 0 ? cellX + 1 - x : x - cellX) * deltaX;
+        float maxY = stepY == 0 ? Float.POSITIVE_INFINITY : (stepY > 0 ? cellY + 1 - y : y - cellY) * deltaY;
+        float maxZ = stepZ == 0 ? Float.POSITIVE_INFINITY : (stepZ > 0 ? cellZ + 1 - z : z - cellZ) * deltaZ;
+
+        float travelled = 0;
+        int enteredFace = -1;
+        while (travelled <= maxDistance) {
+            if (world.isSolid(cellX, cellY, cellZ)) {
+                hit = true;
+                blockX = cellX;
+                blockY = cellY;
+                blockZ = cellZ;
+                face = enteredFace;
+                distance = travelled;
+                return true;
+            }
+
+            if (maxX < maxY && maxX < maxZ) {
+                cellX += stepX;
+                travelled = maxX;
+                maxX += deltaX;
+                enteredFace = stepX > 0 ? BlockFace.WEST : BlockFace.EAST;
+            } else if (maxY < maxZ) {
+                cellY += stepY;
+                travelled = maxY;
+                maxY += deltaY;
+                enteredFace = stepY > 0 ? BlockFace.DOWN : BlockFace.UP;
+            } else {
+                if (stepZ == 0) {
+                    return false;
+                }
+                cellZ += stepZ;
+                travelled = maxZ;
+                maxZ += deltaZ;
+                enteredFace = stepZ > 0 ? BlockFace.NORTH : BlockFace.SOUTH;
+            }
+        }
+        return false;
+    }
+
+    public boolean isHit() {
+        return hit;
+    }
+
+    public int getBlockX() {
+        return blockX;
+    }
+
+    public int getBlockY() {
+        return blockY;
+    }
+
+    public int getBlockZ() {
+        return blockZ;
+    }
+
+    /**
+     * The face of the hit block the ray entered through, or -1 if the ray started inside it.
+     */
+    public int getFace() {
+        return face;
+    }
+
+    public float getDistance() {
+        return distance;
+    }
+}
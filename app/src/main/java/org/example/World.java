@@ -0,0 +1,80 @@
+package org.example;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * All loaded chunks, addressed by integer block coordinates.
+ */
+public class World {
+    private final Map<Long, Chunk> chunks = new HashMap<>();
+
+    public static long chunkKey(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Packs section coordinates into one key: 26 bits each for x and z, 12 bits for y.
+     */
+    public static long sectionKey(int sectionX, int sectionY, int sectionZ) {
+        return ((long) (sectionX & 0x3FFFFFF) << 38) | ((long) (sectionZ & 0x3FFFFFF) << 12) | (sectionY & 0xFFF);
+    }
+
+    /**
+     * Packs block coordinates into one key: 26 bits each for x and z, 12 bits for y.
+     */
+    public static long blockKey(int x, int y, int z) {
+        return sectionKey(x, y, z);
+    }
+
+    public Chunk getChunk(int chunkX, int chunkZ) {
+        return chunks.get(chunkKey(chunkX, chunkZ));
+    }
+
+    public Chunk getOrCreateChunk(int chunkX, int chunkZ) {
+        return chunks.computeIfAbsent(chunkKey(chunkX, chunkZ), key -> new Chunk(chunkX, chunkZ));
+    }
+
+    /**
+     * Adds a fully built chunk, replacing any chunk already at its position.
+     */
+    public void putChunk(Chunk chunk) {
+        chunks.put(chunkKey(chunk.getChunkX(), chunk.getChunkZ()), chunk);
+    }
+
+    public Chunk removeChunk(int chunkX, int chunkZ) {
+        return chunks.remove(chunkKey(chunkX, chunkZ));
+    }
+
+    public Collection<Chunk> getChunks() {
+        return chunks.values();
+    }
+
+    public int getBlock(int x, int y, int z) {
+        Chunk chunk = getChunk(x >> 4, z >> 4);
+        if (chunk == null) {
+            return Blocks.AIR;
+        }
+        return chunk.getBlock(x & 15, y, z & 15);
+    }
+
+    /**
+     * Sets a block and returns the id that was there before. Placing a non-air block in an
+     * unloaded chunk creates that chunk.
+     */
+    public int setBlock(int x, int y, int z, int id) {
+        if (y < 0 || y >= Chunk.HEIGHT) {
+            return Blocks.AIR;
+        }
+        Chunk chunk = id == Blocks.AIR ? getChunk(x >> 4, z >> 4) : getOrCreateChunk(x >> 4, z >> 4);
+        if (chunk == null) {
+            return Blocks.AIR;
+        }
+        return chunk.setBlock(x & 15, y, z & 15, id);
+    }
+
+    public boolean isSolid(int x, int y, int z) {
+        return BlockRegistry.isSolid(getBlock(x, y, z));
+    }
+}
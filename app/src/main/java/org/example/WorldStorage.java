@@ -0,0 +1,210 @@
+package org.example;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Saved chunks of one world, kept in a directory of {@link RegionFile}s named
+ * {@code r.<regionX>.<regionZ>.region}. Only chunks that differ from what the generator
+ * produces need saving; everything else is generated again when it is next needed.
+ * Safe to use from any number of threads; calls are serialized on this object's monitor.
+ * <p>
+ * The codec chunks are saved with is chosen when the world is created and recorded in
+ * {@code world.properties}. Every chunk also records its own codec, so chunks saved with
+ * another codec still load.
+ * <p>
+ * A saved chunk that cannot be read back is never overwritten in place: {@link #setAside}
+ * moves its bytes to the {@value #CORRUPT_DIRECTORY} directory first.
+ */
+public class WorldStorage implements ChunkSource, AutoCloseable {
+    public static final String SETTINGS_FILE = "world.properties";
+    public static final ChunkCodec DEFAULT_CODEC = DeflateChunkCodec.INSTANCE;
+    public static final String CORRUPT_DIRECTORY = "corrupt";
+
+    private final Path directory;
+    private final ChunkCodec codec;
+    private final Map<Long, RegionFile> regions = new HashMap<>();
+    private long chunksSaved;
+    private long chunksLoaded;
+    private long bytesSaved;
+
+    public WorldStorage(Path directory) throws IOException {
+        this(directory, DEFAULT_CODEC);
+    }
+
+    /**
+     * Opens the world in the directory, creating it with the given codec if it is new.
+     * An existing world keeps the codec it was created with.
+     */
+    public WorldStorage(Path directory, ChunkCodec codecForNewWorld) throws IOException {
+        this.directory = Files.createDirectories(directory);
+        Path settingsPath = directory.resolve(SETTINGS_FILE);
+        Properties settings = new Properties();
+        if (Files.exists(settingsPath)) {
+            try (Reader reader = Files.newBufferedReader(settingsPath, StandardCharsets.UTF_8)) {
+                settings.load(reader);
+            }
+            try {
+                codec = ChunkCodec.create(settings.getProperty(ChunkCodec.PROPERTY, RawChunkCodec.INSTANCE.getName()));
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Invalid " + settingsPath, e);
+            }
+        } else {
+            codec = codecForNewWorld;
+            settings.setProperty(ChunkCodec.PROPERTY, codec.getName());
+            try (Writer writer = Files.newBufferedWriter(settingsPath, StandardCharsets.UTF_8)) {
+                settings.store(writer, null);
+            }
+        }
+    }
+
+    public ChunkCodec getCodec() {
+        return codec;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    private RegionFile region(int chunkX, int chunkZ, boolean create) throws IOException {
+        int regionX = Math.floorDiv(chunkX, RegionFile.SIZE);
+        int regionZ = Math.floorDiv(chunkZ, RegionFile.SIZE);
+        long key = World.chunkKey(regionX, regionZ);
+        RegionFile region = regions.get(key);
+        if (region == null) {
+            Path path = directory.resolve("r." + regionX + "." + regionZ + ".region");
+            if (!create && !Files.exists(path)) {
+                return null;
+            }
+            region = new RegionFile(path);
+            regions.put(key, region);
+        }
+        return region;
+    }
+
+    /**
+     * Writes the chunk durably and marks it unmodified.
+     *
+     * @return the number of bytes the chunk took
+     */
+    public synchronized int save(Chunk chunk) throws IOException {
+        ByteBuffer data = codec.encode(chunk);
+        int size = data.remaining();
+        region(chunk.getChunkX(), chunk.getChunkZ(), true)
+                .write(Math.floorMod(chunk.getChunkX(), RegionFile.SIZE), Math.floorMod(chunk.getChunkZ(), RegionFile.SIZE), data, codec.getId());
+        chunk.clearModified();
+        chunksSaved++;
+        bytesSaved += size;
+        return size;
+    }
+
+    /**
+     * Returns the saved chunk, or null if it was never saved.
+     *
+     * @throws IOException if the chunk was saved but cannot be read back
+     */
+    @Override
+    public synchronized Chunk load(int chunkX, int chunkZ) throws IOException {
+        RegionFile region = region(chunkX, chunkZ, false);
+        if (region == null) {
+            return null;
+        }
+        int localX = Math.floorMod(chunkX, RegionFile.SIZE);
+        int localZ = Math.floorMod(chunkZ, RegionFile.SIZE);
+        if (!region.contains(localX, localZ)) {
+            return null;
+        }
+        ByteBuffer data = region.read(localX, localZ);
+        if (data == null) {
+            throw new IOException("Chunk " + chunkX + ", " + chunkZ + " fails its checksum");
+        }
+        Chunk chunk;
+        try {
+            chunk = ChunkCodec.forId(region.getCodecId(localX, localZ)).decode(data);
+        } catch (IllegalArgumentException | BufferUnderflowException e) {
+            throw new IOException("Chunk " + chunkX + ", " + chunkZ + " is corrupt", e);
+        }
+        if (chunk.getChunkX() != chunkX || chunk.getChunkZ() != chunkZ) {
+            throw new IOException("Chunk " + chunkX + ", " + chunkZ + " holds chunk " + chunk.getChunkX() + ", " + chunk.getChunkZ());
+        }
+        chunksLoaded++;
+        return chunk;
+    }
+
+    /**
+     * Moves a saved chunk out of its region file into
+     * {@code corrupt/c.<chunkX>.<chunkZ>.<codecId>.<millis>.bin}, payload bytes as stored.
+     * The copy is on disk before the chunk is dropped from the region file.
+     */
+    @Override
+    public synchronized Path setAside(int chunkX, int chunkZ) throws IOException {
+        RegionFile region = region(chunkX, chunkZ, false);
+        if (region == null) {
+            return null;
+        }
+        int localX = Math.floorMod(chunkX, RegionFile.SIZE);
+        int localZ = Math.floorMod(chunkZ, RegionFile.SIZE);
+        ByteBuffer data = region.readUnchecked(localX, localZ);
+        if (data == null) {
+            return null;
+        }
+        Path corrupt = Files.createDirectories(directory.resolve(CORRUPT_DIRECTORY));
+        Path path = corrupt.resolve("c." + chunkX + "." + chunkZ + "." + region.getCodecId(localX, localZ) + "."
+                + System.currentTimeMillis() + ".bin");
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            while (data.hasRemaining()) {
+                channel.write(data);
+            }
+            channel.force(true);
+        }
+        region.remove(localX, localZ);
+        return path;
+    }
+
+    public synchronized long getChunksSaved() {
+        return chunksSaved;
+    }
+
+    public synchronized long getChunksLoaded() {
+        return chunksLoaded;
+    }
+
+    public synchronized long getBytesSaved() {
+        return bytesSaved;
+    }
+
+    public synchronized int getOpenRegionCount() {
+        return regions.size();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        IOException failure = null;
+        for (RegionFile region : regions.values()) {
+            try {
+                region.close();
+            } catch (IOException e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        regions.clear();
+        if (failure != null) {
+            throw failure;
+        }
+    }
+}
@@ -1,12 +1,14 @@
 #version 330 core
-in vec3 ourColor;
+in float Shade;
 in vec2 TexCoord;
+flat in uint Layer;
 
 out vec4 FragColor;
 
-uniform sampler2D ourTexture;
+uniform sampler2DArray blockTextures;
 
 void main()
 {
-    FragColor = texture(ourTexture, TexCoord);
+    vec4 color = texture(blockTextures, vec3(TexCoord, float(Layer)));
+    FragColor = vec4(color.rgb * Shade, color.a);
 }
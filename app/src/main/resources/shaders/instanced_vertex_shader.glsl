@@ -0,0 +1,28 @@
+#version 330 core
+layout(location = 0) in vec3 aPos;
+layout(location = 1) in vec3 aNormal;
+layout(location = 2) in vec2 aTexCoord;
+layout(location = 3) in vec3 aOffset;
+
+out float Shade;
+out vec2 TexCoord;
+flat out uint Layer;
+
+uniform mat4 view;
+uniform mat4 projection;
+// Texture array layer of each face, in BlockFace order
+uniform int faceLayers[6];
+
+const float FACE_SHADE[6] = float[](0.8, 0.8, 1.0, 0.5, 0.6, 0.6);
+
+void main()
+{
+    // BlockFace numbering: +x, -x, +y, -y, +z, -z
+    vec3 n = aNormal;
+    int face = n.x != 0.0 ? (n.x > 0.0 ? 0 : 1) : n.y != 0.0 ? (n.y > 0.0 ? 2 : 3) : (n.z > 0.0 ? 4 : 5);
+
+    gl_Position = projection * view * vec4(aPos + aOffset, 1.0);
+    Shade = FACE_SHADE[face];
+    TexCoord = aTexCoord;
+    Layer = uint(faceLayers[face]);
+}
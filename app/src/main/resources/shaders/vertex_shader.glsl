@@ -1,18 +1,35 @@
 #version 330 core
-layout(location = 0) in vec3 aPos;
-layout(location = 1) in vec3 aColor;
-layout(location = 2) in vec2 aTexCoord;
+// Packed chunk vertex, see PackedVertex.java for the bit layout
+layout(location = 0) in uint aData;
+// Section origin, one per draw
+layout(location = 1) in vec3 aOrigin;
 
-out vec3 ourColor;
+out float Shade;
 out vec2 TexCoord;
+flat out uint Layer;
 
-uniform mat4 model;
 uniform mat4 view;
 uniform mat4 projection;
 
+const float FACE_SHADE[6] = float[](0.8, 0.8, 1.0, 0.5, 0.6, 0.6);
+
 void main()
 {
-    gl_Position = projection * view * model * vec4(aPos, 1.0);
-    ourColor = aColor;
-    TexCoord = aTexCoord;
+    vec3 pos = vec3(aData & 31u, (aData >> 5) & 31u, (aData >> 10) & 31u);
+    uint face = (aData >> 15) & 7u;
+    uint ao = (aData >> 18) & 3u;
+    uint axis = face >> 1;
+
+    // Textures repeat once per block, with v running down the block's sides
+    if (axis == 0u) {
+        TexCoord = vec2(pos.z, -pos.y);
+    } else if (axis == 1u) {
+        TexCoord = pos.xz;
+    } else {
+        TexCoord = vec2(pos.x, -pos.y);
+    }
+
+    gl_Position = projection * view * vec4(aOrigin + pos, 1.0);
+    Shade = FACE_SHADE[face] * (0.5 + float(ao) / 6.0);
+    Layer = aData >> 20;
 }
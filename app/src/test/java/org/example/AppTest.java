@@ -3,6 +3,9 @@ package org.example;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class AppTest {
     @Test 
@@ -12,4 +15,142 @@ class AppTest {
             app.run();
         }, "App should run without throwing exceptions");
     }
+
+    private static ChunkMesh greedyMesh(World world, int sectionX, int sectionY, int sectionZ) {
+        return new GreedyMesher().mesh(PaddedSection.capture(world, sectionX, sectionY, sectionZ));
+    }
+
+    private static void fill(World world, int x0, int y0, int z0, int x1, int y1, int z1, int id) {
+        for (int y = y0; y < y1; y++) {
+            for (int z = z0; z < z1; z++) {
+                for (int x = x0; x < x1; x++) {
+                    world.setBlock(x, y, z, id);
+                }
+            }
+        }
+    }
+
+    @Test
+    void singleBlockHasSixQuads() {
+        World world = new World();
+        world.setBlock(3, 3, 3, Blocks.GRASS);
+        ChunkMesh mesh = greedyMesh(world, 0, 0, 0);
+        assertEquals(6, mesh.getQuadCount());
+        assertEquals(12, mesh.getTriangleCount());
+        assertEquals(24, mesh.getVertexCount());
+        assertEquals(36, mesh.getIndexCount());
+    }
+
+    @Test
+    void solidSectionMergesIntoOneQuadPerFace() {
+        World world = new World();
+        fill(world, 0, 0, 0, 16, 16, 16, Blocks.GRASS);
+        ChunkMesh mesh = greedyMesh(world, 0, 0, 0);
+        assertEquals(6, mesh.getQuadCount());
+        for (int q = 0; q < mesh.getQuadCount(); q++) {
+            assertEquals(16, mesh.getQuad(q, ChunkMesh.QUAD_WIDTH));
+            assertEquals(16, mesh.getQuad(q, ChunkMesh.QUAD_HEIGHT));
+        }
+    }
+
+    @Test
+    void differentBlocksAreNotMerged() {
+        World world = new World();
+        fill(world, 0, 0, 0, 8, 1, 16, Blocks.GRASS);
+        fill(world, 8, 0, 0, 16, 1, 16, 2);
+        ChunkMesh mesh = greedyMesh(world, 0, 0, 0);
+        // Top and bottom split in two, the two inner side faces touch and are hidden
+        assertEquals(2 + 2 + 1 + 1 + 2 + 2, mesh.getQuadCount());
+    }
+
+    @Test
+    void checkerboardCannotMerge() {
+        World world = new World();
+        for (int z = 0; z < 16; z++) {
+            for (int x = 0; x < 16; x++) {
+                if (((x + z) & 1) == 0) {
+                    world.setBlock(x, 0, z, Blocks.GRASS);
+                }
+            }
+        }
+        ChunkMesh mesh = greedyMesh(world, 0, 0, 0);
+        assertEquals(128 * 6, mesh.getQuadCount());
+    }
+
+    @Test
+    void facesAgainstNeighbourChunkAreHidden() {
+        World world = new World();
+        fill(world, 0, 0, 0, 32, 1, 1, Blocks.GRASS);
+        ChunkMesh left = greedyMesh(world, 0, 0, 0);
+        ChunkMesh right = greedyMesh(world, 1, 0, 0);
+        // Top, bottom, north and south strips plus one end cap each
+        assertEquals(5, left.getQuadCount());
+        assertEquals(5, right.getQuadCount());
+    }
+
+    @Test
+    void verticesMatchQuadCount() {
+        World world = new World();
+        world.setBlock(0, 0, 0, Blocks.GRASS);
+        ChunkMesh mesh = greedyMesh(world, 0, 0, 0);
+        int[] vertices = mesh.buildVertices();
+        assertEquals(mesh.getVertexCount(), vertices.length);
+        for (int vertex : vertices) {
+            assertTrue(PackedVertex.x(vertex) <= 1 && PackedVertex.y(vertex) <= 1 && PackedVertex.z(vertex) <= 1);
+        }
+    }
+
+    private static int faceArea(ChunkMesh mesh) {
+        int area = 0;
+        for (int q = 0; q < mesh.getQuadCount(); q++) {
+            area += mesh.getQuad(q, ChunkMesh.QUAD_WIDTH) * mesh.getQuad(q, ChunkMesh.QUAD_HEIGHT);
+        }
+        return area;
+    }
+
+    @Test
+    void culledMesherDropsOnlyHiddenFaces() {
+        World world = new World();
+        fill(world, 0, 0, 0, 16, 16, 16, Blocks.GRASS);
+        ChunkMesh mesh = new CulledMesher().mesh(PaddedSection.capture(world, 0, 0, 0));
+        assertEquals(6 * 16 * 16, mesh.getQuadCount());
+    }
+
+    @Test
+    void culledMesherLooksAcrossChunkBorders() {
+        World world = new World();
+        world.setBlock(15, 0, 0, Blocks.GRASS);
+        world.setBlock(16, 0, 0, Blocks.GRASS);
+        world.setBlock(15, 16, 0, Blocks.GRASS);
+        world.setBlock(15, 15, 0, Blocks.GRASS);
+        Mesher mesher = new CulledMesher();
+        assertEquals(10, mesher.mesh(PaddedSection.capture(world, 0, 0, 0)).getQuadCount());
+        assertEquals(5, mesher.mesh(PaddedSection.capture(world, 1, 0, 0)).getQuadCount());
+        assertEquals(5, mesher.mesh(PaddedSection.capture(world, 0, 1, 0)).getQuadCount());
+    }
+
+    @Test
+    void meshersCoverTheSameFaces() {
+        World world = new World();
+        for (int x = -8; x < 24; x++) {
+            for (int z = -8; z < 24; z++) {
+                int height = 4 + Math.floorMod(x * 7 + z * 13, 20);
+                fill(world, x, 0, z, x + 1, height, z + 1, 1 + Math.floorMod(x + z, 3));
+            }
+        }
+        Mesher greedy = Mesher.create("greedy");
+        Mesher culled = Mesher.create("culled");
+        for (int sectionY = 0; sectionY < 2; sectionY++) {
+            PaddedSection section = PaddedSection.capture(world, 0, sectionY, 0);
+            ChunkMesh greedyMesh = greedy.mesh(section);
+            ChunkMesh culledMesh = culled.mesh(section);
+            assertEquals(culledMesh.getQuadCount(), faceArea(greedyMesh));
+            assertTrue(greedyMesh.getQuadCount() <= culledMesh.getQuadCount());
+        }
+    }
+
+    @Test
+    void unknownMesherIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> Mesher.create("marching-cubes"));
+    }
 }
@@ -0,0 +1,162 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ArenaAllocatorTest {
+    @Test
+    void allocatesFirstFit() {
+        ArenaAllocator arena = new ArenaAllocator(100);
+        int a = arena.allocate(10);
+        int b = arena.allocate(20);
+        int c = arena.allocate(10);
+        assertEquals(0, arena.getOffset(a));
+        assertEquals(10, arena.getOffset(b));
+        assertEquals(30, arena.getOffset(c));
+
+        arena.free(b);
+        // The hole left by b comes first and is large enough
+        int d = arena.allocate(15);
+        assertEquals(10, arena.getOffset(d));
+        assertEquals(-1, arena.allocate(61));
+        assertEquals(35, arena.getUsed());
+    }
+
+    @Test
+    void freeCoalescesWithBothNeighbours() {
+        ArenaAllocator arena = new ArenaAllocator(30);
+        int a = arena.allocate(10);
+        int b = arena.allocate(10);
+        int c = arena.allocate(10);
+        arena.free(a);
+        arena.free(c);
+        assertEquals(2, arena.getFreeRegionCount());
+
+        arena.free(b);
+        assertEquals(1, arena.getFreeRegionCount());
+        assertArrayEquals(new int[]{0, 30}, arena.freeRegions());
+        assertEquals(0, arena.getAllocationCount());
+    }
+
+    @Test
+    void reportsFragmentation() {
+        ArenaAllocator arena = new ArenaAllocator(40);
+        int[] handles = new int[4];
+        for (int i = 0; i < handles.length; i++) {
+            handles[i] = arena.allocate(10);
+        }
+        assertEquals(0.0f, arena.getFragmentation());
+
+        arena.free(handles[0]);
+        arena.free(handles[2]);
+        assertEquals(20, arena.getFree());
+        assertEquals(10, arena.getLargestFree());
+        assertEquals(0.5f, arena.getFragmentation());
+        assertEquals(-1, arena.allocate(20));
+    }
+
+    @Test
+    void compactStepStaysWithinBudgetAndConverges() {
+        ArenaAllocator arena = new ArenaAllocator(64);
+        int[] memory = new int[64];
+        int[] handles = new int[8];
+        for (int i = 0; i < handles.length; i++) {
+            handles[i] = arena.allocate(8);
+            Arrays.fill(memory, arena.getOffset(handles[i]), arena.getOffset(handles[i]) + 8, i);
+        }
+        for (int i = 0; i < handles.length; i += 2) {
+            arena.free(handles[i]);
+        }
+        ArenaAllocator.Mover mover = (handle, oldOffset, newOffset, size) -> {
+            // Source and destination never overlap, so one buffer can copy onto itself
+            assertTrue(newOffset + size <= oldOffset);
+            System.arraycopy(memory, oldOffset, memory, newOffset, size);
+        };
+
+        assertEquals(8, arena.compactStep(12, mover));
+        assertFalse(arena.isCompact());
+        int steps = 1;
+        while (arena.compactStep(8, mover) > 0) {
+            steps++;
+        }
+        assertTrue(arena.isCompact());
+        assertEquals(0.0f, arena.getFragmentation());
+        assertTrue(steps <= 4);
+        for (int i = 1; i < handles.length; i += 2) {
+            assertTrue(arena.getOffset(handles[i]) < 32);
+            assertEquals(i, memory[arena.getOffset(handles[i])]);
+            assertEquals(i, memory[arena.getOffset(handles[i]) + 7]);
+        }
+    }
+
+    @Test
+    void compactStepMovesOneOversizedAllocation() {
+        ArenaAllocator arena = new ArenaAllocator(30);
+        int a = arena.allocate(10);
+        int b = arena.allocate(10);
+        arena.free(a);
+        assertEquals(10, arena.compactStep(1, (handle, oldOffset, newOffset, size) -> { }));
+        assertEquals(0, arena.getOffset(b));
+        assertEquals(0, arena.compactStep(1, (handle, oldOffset, newOffset, size) -> { }));
+    }
+
+    @Test
+    void rejectsDoubleFree() {
+        ArenaAllocator arena = new ArenaAllocator(10);
+        int handle = arena.allocate(5);
+        arena.free(handle);
+        assertThrows(IllegalArgumentException.class, () -> arena.free(handle));
+    }
+
+    @Test
+    void randomChurnKeepsBookkeepingConsistent() {
+        ArenaAllocator arena = new ArenaAllocator(4096);
+        Random random = new Random(12);
+        int[] live = new int[256];
+        int liveCount = 0;
+        for (int step = 0; step < 10_000; step++) {
+            if (liveCount > 0 && (liveCount == live.length || random.nextBoolean())) {
+                int slot = random.nextInt(liveCount);
+                arena.free(live[slot]);
+                live[slot] = live[--liveCount];
+            } else {
+                int handle = arena.allocate(1 + random.nextInt(40));
+                if (handle >= 0) {
+                    live[liveCount++] = handle;
+                }
+            }
+
+            if (step % 16 == 0) {
+                arena.compactStep(64, (handle, oldOffset, newOffset, size) -> assertTrue(newOffset + size <= oldOffset));
+            }
+
+            int used = 0;
+            int[] owner = new int[arena.getCapacity()];
+            for (int i = 0; i < liveCount; i++) {
+                used += arena.getSize(live[i]);
+                // Allocations never overlap, compacted or not
+                for (int unit = arena.getOffset(live[i]); unit < arena.getOffset(live[i]) + arena.getSize(live[i]); unit++) {
+                    assertEquals(0, owner[unit]);
+                    owner[unit] = 1;
+                }
+            }
+            assertEquals(used, arena.getUsed());
+            int[] regions = arena.freeRegions();
+            int free = 0;
+            for (int i = 0; i < regions.length; i += 2) {
+                // Adjacent free regions would have been merged
+                assertTrue(i == 0 || regions[i - 2] + regions[i - 1] < regions[i]);
+                free += regions[i + 1];
+            }
+            assertEquals(arena.getFree(), free);
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.example.TestSupport.deleteRecursively;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AutoSaverTest {
+    @Test
+    void snapshotSharesSectionsUntilTheChunkChanges() {
+        Chunk chunk = RegionFileTest.versionedChunk(2, -1, 5);
+        chunk.clearModified();
+        chunk.setBlock(1, 100, 1, Blocks.STONE);
+        chunk.setBlock(1, 20, 1, Blocks.AIR);
+        assertEquals((1 << 6) | (1 << 1), chunk.getDirtySections());
+
+        Chunk snapshot = chunk.snapshot();
+        assertFalse(chunk.isModified());
+        assertEquals((1 << 6) | (1 << 1), snapshot.getDirtySections());
+        for (int sectionY = 0; sectionY < Chunk.SECTION_COUNT; sectionY++) {
+            assertSame(chunk.getSection(sectionY), snapshot.getSection(sectionY));
+        }
+
+        // Writing the same id again changes nothing, so nothing is copied
+        chunk.setBlock(1, 100, 1, Blocks.STONE);
+        assertSame(chunk.getSection(6), snapshot.getSection(6));
+        assertFalse(chunk.isModified());
+
+        chunk.setBlock(1, 100, 1, Blocks.GRASS);
+        chunk.setBlock(3, 250, 3, Blocks.DIRT);
+        assertNotSame(chunk.getSection(6), snapshot.getSection(6));
+        assertSame(chunk.getSection(1), snapshot.getSection(1));
+        assertEquals(Blocks.STONE, snapshot.getBlock(1, 100, 1));
+        assertEquals(Blocks.AIR, snapshot.getBlock(3, 250, 3));
+        assertEquals(Blocks.GRASS, chunk.getBlock(1, 100, 1));
+        assertEquals((1 << 6) | (1 << 15), chunk.getDirtySections());
+
+        // A second snapshot taken while the first is still around shares the copies
+        Chunk second = chunk.snapshot();
+        chunk.setBlock(1, 100, 1, Blocks.AIR);
+        assertEquals(Blocks.GRASS, second.getBlock(1, 100, 1));
+        assertEquals(Blocks.STONE, snapshot.getBlock(1, 100, 1));
+        ChunkSection shared = second.getSection(0);
+        chunk.compact();
+        assertSame(shared, second.getSection(0));
+        assertNotSame(shared, chunk.getSection(0));
+    }
+
+    @Test
+    void cycleSavesSnapshotsAndCheckpointsTheJournal() throws IOException {
+        Path directory = Files.createTempDirectory("autosave-test");
+        TerrainGenerator generator = new TerrainGenerator(4);
+        World world = new World();
+        for (int i = 0; i < 9; i++) {
+            world.putChunk(generator.generate(i % 3, i / 3));
+        }
+        try (WorldStorage storage = new WorldStorage(directory);
+             EditJournal journal = new EditJournal(directory.resolve("edits.journal"), 0)) {
+            AutoSaver saver = new AutoSaver(storage, journal);
+            for (int i = 0; i < 4; i++) {
+                journal.append(i * 16, 200, 5, world.setBlock(i * 16, 200, 5, Blocks.STONE), Blocks.STONE);
+            }
+            assertTrue(saver.start(world));
+            // Edits after the snapshot belong to the next cycle
+            journal.append(0, 201, 5, world.setBlock(0, 201, 5, Blocks.DIRT), Blocks.DIRT);
+            saver.saveAll(world);
+
+            assertEquals(2, saver.getCycles());
+            assertEquals(1, saver.getChunksWritten());
+            assertTrue(saver.getBytesWritten() > 0);
+            assertEquals(0, journal.getFileBytes());
+            Chunk saved = storage.load(0, 0);
+            assertEquals(Blocks.STONE, saved.getBlock(0, 200, 5));
+            assertEquals(Blocks.DIRT, saved.getBlock(0, 201, 5));
+            assertEquals(Blocks.STONE, storage.load(2, 0).getBlock(0, 200, 5));
+            assertNull(storage.load(1, 1));
+            for (Chunk chunk : world.getChunks()) {
+                assertFalse(chunk.isModified());
+            }
+            assertFalse(saver.start(world));
+            saver.close();
+        } finally {
+            deleteRecursively(directory);
+        }
+    }
+
+    @Test
+    void unloadedChunksAreReadBackUntilWritten() throws IOException {
+        Path directory = Files.createTempDirectory("autosave-test");
+        World world = new World();
+        for (int i = 0; i < 64; i++) {
+            world.putChunk(RegionFileTest.versionedChunk(i, 0, i));
+        }
+        try (WorldStorage storage = new WorldStorage(directory)) {
+            AutoSaver saver = new AutoSaver(storage, null);
+            assertNull(saver.load(63, 0));
+            assertTrue(saver.start(world));
+            // Unloaded while the cycle runs: the newer snapshot wins whichever is written first
+            Chunk last = world.removeChunk(63, 0);
+            last.setBlock(0, 0, 0, Blocks.DIRT);
+            saver.enqueue(last);
+            Chunk loaded = saver.load(63, 0);
+            assertEquals(Blocks.DIRT, loaded.getBlock(0, 0, 0));
+            assertFalse(loaded.isModified());
+            // Changing the loaded copy leaves the snapshot alone
+            loaded.setBlock(0, 0, 0, Blocks.STONE);
+            assertEquals(Blocks.DIRT, saver.load(63, 0).getBlock(0, 0, 0));
+            saver.saveAll(world);
+            saver.close();
+            assertEquals(Blocks.DIRT, storage.load(63, 0).getBlock(0, 0, 0));
+            assertEquals(Blocks.DIRT, saver.load(63, 0).getBlock(0, 0, 0));
+            assertEquals(1000 + 62, storage.load(62, 0).getBlock(0, Chunk.HEIGHT - 1, 0));
+        } finally {
+            deleteRecursively(directory);
+        }
+    }
+
+    @Test
+    void failedUnloadSavesKeepTheJournalAndAreRetried() throws IOException {
+        Path directory = Files.createTempDirectory("autosave-test");
+        Path journalDirectory = Files.createTempDirectory("autosave-test");
+        Path moved = journalDirectory.resolve("world");
+        World world = new World();
+        try (WorldStorage storage = new WorldStorage(directory);
+             EditJournal journal = new EditJournal(journalDirectory.resolve("edits.journal"), 0)) {
+            AutoSaver saver = new AutoSaver(storage, journal);
+            Chunk chunk = RegionFileTest.versionedChunk(5, 5, 1);
+            chunk.clearModified();
+            journal.append(80, 0, 80, chunk.setBlock(0, 0, 0, Blocks.DIRT), Blocks.DIRT);
+
+            // No region file can be created while the world directory is a file
+            Files.move(directory, moved);
+            Files.createFile(directory);
+            saver.enqueue(chunk);
+            assertTrue(saver.start(world));
+            saver.saveAll(world);
+            assertEquals(EditJournal.RECORD_BYTES, journal.getFileBytes());
+            assertEquals(Blocks.DIRT, saver.load(5, 5).getBlock(0, 0, 0));
+
+            Files.delete(directory);
+            Files.move(moved, directory);
+            saver.saveAll(world);
+            saver.close();
+            assertEquals(0, journal.getFileBytes());
+            assertEquals(Blocks.DIRT, storage.load(5, 5).getBlock(0, 0, 0));
+        } finally {
+            deleteRecursively(directory);
+            deleteRecursively(journalDirectory);
+        }
+    }
+
+    @Test
+    void failedJournalStillSavesAndIsStartedOver() throws IOException {
+        Path directory = Files.createTempDirectory("autosave-test");
+        Path journalPath = directory.resolve("edits.journal");
+        World world = new World();
+        Chunk chunk = RegionFileTest.versionedChunk(0, 0, 1);
+        chunk.clearModified();
+        world.putChunk(chunk);
+        try (WorldStorage storage = new WorldStorage(directory);
+             EditJournal journal = new EditJournal(journalPath, 0)) {
+            AutoSaver saver = new AutoSaver(storage, journal);
+            journal.append(0, 0, 0, world.setBlock(0, 0, 0, Blocks.DIRT), Blocks.DIRT);
+            // An interrupted write closes the journal's channel, and the journal stops writing
+            Thread.currentThread().interrupt();
+            assertThrows(IOException.class, journal::flush);
+            Thread.interrupted();
+            assertTrue(journal.isFailed());
+            journal.append(1, 0, 0, world.setBlock(1, 0, 0, Blocks.STONE), Blocks.STONE);
+            assertThrows(IOException.class, journal::flush);
+
+            saver.saveAll(world);
+            assertEquals(1, saver.getJournalRestarts());
+            assertFalse(journal.isFailed());
+            assertEquals(0, journal.getFileBytes());
+            Chunk saved = storage.load(0, 0);
+            assertEquals(Blocks.DIRT, saved.getBlock(0, 0, 0));
+            assertEquals(Blocks.STONE, saved.getBlock(1, 0, 0));
+
+            // The journal works again, and a replay only sees the edits made since
+            journal.append(2, 0, 0, world.setBlock(2, 0, 0, Blocks.GRASS), Blocks.GRASS);
+            journal.flush();
+            assertEquals(EditJournal.RECORD_BYTES, journal.getFileBytes());
+            List<Long> replayed = new ArrayList<>();
+            EditJournal.replay(journalPath, (sequence, x, y, z, oldId, newId) -> replayed.add(sequence));
+            assertEquals(List.of(2L), replayed);
+            saver.close();
+        } finally {
+            deleteRecursively(directory);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package org.example;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * Compares what saving every loaded chunk costs the render thread: writing them all
+ * directly, against the {@link AutoSaver}, where the frame only takes snapshots and the
+ * writing happens in the background.
+ * Run with {@code ./gradlew benchmark -Pbenchmark=org.example.AutosaveBenchmark}.
+ */
+public class AutosaveBenchmark {
+    // A view distance of 8 keeps this many chunks loaded
+    private static final int RADIUS = 8;
+    private static final int ROUNDS = 10;
+
+    public static void main(String[] args) throws IOException {
+        TerrainGenerator generator = new TerrainGenerator();
+        World world = new World();
+        for (int z = -RADIUS; z <= RADIUS; z++) {
+            for (int x = -RADIUS; x <= RADIUS; x++) {
+                world.putChunk(generator.generate(x, z));
+            }
+        }
+        int chunkCount = world.getChunks().size();
+        Path directory = Files.createTempDirectory("autosave-benchmark");
+        try (WorldStorage storage = new WorldStorage(directory)) {
+            AutoSaver saver = new AutoSaver(storage, null);
+            for (int round = 0; round < ROUNDS; round++) {
+                touchEveryChunk(world, round, Blocks.STONE);
+                long start = System.nanoTime();
+                for (Chunk chunk : world.getChunks()) {
+                    storage.save(chunk);
+                }
+                double directMillis = (System.nanoTime() - start) / 1e6;
+
+                touchEveryChunk(world, round, Blocks.DIRT);
+                saver.start(world);
+                double snapshotMicros = saver.getSnapshotNanos() / 1e3;
+                saver.saveAll(world);
+                System.out.printf("%d chunks: direct save %.1f ms on the render thread; autosave snapshots %.1f us, background cycle %.1f ms, %d KB%n",
+                        chunkCount, directMillis, snapshotMicros, saver.getDurationNanos() / 1e6,
+                        saver.getBytesWritten() >> 10);
+            }
+            saver.close();
+        } finally {
+            try (Stream<Path> paths = Files.walk(directory)) {
+                for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                    Files.delete(path);
+                }
+            }
+        }
+    }
+
+    private static void touchEveryChunk(World world, int round, int id) {
+        for (Chunk chunk : world.getChunks()) {
+            chunk.setBlock(round, Chunk.HEIGHT - 1, 0, id);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BlockRegistryTest {
+    @Test
+    void airIsNeitherOpaqueNorSolid() {
+        assertFalse(BlockRegistry.isOpaque(Blocks.AIR));
+        assertFalse(BlockRegistry.isSolid(Blocks.AIR));
+        for (int id : new int[]{Blocks.GRASS, Blocks.DIRT, Blocks.STONE}) {
+            assertTrue(BlockRegistry.isRegistered(id));
+            assertTrue(BlockRegistry.isOpaque(id));
+            assertTrue(BlockRegistry.isSolid(id));
+            assertEquals(0, BlockRegistry.getEmission(id));
+        }
+        assertFalse(BlockRegistry.isRegistered(BlockRegistry.MAX_BLOCKS - 1));
+    }
+
+    @Test
+    void grassFacesUseTheirOwnLayers() {
+        int side = BlockRegistry.textureLayer(Blocks.GRASS, BlockFace.EAST);
+        int top = BlockRegistry.textureLayer(Blocks.GRASS, BlockFace.UP);
+        int bottom = BlockRegistry.textureLayer(Blocks.GRASS, BlockFace.DOWN);
+        assertEquals(side, BlockRegistry.textureLayer(Blocks.GRASS, BlockFace.NORTH));
+        assertEquals("grass_block_side", BlockRegistry.getTextureName(side));
+        assertEquals("grass_block_top", BlockRegistry.getTextureName(top));
+        assertEquals("grass_block_bottom", BlockRegistry.getTextureName(bottom));
+        // Dirt shares the texture under grass rather than adding a layer
+        assertEquals(bottom, BlockRegistry.textureLayer(Blocks.DIRT, BlockFace.UP));
+    }
+
+    @Test
+    void terrainIsGrassOverDirtOverStone() {
+        Chunk chunk = new TerrainGenerator().generate(0, 0);
+        for (int z = 0; z < Chunk.SIZE; z++) {
+            for (int x = 0; x < Chunk.SIZE; x++) {
+                int height = 0;
+                while (chunk.getBlock(x, height, z) != Blocks.AIR) {
+                    height++;
+                }
+                for (int y = 0; y < height; y++) {
+                    int expected = y == height - 1 ? Blocks.GRASS
+                            : y >= height - 1 - TerrainGenerator.DIRT_DEPTH ? Blocks.DIRT : Blocks.STONE;
+                    assertEquals(expected, chunk.getBlock(x, y, z));
+                }
+            }
+        }
+    }
+
+    @Test
+    void meshersSkipFacesBehindOpaqueBlocks() {
+        World world = new World();
+        world.setBlock(4, 4, 4, Blocks.STONE);
+        world.setBlock(5, 4, 4, Blocks.DIRT);
+        ChunkMesh mesh = new CulledMesher().mesh(PaddedSection.capture(world, 0, 0, 0));
+        assertEquals(10, mesh.getQuadCount());
+    }
+}
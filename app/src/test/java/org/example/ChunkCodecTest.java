@@ -0,0 +1,101 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.example.TestSupport.assertSameBlocks;
+import static org.example.TestSupport.deleteRecursively;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ChunkCodecTest {
+    private static final ChunkCodec[] CODECS = {
+            RawChunkCodec.INSTANCE,
+            RleChunkCodec.INSTANCE,
+            DeflateChunkCodec.INSTANCE,
+    };
+
+    @Test
+    void everyCodecRoundTripsChunks() {
+        Chunk generated = new TerrainGenerator(5).generate(-70, 12);
+        generated.setBlock(4, 100, 4, Blocks.STONE);
+        Chunk empty = new Chunk(3, -3);
+        for (ChunkCodec codec : CODECS) {
+            assertSame(codec, ChunkCodec.create(codec.getName()));
+            assertSame(codec, ChunkCodec.forId(codec.getId()));
+            for (Chunk chunk : new Chunk[]{generated, empty, RegionFileTest.versionedChunk(-1, 40, 7),
+                    RegionFileTest.versionedChunk(9, 9, 123)}) {
+                ByteBuffer encoded = codec.encode(chunk);
+                int position = encoded.position();
+                Chunk decoded = codec.decode(encoded);
+                assertEquals(position, encoded.position(), codec.getName());
+                assertFalse(decoded.isModified());
+                assertSameBlocks(chunk, decoded);
+            }
+        }
+    }
+
+    @Test
+    void rleCollapsesUniformLayers() {
+        Chunk chunk = new Chunk(0, 0);
+        for (int y = 0; y < 24; y++) {
+            for (int z = 0; z < Chunk.SIZE; z++) {
+                for (int x = 0; x < Chunk.SIZE; x++) {
+                    chunk.setBlock(x, y, z, y < 23 ? Blocks.STONE : Blocks.GRASS);
+                }
+            }
+        }
+        chunk.compact();
+        int rle = RleChunkCodec.INSTANCE.encode(chunk).remaining();
+        assertTrue(rle < 32, "RLE took " + rle + " bytes");
+        assertTrue(rle < RawChunkCodec.INSTANCE.encode(chunk).remaining());
+        assertSameBlocks(chunk, RleChunkCodec.INSTANCE.decode(RleChunkCodec.INSTANCE.encode(chunk)));
+    }
+
+    @Test
+    void truncatedDataIsRejected() {
+        Chunk chunk = new TerrainGenerator().generate(1, 1);
+        for (ChunkCodec codec : CODECS) {
+            ByteBuffer encoded = codec.encode(chunk);
+            ByteBuffer truncated = encoded.duplicate().limit(encoded.limit() - 7);
+            RuntimeException failure = assertThrows(RuntimeException.class, () -> codec.decode(truncated), codec.getName());
+            assertTrue(failure instanceof IllegalArgumentException || failure instanceof BufferUnderflowException,
+                    codec.getName() + " threw " + failure);
+        }
+        assertThrows(IllegalArgumentException.class, () -> ChunkCodec.create("zstd"));
+        assertThrows(IllegalArgumentException.class, () -> ChunkCodec.forId(99));
+    }
+
+    @Test
+    void worldKeepsItsCodecAndReadsChunksSavedWithOthers() throws IOException {
+        Path directory = Files.createTempDirectory("codec-test");
+        try {
+            Chunk first = RegionFileTest.versionedChunk(0, 0, 1);
+            Chunk second = RegionFileTest.versionedChunk(1, 0, 2);
+            try (WorldStorage storage = new WorldStorage(directory, RleChunkCodec.INSTANCE)) {
+                storage.save(first);
+            }
+            // Reopened asking for another codec: the world was created with RLE and stays so
+            try (WorldStorage storage = new WorldStorage(directory, RawChunkCodec.INSTANCE)) {
+                assertSame(RleChunkCodec.INSTANCE, storage.getCodec());
+            }
+            Files.writeString(directory.resolve(WorldStorage.SETTINGS_FILE), "codec=deflate\n");
+            try (WorldStorage storage = new WorldStorage(directory)) {
+                assertSame(DeflateChunkCodec.INSTANCE, storage.getCodec());
+                storage.save(second);
+                assertSameBlocks(first, storage.load(0, 0));
+                assertSameBlocks(second, storage.load(1, 0));
+            }
+        } finally {
+            deleteRecursively(directory);
+        }
+    }
+}
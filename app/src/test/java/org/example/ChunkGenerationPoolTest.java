@@ -0,0 +1,168 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.example.TestSupport.deleteRecursively;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ChunkGenerationPoolTest {
+    @Test
+    void generatesRequestedChunksInParallel() throws InterruptedException {
+        TerrainGenerator generator = new TerrainGenerator();
+        List<Chunk> chunks = new ArrayList<>();
+        try (ChunkGenerationPool pool = new ChunkGenerationPool(generator, 4)) {
+            for (int x = -3; x <= 3; x++) {
+                for (int z = -3; z <= 3; z++) {
+                    assertTrue(pool.request(x, z));
+                }
+            }
+            assertFalse(pool.request(0, 0));
+
+            long deadline = System.nanoTime() + 10_000_000_000L;
+            while (pool.getPendingCount() > 0 && System.nanoTime() < deadline) {
+                pool.drain(chunks::add, Integer.MAX_VALUE);
+                Thread.sleep(1);
+            }
+        }
+        assertEquals(49, chunks.size());
+
+        TerrainGenerator reference = new TerrainGenerator();
+        for (Chunk chunk : chunks) {
+            Chunk expected = reference.generate(chunk.getChunkX(), chunk.getChunkZ());
+            for (int y = 0; y < 32; y++) {
+                for (int z = 0; z < Chunk.SIZE; z++) {
+                    for (int x = 0; x < Chunk.SIZE; x++) {
+                        assertEquals(expected.getBlock(x, y, z), chunk.getBlock(x, y, z));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void chunksThatFailToLoadAreRequestedAgain() throws InterruptedException {
+        boolean[] broken = {true};
+        ChunkSource source = new ChunkSource() {
+            @Override
+            public Chunk load(int chunkX, int chunkZ) {
+                if (broken[0] && chunkX == 1 && chunkZ == 0) {
+                    throw new IllegalStateException("Test failure");
+                }
+                return null;
+            }
+
+            @Override
+            public Path setAside(int chunkX, int chunkZ) {
+                return null;
+            }
+        };
+        ChunkStreamer streamer = new ChunkStreamer(1, 2);
+        List<Chunk> chunks = new ArrayList<>();
+        List<long[]> failures = new ArrayList<>();
+        try (ChunkGenerationPool pool = new ChunkGenerationPool(new TerrainGenerator(), source, 1)) {
+            ChunkStreamer.Listener listener = new ChunkStreamer.Listener() {
+                @Override
+                public void loadChunk(int chunkX, int chunkZ) {
+                    pool.request(chunkX, chunkZ);
+                }
+
+                @Override
+                public void unloadChunk(int chunkX, int chunkZ) {
+                    pool.cancel(chunkX, chunkZ);
+                }
+            };
+            assertEquals(5, streamer.update(8, 8, Integer.MAX_VALUE, listener));
+            long deadline = System.nanoTime() + 10_000_000_000L;
+            while (pool.getPendingCount() > 0 && System.nanoTime() < deadline) {
+                pool.drainFailures((chunkX, chunkZ) -> {
+                    failures.add(new long[]{chunkX, chunkZ});
+                    streamer.forget(chunkX, chunkZ);
+                });
+                pool.drain(chunks::add, Integer.MAX_VALUE);
+                Thread.sleep(1);
+            }
+            assertEquals(4, chunks.size());
+            assertEquals(1, failures.size());
+            assertArrayEquals(new long[]{1, 0}, failures.get(0));
+            assertFalse(streamer.isTracked(1, 0));
+
+            // Requested again on the next update, without the viewer moving
+            broken[0] = false;
+            assertEquals(1, streamer.update(8, 8, Integer.MAX_VALUE, listener));
+            while (pool.getPendingCount() > 0 && System.nanoTime() < deadline) {
+                pool.drain(chunks::add, Integer.MAX_VALUE);
+                Thread.sleep(1);
+            }
+            assertEquals(5, chunks.size());
+            assertEquals(1, chunks.get(4).getChunkX());
+            assertEquals(0, pool.drainFailures((chunkX, chunkZ) -> failures.add(null)));
+        }
+    }
+
+    @Test
+    void unreadableChunksAreSetAsideBeforeBeingGeneratedAgain() throws IOException {
+        Path directory = Files.createTempDirectory("generation-test");
+        TerrainGenerator generator = new TerrainGenerator();
+        try (WorldStorage storage = new WorldStorage(directory)) {
+            storage.save(RegionFileTest.versionedChunk(2, 2, 1));
+            Path region = directory.resolve("r.0.0.region");
+            try (FileChannel channel = FileChannel.open(region, StandardOpenOption.WRITE)) {
+                channel.write(ByteBuffer.wrap(new byte[]{42}), (long) RegionFile.HEADER_SECTORS * RegionFile.SECTOR_BYTES + 20);
+            }
+        }
+        try (WorldStorage storage = new WorldStorage(directory)) {
+            assertThrows(IOException.class, () -> storage.load(2, 2));
+            Chunk chunk = ChunkGenerationPool.loadOrGenerate(generator, storage, 2, 2);
+            assertEquals(generator.generate(2, 2).getBlock(3, 4, 5), chunk.getBlock(3, 4, 5));
+            assertNull(storage.load(2, 2));
+
+            List<Path> aside;
+            try (Stream<Path> paths = Files.list(directory.resolve(WorldStorage.CORRUPT_DIRECTORY))) {
+                aside = paths.toList();
+            }
+            assertEquals(1, aside.size());
+            assertTrue(aside.get(0).getFileName().toString().startsWith("c.2.2."));
+            byte[] rescued = Files.readAllBytes(aside.get(0));
+            assertEquals(42, rescued[20]);
+
+            // Saving the generated chunk leaves the rescued copy alone
+            chunk.setBlock(0, 0, 0, Blocks.DIRT);
+            storage.save(chunk);
+            assertArrayEquals(rescued, Files.readAllBytes(aside.get(0)));
+            assertEquals(Blocks.DIRT, storage.load(2, 2).getBlock(0, 0, 0));
+        } finally {
+            deleteRecursively(directory);
+        }
+    }
+
+    @Test
+    void neighbouringChunksContinueTheSameTerrain() {
+        TerrainGenerator generator = new TerrainGenerator();
+        Chunk left = generator.generate(-1, 0);
+        Chunk right = generator.generate(0, 0);
+        int leftHeight = 0;
+        int rightHeight = 0;
+        while (left.getBlock(15, leftHeight, 0) != Blocks.AIR) {
+            leftHeight++;
+        }
+        while (right.getBlock(0, rightHeight, 0) != Blocks.AIR) {
+            rightHeight++;
+        }
+        assertTrue(Math.abs(leftHeight - rightHeight) <= 2);
+    }
+}
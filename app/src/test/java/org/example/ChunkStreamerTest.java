@@ -0,0 +1,115 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ChunkStreamerTest {
+    private static class RecordingListener implements ChunkStreamer.Listener {
+        final List<long[]> loads = new ArrayList<>();
+        final List<long[]> unloads = new ArrayList<>();
+
+        @Override
+        public void loadChunk(int chunkX, int chunkZ) {
+            loads.add(new long[]{chunkX, chunkZ});
+        }
+
+        @Override
+        public void unloadChunk(int chunkX, int chunkZ) {
+            unloads.add(new long[]{chunkX, chunkZ});
+        }
+    }
+
+    @Test
+    void loadsNearestChunksFirst() {
+        ChunkStreamer streamer = new ChunkStreamer(4, 6);
+        RecordingListener listener = new RecordingListener();
+        streamer.update(8, 8, Integer.MAX_VALUE, listener);
+
+        assertEquals(0, listener.loads.get(0)[0]);
+        assertEquals(0, listener.loads.get(0)[1]);
+        long previous = 0;
+        for (long[] load : listener.loads) {
+            long distance = load[0] * load[0] + load[1] * load[1];
+            assertTrue(distance >= previous);
+            assertTrue(distance <= 16);
+            previous = distance;
+        }
+        assertEquals(listener.loads.size(), streamer.getTrackedCount());
+    }
+
+    @Test
+    void respectsLoadBudgetAcrossUpdates() {
+        ChunkStreamer streamer = new ChunkStreamer(3, 3);
+        RecordingListener listener = new RecordingListener();
+        assertEquals(5, streamer.update(0, 0, 5, listener));
+        assertEquals(5, streamer.update(0, 0, 5, listener));
+        int total = 10;
+        int loaded;
+        while ((loaded = streamer.update(0, 0, 5, listener)) > 0) {
+            total += loaded;
+        }
+        assertEquals(29, total);
+        assertEquals(0, streamer.update(0, 0, 5, listener));
+    }
+
+    @Test
+    void unloadsOnlyBeyondHysteresisRadius() {
+        ChunkStreamer streamer = new ChunkStreamer(2, 4);
+        RecordingListener listener = new RecordingListener();
+        streamer.update(0, 0, Integer.MAX_VALUE, listener);
+
+        // Three chunks east: the western edge at dx = -2 is now 5 away
+        streamer.update(3 * 16, 0, Integer.MAX_VALUE, listener);
+        assertFalse(listener.unloads.isEmpty());
+        for (long[] unload : listener.unloads) {
+            long dx = unload[0] - 3;
+            assertTrue(dx * dx + unload[1] * unload[1] > 16);
+        }
+        assertTrue(streamer.isTracked(1, 0));
+        assertTrue(streamer.isTracked(5, 0));
+        assertFalse(streamer.isTracked(-2, 0));
+
+        // Stepping back one chunk unloads nothing
+        listener.unloads.clear();
+        streamer.update(2 * 16, 0, Integer.MAX_VALUE, listener);
+        assertTrue(listener.unloads.isEmpty());
+    }
+
+    @Test
+    void forgottenChunksAreRequestedAgain() {
+        ChunkStreamer streamer = new ChunkStreamer(2, 4);
+        RecordingListener listener = new RecordingListener();
+        streamer.update(0, 0, Integer.MAX_VALUE, listener);
+        assertEquals(0, streamer.update(0, 0, Integer.MAX_VALUE, listener));
+
+        streamer.forget(1, 1);
+        streamer.forget(9, 9);
+        assertFalse(streamer.isTracked(1, 1));
+        listener.loads.clear();
+        assertEquals(1, streamer.update(0, 0, Integer.MAX_VALUE, listener));
+        assertArrayEquals(new long[]{1, 1}, listener.loads.get(0));
+        assertTrue(listener.unloads.isEmpty());
+    }
+
+    @Test
+    void handlesNegativePositions() {
+        ChunkStreamer streamer = new ChunkStreamer(0, 0);
+        RecordingListener listener = new RecordingListener();
+        streamer.update(-0.5f, -17, Integer.MAX_VALUE, listener);
+        assertTrue(streamer.isTracked(-1, -2));
+        assertEquals(1, streamer.getTrackedCount());
+    }
+
+    @Test
+    void rejectsUnloadRadiusInsideLoadRadius() {
+        assertThrows(IllegalArgumentException.class, () -> new ChunkStreamer(8, 4));
+    }
+}
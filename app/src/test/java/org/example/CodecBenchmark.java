@@ -0,0 +1,94 @@
+package org.example;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Compares the chunk codecs on generated terrain: bytes per chunk, and encode and decode
+ * speed in MB/s of the raw in-memory layout, next to how fast the same chunks can be
+ * meshed. Run with {@code ./gradlew benchmark -Pbenchmark=org.example.CodecBenchmark}.
+ */
+public class CodecBenchmark {
+    private static final int RADIUS = 8;
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int ROUNDS = 10;
+    private static final ChunkCodec[] CODECS = {
+            RawChunkCodec.INSTANCE,
+            RleChunkCodec.INSTANCE,
+            DeflateChunkCodec.INSTANCE,
+    };
+
+    // Keeps the JIT from discarding results
+    private static long sink;
+
+    public static void main(String[] args) {
+        TerrainGenerator generator = new TerrainGenerator();
+        World world = new World();
+        int side = 2 * RADIUS + 1;
+        Chunk[] chunks = new Chunk[side * side];
+        long rawBytes = 0;
+        for (int i = 0; i < chunks.length; i++) {
+            chunks[i] = generator.generate(i % side - RADIUS, i / side - RADIUS);
+            world.putChunk(chunks[i]);
+            rawBytes += ChunkSerializer.serializedSize(chunks[i]);
+        }
+        double rawMegabytes = rawBytes / (1024.0 * 1024.0);
+
+        double meshRate = meshChunksPerSecond(world, chunks);
+        System.out.printf("%d generated chunks, meshing %.0f chunks/s%n", chunks.length, meshRate);
+        System.out.printf("%-8s %12s %12s %12s %14s%n", "", "bytes/chunk", "encode MB/s", "decode MB/s", "decode chunk/s");
+        for (ChunkCodec codec : CODECS) {
+            ByteBuffer[] encoded = new ByteBuffer[chunks.length];
+            long encodedBytes = 0;
+            for (int i = 0; i < chunks.length; i++) {
+                encoded[i] = codec.encode(chunks[i]);
+                encodedBytes += encoded[i].remaining();
+            }
+
+            double bestEncode = Double.MAX_VALUE;
+            double bestDecode = Double.MAX_VALUE;
+            for (int round = 0; round < WARMUP_ROUNDS + ROUNDS; round++) {
+                long start = System.nanoTime();
+                for (Chunk chunk : chunks) {
+                    sink += codec.encode(chunk).remaining();
+                }
+                long encodeNanos = System.nanoTime() - start;
+                start = System.nanoTime();
+                for (ByteBuffer data : encoded) {
+                    sink += codec.decode(data).getChunkX();
+                }
+                long decodeNanos = System.nanoTime() - start;
+                if (round >= WARMUP_ROUNDS) {
+                    bestEncode = Math.min(bestEncode, encodeNanos / 1e9);
+                    bestDecode = Math.min(bestDecode, decodeNanos / 1e9);
+                }
+            }
+            System.out.printf("%-8s %12.0f %12.1f %12.1f %14.0f%n", codec.getName(),
+                    (double) encodedBytes / chunks.length, rawMegabytes / bestEncode,
+                    rawMegabytes / bestDecode, chunks.length / bestDecode);
+        }
+        if (sink == 42) {
+            System.out.println();
+        }
+    }
+
+    private static double meshChunksPerSecond(World world, Chunk[] chunks) {
+        GreedyMesher mesher = new GreedyMesher();
+        double best = Double.MAX_VALUE;
+        for (int round = 0; round < WARMUP_ROUNDS + ROUNDS; round++) {
+            long start = System.nanoTime();
+            for (Chunk chunk : chunks) {
+                for (int sectionY = 0; sectionY < Chunk.SECTION_COUNT; sectionY++) {
+                    ChunkSection section = chunk.getSection(sectionY);
+                    if (section != null && !section.isEmpty()) {
+                        PaddedSection padded = PaddedSection.capture(world, chunk.getChunkX(), sectionY, chunk.getChunkZ());
+                        sink += mesher.mesh(padded).getQuadCount();
+                    }
+                }
+            }
+            if (round >= WARMUP_ROUNDS) {
+                best = Math.min(best, (System.nanoTime() - start) / 1e9);
+            }
+        }
+        return chunks.length / best;
+    }
+}
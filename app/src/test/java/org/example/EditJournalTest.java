@@ -0,0 +1,201 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.example.TestSupport.deleteRecursively;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EditJournalTest {
+    private static List<long[]> readAll(Path path) throws IOException {
+        List<long[]> edits = new ArrayList<>();
+        EditJournal.replay(path, (sequence, x, y, z, oldId, newId) -> edits.add(new long[]{sequence, x, y, z, oldId, newId}));
+        return edits;
+    }
+
+    @Test
+    void flushedEditsReplayInOrder() throws IOException {
+        Path directory = Files.createTempDirectory("journal-test");
+        Path path = directory.resolve("edits.journal");
+        try (EditJournal journal = new EditJournal(path, 100)) {
+            assertEquals(100, journal.append(1, 2, 3, Blocks.AIR, Blocks.STONE));
+            assertEquals(101, journal.append(-17, 255, 40, Blocks.STONE, Blocks.AIR));
+            assertEquals(2, journal.getPendingCount());
+            journal.flush();
+            assertEquals(0, journal.getPendingCount());
+            assertEquals(101, journal.getSyncedSequence());
+            assertEquals(2L * EditJournal.RECORD_BYTES, journal.getFileBytes());
+
+            List<long[]> edits = readAll(path);
+            assertEquals(2, edits.size());
+            assertArrayEquals(new long[]{100, 1, 2, 3, Blocks.AIR, Blocks.STONE}, edits.get(0));
+            assertArrayEquals(new long[]{101, -17, 255, 40, Blocks.STONE, Blocks.AIR}, edits.get(1));
+        } finally {
+            deleteRecursively(directory);
+        }
+    }
+
+    @Test
+    void backgroundWriterKeepsUpWithAppends() throws IOException {
+        Path directory = Files.createTempDirectory("journal-test");
+        Path path = directory.resolve("edits.journal");
+        int count = 200_000;
+        EditJournal journal = new EditJournal(path, 0, 1_000_000L);
+        try {
+            for (int i = 0; i < count; i++) {
+                journal.append(i, i & 255, -i, i % 7, i % 5);
+            }
+            journal.close();
+            assertTrue(journal.getSyncCount() >= 1);
+            assertEquals(count - 1, journal.getSyncedSequence());
+
+            List<long[]> edits = readAll(path);
+            assertEquals(count, edits.size());
+            for (int i = 0; i < count; i++) {
+                assertArrayEquals(new long[]{i, i, i & 255, -i, i % 7, i % 5}, edits.get(i));
+            }
+        } finally {
+            journal.close();
+            deleteRecursively(directory);
+        }
+    }
+
+    @Test
+    void replayStopsAtTornOrCorruptRecords() throws IOException {
+        Path directory = Files.createTempDirectory("journal-test");
+        Path path = directory.resolve("edits.journal");
+        try {
+            try (EditJournal journal = new EditJournal(path, 0)) {
+                for (int i = 0; i < 10; i++) {
+                    journal.append(i, 64, 0, Blocks.AIR, Blocks.DIRT);
+                }
+            }
+            // Half a record, as left by a crash in the middle of a write
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.APPEND)) {
+                channel.write(ByteBuffer.allocate(EditJournal.RECORD_BYTES / 2));
+            }
+            assertEquals(10, EditJournal.replay(path, (sequence, x, y, z, oldId, newId) -> { }));
+
+            // A flipped bit in the eighth record hides it and everything after it
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                channel.write(ByteBuffer.wrap(new byte[]{(byte) 0xFF}), 7L * EditJournal.RECORD_BYTES + 9);
+            }
+            assertEquals(7, readAll(path).size());
+            assertEquals(-1, EditJournal.replay(directory.resolve("missing.journal"), (sequence, x, y, z, oldId, newId) -> { }));
+        } finally {
+            deleteRecursively(directory);
+        }
+    }
+
+    @Test
+    void checkpointDropsOnlyTheSavedEdits() throws IOException {
+        Path directory = Files.createTempDirectory("journal-test");
+        Path path = directory.resolve("edits.journal");
+        try (EditJournal journal = new EditJournal(path, 0)) {
+            for (int i = 0; i < 10; i++) {
+                journal.append(i, 1, 1, Blocks.AIR, Blocks.STONE);
+            }
+            journal.checkpoint(3);
+            assertEquals(6L * EditJournal.RECORD_BYTES, journal.getFileBytes());
+            List<long[]> edits = readAll(path);
+            assertEquals(6, edits.size());
+            assertEquals(4, edits.get(0)[0]);
+
+            // Appends after the checkpoint go to the replacement file
+            journal.append(10, 1, 1, Blocks.AIR, Blocks.STONE);
+            journal.flush();
+            assertEquals(10, readAll(path).get(6)[0]);
+
+            journal.checkpoint(journal.getLastSequence());
+            assertEquals(0, journal.getFileBytes());
+            assertEquals(0, Files.size(path));
+            journal.checkpoint(2);
+            assertEquals(0, Files.size(path));
+        } finally {
+            deleteRecursively(directory);
+        }
+    }
+
+    @Test
+    void recoveryAppliesEditsOnTopOfSavedChunks() throws IOException {
+        Path directory = Files.createTempDirectory("journal-test");
+        Path path = directory.resolve("edits.journal");
+        TerrainGenerator generator = new TerrainGenerator(9);
+        try {
+            try (WorldStorage storage = new WorldStorage(directory)) {
+                Chunk saved = generator.generate(0, 0);
+                saved.setBlock(0, 0, 0, Blocks.DIRT);
+                storage.save(saved);
+            }
+            try (EditJournal journal = new EditJournal(path, 0)) {
+                journal.append(5, 200, 5, Blocks.AIR, Blocks.STONE);
+                journal.append(5, 200, 5, Blocks.STONE, Blocks.GRASS);
+                journal.append(-20, 201, 33, Blocks.AIR, Blocks.STONE);
+                // Closed without saving the chunks, like a crash would leave it
+            }
+
+            for (int restart = 0; restart < 2; restart++) {
+                try (WorldStorage storage = new WorldStorage(directory);
+                     EditJournal journal = EditJournal.recover(path, storage, generator)) {
+                    assertEquals(0, readAll(path).size());
+                    // Sequence numbers carry on; this edit is replayed by the second restart
+                    assertEquals(3 + restart, journal.append(8, 250, 8, Blocks.AIR, Blocks.AIR));
+
+                    Chunk first = storage.load(0, 0);
+                    assertEquals(Blocks.DIRT, first.getBlock(0, 0, 0));
+                    assertEquals(Blocks.GRASS, first.getBlock(5, 200, 5));
+                    Chunk second = storage.load(-2, 2);
+                    assertEquals(Blocks.STONE, second.getBlock(12, 201, 1));
+                    Chunk generated = generator.generate(-2, 2);
+                    generated.setBlock(12, 201, 1, Blocks.STONE);
+                    for (int y = 0; y < Chunk.HEIGHT; y += 3) {
+                        assertEquals(generated.getBlock(7, y, 9), second.getBlock(7, y, 9));
+                    }
+                    assertFalse(storage.load(-2, 2).isModified());
+                }
+            }
+        } finally {
+            deleteRecursively(directory);
+        }
+    }
+
+    @Test
+    void recoveryFailsRatherThanOverwriteUnreadableChunks() throws IOException {
+        Path directory = Files.createTempDirectory("journal-test");
+        Path path = directory.resolve("edits.journal");
+        Path region = directory.resolve("r.0.0.region");
+        TerrainGenerator generator = new TerrainGenerator(9);
+        try {
+            try (WorldStorage storage = new WorldStorage(directory)) {
+                storage.save(RegionFileTest.versionedChunk(2, 2, 1));
+            }
+            try (FileChannel channel = FileChannel.open(region, StandardOpenOption.WRITE)) {
+                channel.write(ByteBuffer.wrap(new byte[]{42}), (long) RegionFile.HEADER_SECTORS * RegionFile.SECTOR_BYTES + 20);
+            }
+            byte[] corrupted = Files.readAllBytes(region);
+            try (EditJournal journal = new EditJournal(path, 0)) {
+                journal.append(32, 10, 32, Blocks.AIR, Blocks.STONE);
+            }
+
+            try (WorldStorage storage = new WorldStorage(directory)) {
+                assertThrows(IOException.class, () -> EditJournal.recover(path, storage, generator));
+            }
+            assertEquals(1, readAll(path).size());
+            assertArrayEquals(corrupted, Files.readAllBytes(region));
+        } finally {
+            deleteRecursively(directory);
+        }
+    }
+}
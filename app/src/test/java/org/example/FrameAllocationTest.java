@@ -0,0 +1,104 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that the CPU side of a steady-state frame allocates nothing on the Java heap,
+ * using the per-thread allocation counter HotSpot keeps.
+ */
+class FrameAllocationTest {
+    private static final int WARMUP_FRAMES = 40_000;
+    private static final int MEASURED_FRAMES = 2_000;
+    // Frames the camera walks one way before turning back; 10 blocks, over the z = 0 chunk border
+    private static final int WALK_FRAMES = 400;
+    private static final float WALK_SECONDS_PER_FRAME = 0.01f;
+
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private final Camera camera = new Camera();
+    private final FrameMatrices frameMatrices = new FrameMatrices(8);
+    private final FloatBuffer upload = ByteBuffer.allocateDirect(16 * Float.BYTES).order(ByteOrder.nativeOrder()).asFloatBuffer();
+    private final ChunkStreamer streamer = new ChunkStreamer(2, 3);
+    private final ChunkStreamer.Listener listener = new ChunkStreamer.Listener() {
+        @Override
+        public void loadChunk(int chunkX, int chunkZ) {
+        }
+
+        @Override
+        public void unloadChunk(int chunkX, int chunkZ) {
+        }
+    };
+    private final Consumer<MeshResult> uploader = mesh -> { };
+    private final Consumer<Chunk> adder = chunk -> { };
+    private final RemeshTracker remeshTracker = new RemeshTracker(16);
+    private final RemeshTracker.Scheduler remesher = (sectionX, sectionY, sectionZ) -> { };
+    // Stands in for the resident meshes, each one in its own 4 KiB of the first arena page
+    private final SectionDrawList drawList = new SectionDrawList(allocation -> allocation * 4096);
+    private int visibleSections;
+    private int borderCrossings;
+
+    /**
+     * One frame as App runs it, minus the GL calls: input, then the shared frame update, then
+     * what the matrix uniforms read, then the cull pass that fills the draw commands.
+     */
+    private void frame(FrameUpdate update, int i) {
+        int chunkZ = (int) Math.floor(camera.getPosition().z) >> 4;
+        Camera.Movement direction = (i / WALK_FRAMES) % 2 == 0 ? Camera.Movement.FORWARD : Camera.Movement.BACKWARD;
+        camera.processKeyboard(direction, WALK_SECONDS_PER_FRAME);
+        camera.processMouseMovement((i & 1) == 0 ? 0.5f : -0.5f, 0.0f);
+        update.run();
+        frameMatrices.getView().get(upload);
+        frameMatrices.getProjection().get(upload);
+        drawList.cull(frameMatrices.getFrustum());
+        visibleSections += drawList.getDrawCount();
+        if ((int) Math.floor(camera.getPosition().z) >> 4 != chunkZ) {
+            borderCrossings++;
+        }
+    }
+
+    @Test
+    void steadyStateFrameAllocatesNothing() {
+        assertTrue(threads.isThreadAllocatedMemorySupported());
+        frameMatrices.setViewport(800, 600);
+        int allocation = 0;
+        for (int x = -4; x <= 4; x++) {
+            for (int z = -4; z <= 4; z++) {
+                for (int y = 0; y < 4; y++) {
+                    drawList.add(x, y, z, 0, allocation++, 6 * 1024);
+                }
+            }
+        }
+        try (MeshScheduler scheduler = new MeshScheduler(GreedyMesher::new, 1);
+             ChunkGenerationPool generator = new ChunkGenerationPool(new TerrainGenerator(), 1)) {
+            FrameUpdate update = new FrameUpdate(camera, frameMatrices, remeshTracker, remesher, streamer, listener,
+                    generator, adder, scheduler, uploader);
+            // A whole number of walks there and back, so the measured frames start where the
+            // camera started
+            for (int i = 0; i < WARMUP_FRAMES; i++) {
+                frame(update, i);
+            }
+            borderCrossings = 0;
+
+            long before = threads.getCurrentThreadAllocatedBytes();
+            long overhead = threads.getCurrentThreadAllocatedBytes() - before;
+            before = threads.getCurrentThreadAllocatedBytes();
+            for (int i = 0; i < MEASURED_FRAMES; i++) {
+                frame(update, i);
+            }
+            long allocated = threads.getCurrentThreadAllocatedBytes() - before - overhead;
+            assertEquals(0, allocated, "bytes allocated over " + MEASURED_FRAMES + " frames");
+        }
+        assertTrue(visibleSections > 0);
+        assertTrue(borderCrossings >= 4, "crossed a chunk border " + borderCrossings + " times");
+    }
+}
@@ -0,0 +1,69 @@
+package org.example;
+
+import org.joml.Matrix4f;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FrustumTest {
+    // Looking down -z from the origin, 90 degree field of view, near 0.1, far 100
+    private static Frustum lookingNorth() {
+        Matrix4f projection = new Matrix4f().perspective((float) Math.toRadians(90.0f), 1.0f, 0.1f, 100.0f);
+        Matrix4f view = new Matrix4f().setLookAt(0, 0, 0, 0, 0, -1, 0, 1, 0);
+        return new Frustum().set(new Matrix4f(projection).mul(view));
+    }
+
+    @Test
+    void keepsBoxesInFront() {
+        Frustum frustum = lookingNorth();
+        assertTrue(frustum.intersectsAabb(-1, -1, -11, 1, 1, -9));
+        assertTrue(frustum.intersectsAabb(8, -1, -11, 9, 1, -9));
+    }
+
+    @Test
+    void rejectsBoxesBehindBesideAndBeyond() {
+        Frustum frustum = lookingNorth();
+        assertFalse(frustum.intersectsAabb(-1, -1, 5, 1, 1, 7));
+        assertFalse(frustum.intersectsAabb(12, -1, -11, 14, 1, -9));
+        assertFalse(frustum.intersectsAabb(-1, 12, -11, 1, 14, -9));
+        assertFalse(frustum.intersectsAabb(-1, -1, -130, 1, 1, -110));
+    }
+
+    @Test
+    void keepsBoxesStraddlingAPlane() {
+        Frustum frustum = lookingNorth();
+        assertTrue(frustum.intersectsAabb(-1, -1, -1, 1, 1, 1));
+        assertTrue(frustum.intersectsAabb(9, -1, -11, 30, 1, -9));
+        assertTrue(frustum.intersectsAabb(-1, -1, -120, 1, 1, -90));
+    }
+
+    @Test
+    void cullsSectionsAroundTheDefaultCamera() {
+        Camera camera = new Camera();
+        Matrix4f projection = new Matrix4f().perspective((float) Math.toRadians(45.0f), 800.0f / 600.0f, 0.1f, 100.0f);
+        Frustum frustum = new Frustum().set(new Matrix4f(projection).mul(camera.getViewMatrix()));
+        // The camera starts at (0, 1, 3) facing -z
+        assertTrue(frustum.intersectsSection(0, 0, -1));
+        assertTrue(frustum.intersectsSection(-1, 0, -1));
+        assertTrue(frustum.intersectsSection(0, 0, 0));
+        assertFalse(frustum.intersectsSection(0, 0, 2));
+        assertFalse(frustum.intersectsSection(0, 0, -8));
+        assertFalse(frustum.intersectsSection(4, 0, -1));
+    }
+
+    @Test
+    void farPlaneReachesTheViewDistance() {
+        Camera camera = new Camera();
+        FrameMatrices near = new FrameMatrices(2);
+        FrameMatrices far = new FrameMatrices(8);
+        near.setViewport(800, 600);
+        far.setViewport(800, 600);
+        near.update(camera);
+        far.update(camera);
+        // The camera starts at (0, 1, 3) facing -z, so section z -8 spans z -128 to -112
+        assertFalse(near.getFrustum().intersectsSection(0, 0, -8));
+        assertTrue(far.getFrustum().intersectsSection(0, 0, -8));
+        assertTrue(far.getFar() > 8 * Chunk.SIZE);
+    }
+}
@@ -0,0 +1,70 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class HeightmapCacheTest {
+    private static HeightmapCache countingCache(int capacity, AtomicInteger computed) {
+        return new HeightmapCache(capacity, (chunkX, chunkZ, heights) -> {
+            computed.incrementAndGet();
+            for (int i = 0; i < heights.length; i++) {
+                heights[i] = (short) (chunkX * 100 + chunkZ + i % 16);
+            }
+        });
+    }
+
+    @Test
+    void repeatedLookupsAreHits() {
+        AtomicInteger computed = new AtomicInteger();
+        HeightmapCache cache = countingCache(4, computed);
+        short[] first = cache.get(2, -3);
+        assertSame(first, cache.get(2, -3));
+        assertEquals(2 * 100 - 3 + 5, cache.getHeight(2 * 16 + 5, -3 * 16 + 9));
+        assertEquals(1, computed.get());
+        assertEquals(2, cache.getHits());
+        assertEquals(1, cache.getMisses());
+        assertEquals(2.0f / 3.0f, cache.getHitRate(), 1e-6);
+        assertEquals(HeightmapCache.ESTIMATED_ENTRY_BYTES, cache.getEstimatedBytes());
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedChunk() {
+        AtomicInteger computed = new AtomicInteger();
+        HeightmapCache cache = countingCache(2, computed);
+        cache.get(0, 0);
+        cache.get(1, 0);
+        cache.get(0, 0);
+        cache.get(2, 0);
+        assertEquals(2, cache.getSize());
+        assertEquals(3, computed.get());
+
+        cache.get(0, 0);
+        assertEquals(3, computed.get());
+        cache.get(1, 0);
+        assertEquals(4, computed.get());
+    }
+
+    @Test
+    void generatorAndSpawnShareOneHeightmapPerColumn() {
+        TerrainGenerator generator = new TerrainGenerator(16);
+        HeightmapCache heightmaps = generator.getHeightmaps();
+        Chunk chunk = generator.generate(3, -2);
+        generator.spawnHeight(3 * 16 + 7, -2 * 16 + 1);
+        assertEquals(1, heightmaps.getMisses());
+        assertEquals(1, heightmaps.getHits());
+
+        for (int z = 0; z < Chunk.SIZE; z++) {
+            for (int x = 0; x < Chunk.SIZE; x++) {
+                int height = generator.spawnHeight(3 * 16 + x, -2 * 16 + z);
+                assertEquals(Blocks.AIR, chunk.getBlock(x, height, z));
+                if (height > 0) {
+                    assertEquals(Blocks.GRASS, chunk.getBlock(x, height - 1, z));
+                }
+            }
+        }
+    }
+}
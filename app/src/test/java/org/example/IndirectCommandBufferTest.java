@@ -0,0 +1,38 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IndirectCommandBufferTest {
+    @Test
+    void buildsElementsIndirectCommands() {
+        IndirectCommandBuffer commands = new IndirectCommandBuffer(1);
+        commands.add(12, 0, -0.5f, -0.5f, -0.5f);
+        commands.add(36, 400, 15.5f, -0.5f, 31.5f);
+
+        assertEquals(2, commands.getCount());
+        assertEquals(36, commands.getCommand(1, IndirectCommandBuffer.COMMAND_COUNT));
+        assertEquals(1, commands.getCommand(1, IndirectCommandBuffer.COMMAND_INSTANCE_COUNT));
+        assertEquals(0, commands.getCommand(1, IndirectCommandBuffer.COMMAND_FIRST_INDEX));
+        assertEquals(400, commands.getCommand(1, IndirectCommandBuffer.COMMAND_BASE_VERTEX));
+        assertEquals(1, commands.getCommand(1, IndirectCommandBuffer.COMMAND_BASE_INSTANCE));
+        assertEquals(31.5f, commands.getOrigin(1, 2));
+        assertEquals(16, commands.getTriangleCount());
+    }
+
+    @Test
+    void clearReusesStorage() {
+        IndirectCommandBuffer commands = new IndirectCommandBuffer();
+        for (int i = 0; i < 100; i++) {
+            commands.add(6, i * 4, i, 0, 0);
+        }
+        int[] backing = commands.getCommands();
+        commands.clear();
+        assertTrue(commands.isEmpty());
+        commands.add(6, 0, 0, 0, 0);
+        assertEquals(0, commands.getCommand(0, IndirectCommandBuffer.COMMAND_BASE_INSTANCE));
+        assertTrue(backing == commands.getCommands());
+    }
+}
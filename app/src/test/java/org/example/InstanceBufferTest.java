@@ -0,0 +1,96 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InstanceBufferTest {
+    @Test
+    void addsEachBlockOnce() {
+        InstanceBuffer instances = new InstanceBuffer();
+        assertTrue(instances.add(1, 2, 3));
+        assertFalse(instances.add(1, 2, 3));
+        assertEquals(1, instances.getCount());
+        assertEquals(1.0f, instances.getData()[0]);
+        assertEquals(2.0f, instances.getData()[1]);
+        assertEquals(3.0f, instances.getData()[2]);
+    }
+
+    @Test
+    void tracksDirtyRangeOfAdds() {
+        InstanceBuffer instances = new InstanceBuffer();
+        instances.add(0, 0, 0);
+        instances.add(1, 0, 0);
+        assertTrue(instances.isDirty());
+        assertEquals(0, instances.getDirtyStart());
+        assertEquals(2, instances.getDirtyEnd());
+
+        instances.markClean();
+        assertFalse(instances.isDirty());
+        instances.add(2, 0, 0);
+        assertEquals(2, instances.getDirtyStart());
+        assertEquals(3, instances.getDirtyEnd());
+    }
+
+    @Test
+    void removalFillsGapWithLastInstance() {
+        InstanceBuffer instances = new InstanceBuffer();
+        for (int x = 0; x < 5; x++) {
+            instances.add(x, 0, 0);
+        }
+        instances.markClean();
+
+        assertTrue(instances.remove(1, 0, 0));
+        assertFalse(instances.remove(1, 0, 0));
+        assertEquals(4, instances.getCount());
+        assertEquals(4.0f, instances.getData()[InstanceBuffer.FLOATS_PER_INSTANCE]);
+        assertEquals(1, instances.getDirtyStart());
+        assertEquals(2, instances.getDirtyEnd());
+
+        // The moved instance can still be found and removed
+        assertTrue(instances.remove(4, 0, 0));
+        assertEquals(3, instances.getCount());
+    }
+
+    @Test
+    void removingLastInstanceNeedsNoUpload() {
+        InstanceBuffer instances = new InstanceBuffer();
+        instances.add(0, 0, 0);
+        instances.add(1, 0, 0);
+        instances.markClean();
+        instances.remove(1, 0, 0);
+        assertFalse(instances.isDirty());
+        assertEquals(1, instances.getCount());
+    }
+
+    @Test
+    void growthRequestsFullReupload() {
+        InstanceBuffer instances = new InstanceBuffer();
+        int capacity = instances.getCapacity();
+        for (int i = 0; i <= capacity; i++) {
+            instances.add(i, 0, 0);
+        }
+        assertTrue(instances.hasGrown());
+        assertTrue(instances.getCapacity() > capacity);
+        for (int i = 0; i <= capacity; i++) {
+            assertEquals(i, instances.getData()[i * InstanceBuffer.FLOATS_PER_INSTANCE], 0);
+        }
+        instances.markClean();
+        assertFalse(instances.hasGrown());
+    }
+
+    @Test
+    void removesWholeSection() {
+        InstanceBuffer instances = new InstanceBuffer();
+        instances.add(-1, 5, -1);
+        instances.add(-16, 0, -16);
+        instances.add(0, 5, 0);
+        instances.add(-17, 5, -1);
+        assertEquals(2, instances.removeSection(-1, 0, -1));
+        assertEquals(2, instances.getCount());
+        assertTrue(instances.remove(0, 5, 0));
+        assertTrue(instances.remove(-17, 5, -1));
+    }
+}
@@ -0,0 +1,69 @@
+package org.example;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Measures the edit journal from the render thread's side: appends per second, the
+ * slowest single append (which would show up as a frame hitch), and how many fsyncs the
+ * background writer needed to keep up. Then replays the journal.
+ * Run with {@code ./gradlew benchmark -Pbenchmark=org.example.JournalBenchmark}.
+ */
+public class JournalBenchmark {
+    private static final int EDITS = 2_000_000;
+    // Appends this many edits at a time, then waits, to model a steady edit rate
+    private static final int EDITS_PER_BURST = 500;
+    private static final long BURST_INTERVAL_NANOS = 5_000_000L;
+    private static final int STEADY_EDITS = 100_000;
+
+    public static void main(String[] args) throws IOException {
+        Path directory = Files.createTempDirectory("journal-benchmark");
+        Path path = directory.resolve("edits.journal");
+        try {
+            try (EditJournal journal = new EditJournal(path, 0)) {
+                long slowest = 0;
+                long start = System.nanoTime();
+                for (int i = 0; i < EDITS; i++) {
+                    long before = System.nanoTime();
+                    journal.append(i & 1023, i & 255, i >> 10, Blocks.AIR, Blocks.STONE);
+                    slowest = Math.max(slowest, System.nanoTime() - before);
+                }
+                long appendNanos = System.nanoTime() - start;
+                journal.flush();
+                double seconds = (System.nanoTime() - start) / 1e9;
+                System.out.printf("burst:  %d edits, %.0f appends/s, slowest append %.1f us, durable after %.2f s (%.0f edits/s), %d fsyncs%n",
+                        EDITS, EDITS / (appendNanos / 1e9), slowest / 1e3, seconds, EDITS / seconds, journal.getSyncCount());
+
+                long syncsBefore = journal.getSyncCount();
+                long lastBefore = journal.getLastSequence();
+                slowest = 0;
+                start = System.nanoTime();
+                for (int i = 0; i < STEADY_EDITS; i += EDITS_PER_BURST) {
+                    long burstStart = System.nanoTime();
+                    for (int j = 0; j < EDITS_PER_BURST; j++) {
+                        journal.append(j, 64, i, Blocks.STONE, Blocks.AIR);
+                    }
+                    slowest = Math.max(slowest, System.nanoTime() - burstStart);
+                    while (System.nanoTime() - burstStart < BURST_INTERVAL_NANOS) {
+                        Thread.onSpinWait();
+                    }
+                }
+                seconds = (System.nanoTime() - start) / 1e9;
+                long lag = journal.getLastSequence() - journal.getSyncedSequence();
+                System.out.printf("steady: %.0f edits/s, slowest burst of %d %.1f us, %d fsyncs, %d edits not yet durable (%d total)%n",
+                        STEADY_EDITS / seconds, EDITS_PER_BURST, slowest / 1e3, journal.getSyncCount() - syncsBefore,
+                        lag, journal.getLastSequence() - lastBefore);
+            }
+
+            long start = System.nanoTime();
+            long[] replayed = new long[1];
+            EditJournal.replay(path, (sequence, x, y, z, oldId, newId) -> replayed[0]++);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("replay: %d edits in %.2f s, %.0f edits/s%n", replayed[0], seconds, replayed[0] / seconds);
+        } finally {
+            Files.deleteIfExists(path);
+            Files.delete(directory);
+        }
+    }
+}
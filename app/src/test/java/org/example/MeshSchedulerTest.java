@@ -0,0 +1,143 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class MeshSchedulerTest {
+    private static World terrain() {
+        World world = new World();
+        for (int x = -16; x < 32; x++) {
+            for (int z = -16; z < 32; z++) {
+                int height = 10 + Math.floorMod(x * 3 + z * 5, 14);
+                for (int y = 0; y < height; y++) {
+                    world.setBlock(x, y, z, Blocks.GRASS);
+                }
+            }
+        }
+        return world;
+    }
+
+    private static List<MeshResult> drainAll(MeshScheduler scheduler, long maxBytes) throws InterruptedException {
+        List<MeshResult> results = new ArrayList<>();
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (scheduler.getPendingCount() > 0 && System.nanoTime() < deadline) {
+            scheduler.drainFailures(sectionKey -> { });
+            scheduler.drain(results::add, maxBytes, Long.MAX_VALUE);
+            Thread.sleep(1);
+        }
+        assertEquals(0, scheduler.getPendingCount());
+        return results;
+    }
+
+    @Test
+    void backgroundMeshesMatchSynchronousMeshing() throws InterruptedException {
+        World world = terrain();
+        try (MeshScheduler scheduler = new MeshScheduler(GreedyMesher::new, 4)) {
+            for (int sectionX = -1; sectionX <= 1; sectionX++) {
+                for (int sectionZ = -1; sectionZ <= 1; sectionZ++) {
+                    scheduler.schedule(world, sectionX, 0, sectionZ);
+                    scheduler.schedule(world, sectionX, 1, sectionZ);
+                }
+            }
+            List<MeshResult> results = drainAll(scheduler, Long.MAX_VALUE);
+            assertEquals(18, results.size());
+            for (MeshResult result : results) {
+                ChunkMesh expected = new GreedyMesher().mesh(PaddedSection.capture(world,
+                        result.getSectionX(), result.getSectionY(), result.getSectionZ()));
+                assertArrayEquals(expected.buildVertices(), result.getVertices());
+            }
+        }
+    }
+
+    @Test
+    void onlyNewestMeshOfASectionIsUploaded() throws InterruptedException {
+        World world = terrain();
+        try (MeshScheduler scheduler = new MeshScheduler(GreedyMesher::new, 2)) {
+            scheduler.schedule(world, 0, 0, 0);
+            for (int x = 0; x < 16; x++) {
+                for (int z = 0; z < 16; z++) {
+                    for (int y = 0; y < 16; y++) {
+                        world.setBlock(x, y, z, Blocks.GRASS);
+                    }
+                }
+            }
+            scheduler.schedule(world, 0, 0, 0);
+            List<MeshResult> results = drainAll(scheduler, Long.MAX_VALUE);
+            assertEquals(1, results.size());
+            ChunkMesh expected = new GreedyMesher().mesh(PaddedSection.capture(world, 0, 0, 0));
+            assertArrayEquals(expected.buildVertices(), results.get(0).getVertices());
+        }
+    }
+
+    @Test
+    void drainRespectsByteBudget() throws InterruptedException {
+        World world = terrain();
+        try (MeshScheduler scheduler = new MeshScheduler(CulledMesher::new, 2)) {
+            for (int sectionX = 0; sectionX < 2; sectionX++) {
+                scheduler.schedule(world, sectionX, 0, 0);
+                scheduler.schedule(world, sectionX, 1, 0);
+            }
+            while (scheduler.getInFlightCount() > 0) {
+                Thread.sleep(1);
+            }
+            List<MeshResult> results = new ArrayList<>();
+            assertEquals(1, scheduler.drain(results::add, 1, Long.MAX_VALUE));
+            assertEquals(1, scheduler.drain(results::add, 1, Long.MAX_VALUE));
+            assertEquals(2, scheduler.drain(results::add, Long.MAX_VALUE, Long.MAX_VALUE));
+            assertEquals(0, scheduler.getPendingCount());
+        }
+    }
+
+    @Test
+    void sectionsThatFailToMeshStopBeingPending() throws InterruptedException {
+        World world = terrain();
+        Mesher failing = new Mesher() {
+            private final Mesher greedy = new GreedyMesher();
+
+            @Override
+            public ChunkMesh mesh(PaddedSection section) {
+                if (section.getSectionY() == 1) {
+                    throw new IllegalStateException("Test failure");
+                }
+                return greedy.mesh(section);
+            }
+
+            @Override
+            public String getName() {
+                return "failing";
+            }
+        };
+        RemeshTracker tracker = new RemeshTracker(16);
+        try (MeshScheduler scheduler = new MeshScheduler(() -> failing, 1)) {
+            tracker.markSection(0, 0, 0, 1);
+            tracker.markSection(0, 1, 0, 1);
+            tracker.flush(0, 0, 0, (x, y, z) -> scheduler.schedule(world, x, y, z));
+            List<Long> failures = new ArrayList<>();
+            List<MeshResult> results = new ArrayList<>();
+            long deadline = System.nanoTime() + 10_000_000_000L;
+            while (scheduler.getPendingCount() > 0 && System.nanoTime() < deadline) {
+                scheduler.drainFailures(sectionKey -> {
+                    failures.add(sectionKey);
+                    tracker.meshFailed(sectionKey);
+                });
+                scheduler.drain(result -> {
+                    results.add(result);
+                    tracker.uploaded(result.getSectionKey(), 2);
+                }, Long.MAX_VALUE, Long.MAX_VALUE);
+                Thread.sleep(1);
+            }
+            assertEquals(0, scheduler.getPendingCount());
+            assertEquals(1, results.size());
+            assertEquals(0, results.get(0).getSectionY());
+            assertEquals(List.of(World.sectionKey(0, 1, 0)), failures);
+            // The failed section's edit never became visible, and no longer waits for an upload
+            assertEquals(0, tracker.getAwaitingCount());
+            assertEquals(1, tracker.getVisibleEdits());
+        }
+    }
+}
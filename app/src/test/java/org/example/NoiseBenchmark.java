@@ -0,0 +1,85 @@
+package org.example;
+
+import FastNoiseLite.FastNoiseLite;
+
+/**
+ * Compares per-point {@code GetNoise} calls against the grid generators, with scalar and
+ * Vector API kernels, for a chunk's worth of points. Run with {@code ./gradlew benchmark -Pbenchmark=org.example.NoiseBenchmark}.
+ */
+public class NoiseBenchmark {
+    private static final int SIZE = Chunk.SIZE;
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int ROUNDS = 10;
+    private static final int GRIDS_PER_ROUND = 2000;
+
+    private static final int POINT = 0;
+    private static final int SCALAR_GRID = 1;
+    private static final int VECTOR_GRID = 2;
+
+    private static final FastNoiseLite.NoiseType[] TYPES = {
+            FastNoiseLite.NoiseType.Perlin,
+            FastNoiseLite.NoiseType.Value,
+            FastNoiseLite.NoiseType.OpenSimplex2,
+            FastNoiseLite.NoiseType.Cellular,
+    };
+
+    // Keeps the JIT from discarding results
+    private static float sink;
+
+    public static void main(String[] args) {
+        System.out.println("ns per point, best of " + ROUNDS + " rounds, vector kernels "
+                + (FastNoiseLite.VectorKernelsAvailable() ? "available" : "unavailable"));
+        System.out.printf("%-14s %9s %9s %9s %9s %9s %9s%n", "",
+                "2D point", "2D grid", "2D vec", "3D point", "3D grid", "3D vec");
+        for (FastNoiseLite.NoiseType type : TYPES) {
+            FastNoiseLite noise = new FastNoiseLite(1337);
+            noise.SetNoiseType(type);
+            noise.SetFrequency(0.1f);
+            System.out.printf("%-14s %9.2f %9.2f %9.2f %9.2f %9.2f %9.2f%n", type,
+                    best(noise, false, POINT), best(noise, false, SCALAR_GRID), best(noise, false, VECTOR_GRID),
+                    best(noise, true, POINT), best(noise, true, SCALAR_GRID), best(noise, true, VECTOR_GRID));
+        }
+        System.out.println(sink == 12345 ? "" : " ");
+    }
+
+    private static double best(FastNoiseLite noise, boolean is3D, int mode) {
+        noise.SetVectorKernels(mode == VECTOR_GRID);
+        int points = is3D ? SIZE * SIZE * SIZE : SIZE * SIZE;
+        int grids = is3D ? GRIDS_PER_ROUND / SIZE : GRIDS_PER_ROUND;
+        float[] out = new float[points];
+        double best = Double.MAX_VALUE;
+        for (int round = 0; round < WARMUP_ROUNDS + ROUNDS; round++) {
+            long start = System.nanoTime();
+            for (int g = 0; g < grids; g++) {
+                int baseX = g * SIZE;
+                if (mode != POINT) {
+                    if (is3D) {
+                        noise.GenUniformGrid3D(out, baseX, 0, 0, SIZE, SIZE, SIZE);
+                    } else {
+                        noise.GenUniformGrid2D(out, baseX, 0, SIZE, SIZE);
+                    }
+                } else if (is3D) {
+                    for (int z = 0, i = 0; z < SIZE; z++) {
+                        for (int y = 0; y < SIZE; y++) {
+                            for (int x = 0; x < SIZE; x++, i++) {
+                                out[i] = noise.GetNoise(baseX + x, y, z);
+                            }
+                        }
+                    }
+                } else {
+                    for (int y = 0, i = 0; y < SIZE; y++) {
+                        for (int x = 0; x < SIZE; x++, i++) {
+                            out[i] = noise.GetNoise(baseX + x, y);
+                        }
+                    }
+                }
+                sink += out[g % points];
+            }
+            double nanosPerPoint = (double) (System.nanoTime() - start) / ((long) grids * points);
+            if (round >= WARMUP_ROUNDS) {
+                best = Math.min(best, nanosPerPoint);
+            }
+        }
+        return best;
+    }
+}
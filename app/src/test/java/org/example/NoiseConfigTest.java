@@ -0,0 +1,132 @@
+package org.example;
+
+import FastNoiseLite.FastNoiseLite;
+import FastNoiseLite.NoiseConfig;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class NoiseConfigTest {
+    private static final int THREADS = 8;
+    private static final int JOBS = 400;
+
+    private static NoiseConfig.Builder builder(FastNoiseLite.NoiseType type) {
+        return NoiseConfig.Builder()
+                .SetSeed(42)
+                .SetNoiseType(type)
+                .SetFrequency(0.037f)
+                .SetFractalType(FastNoiseLite.FractalType.FBm)
+                .SetFractalOctaves(4)
+                .SetRotationType3D(FastNoiseLite.RotationType3D.ImproveXZPlanes)
+                .SetDomainWarpAmp(20f);
+    }
+
+    /**
+     * One unit of work: mixes grids of varying size, so per thread scratch space grows while
+     * other threads are using theirs, with point noise and domain warps.
+     */
+    private static float[] evaluate(NoiseConfig config, int job) {
+        int size = 4 + job % 29;
+        float[] out = new float[size * size + size * size * 3 + 5];
+        float[] grid2D = new float[size * size];
+        config.GenUniformGrid2D(grid2D, job * 13 - 2000, job * -7, size, size);
+        System.arraycopy(grid2D, 0, out, 0, grid2D.length);
+        float[] grid3D = new float[size * size * 3];
+        config.GenUniformGrid3D(grid3D, job, -job, job * 3, size, size, 3);
+        System.arraycopy(grid3D, 0, out, grid2D.length, grid3D.length);
+        int end = grid2D.length + grid3D.length;
+        out[end] = config.GetNoise(job * 0.5f, job * -1.25f);
+        out[end + 1] = config.GetNoise(job * 0.5f, 17f, job * -1.25f);
+        FastNoiseLite.Vector2 warped2D = config.DomainWarp(job, -job);
+        out[end + 2] = warped2D.x + warped2D.y;
+        FastNoiseLite.Vector3 warped3D = config.DomainWarp(job, 5f, -job);
+        out[end + 3] = warped3D.x + warped3D.y;
+        out[end + 4] = warped3D.z;
+        return out;
+    }
+
+    @Test
+    void concurrentEvaluationMatchesSingleThreadedOutput() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (FastNoiseLite.NoiseType type : FastNoiseLite.NoiseType.values()) {
+                NoiseConfig config = builder(type).Build();
+                float[][] expected = new float[JOBS][];
+                for (int job = 0; job < JOBS; job++) {
+                    expected[job] = evaluate(config, job);
+                }
+
+                List<Integer> order = new ArrayList<>();
+                for (int job = 0; job < JOBS; job++) {
+                    order.add(job);
+                }
+                Collections.shuffle(order, new Random(type.ordinal()));
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<float[]>> futures = new ArrayList<>();
+                for (int job : order) {
+                    futures.add(executor.submit(() -> {
+                        start.await();
+                        return evaluate(config, job);
+                    }));
+                }
+                start.countDown();
+                for (int i = 0; i < order.size(); i++) {
+                    assertArrayEquals(expected[order.get(i)], futures.get(i).get(), type + " job " + order.get(i));
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void matchesEquallyConfiguredFastNoiseLite() {
+        NoiseConfig config = builder(FastNoiseLite.NoiseType.Perlin).Build();
+        FastNoiseLite noise = new FastNoiseLite(42);
+        noise.SetNoiseType(FastNoiseLite.NoiseType.Perlin);
+        noise.SetFrequency(0.037f);
+        noise.SetFractalType(FastNoiseLite.FractalType.FBm);
+        noise.SetFractalOctaves(4);
+        noise.SetRotationType3D(FastNoiseLite.RotationType3D.ImproveXZPlanes);
+        noise.SetDomainWarpAmp(20f);
+
+        float[] expected = new float[16 * 16];
+        float[] actual = new float[16 * 16];
+        noise.GenUniformGrid2D(expected, 64, -32, 16, 16);
+        config.GenUniformGrid2D(actual, 64, -32, 16, 16);
+        assertArrayEquals(expected, actual);
+        assertEquals(noise.GetNoise(3.5f, 1f, -9f), config.GetNoise(3.5f, 1f, -9f), 0.0);
+
+        FastNoiseLite.Vector3 coord = new FastNoiseLite.Vector3(10f, 20f, 30f);
+        noise.DomainWarp(coord);
+        FastNoiseLite.Vector3 warped = config.DomainWarp(10f, 20f, 30f);
+        assertEquals(coord.x, warped.x, 0.0);
+        assertEquals(coord.y, warped.y, 0.0);
+        assertEquals(coord.z, warped.z, 0.0);
+    }
+
+    @Test
+    void builtConfigIsUnaffectedByLaterBuilderChanges() {
+        NoiseConfig.Builder builder = builder(FastNoiseLite.NoiseType.OpenSimplex2);
+        NoiseConfig config = builder.Build();
+        float before = config.GetNoise(12.5f, -3f);
+
+        NoiseConfig other = builder.SetSeed(7).SetFractalOctaves(1).SetFrequency(0.2f).Build();
+        assertEquals(before, config.GetNoise(12.5f, -3f), 0.0);
+        assertEquals(42, config.GetSeed());
+        assertEquals(7, other.GetSeed());
+
+        NoiseConfig derived = config.ToBuilder().Build();
+        assertEquals(before, derived.GetNoise(12.5f, -3f), 0.0);
+    }
+}
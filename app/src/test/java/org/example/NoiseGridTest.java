@@ -0,0 +1,107 @@
+package org.example;
+
+import FastNoiseLite.FastNoiseLite;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class NoiseGridTest {
+    private static FastNoiseLite noise(FastNoiseLite.NoiseType type, FastNoiseLite.FractalType fractal) {
+        FastNoiseLite noise = new FastNoiseLite(42);
+        noise.SetNoiseType(type);
+        noise.SetFractalType(fractal);
+        noise.SetFrequency(0.037f);
+        noise.SetFractalWeightedStrength(0.3f);
+        return noise;
+    }
+
+    @Test
+    void grid2DMatchesPointwiseNoise() {
+        float[] grid = new float[20 * 13];
+        for (FastNoiseLite.NoiseType type : FastNoiseLite.NoiseType.values()) {
+            for (FastNoiseLite.FractalType fractal : FastNoiseLite.FractalType.values()) {
+                FastNoiseLite noise = noise(type, fractal);
+                noise.GenUniformGrid2D(grid, -7, 300, 20, 13);
+                for (int y = 0; y < 13; y++) {
+                    for (int x = 0; x < 20; x++) {
+                        assertEquals(noise.GetNoise(-7 + x, 300 + y), grid[y * 20 + x], 0.0,
+                                type + "/" + fractal + " at " + x + "," + y);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void grid3DMatchesPointwiseNoise() {
+        float[] grid = new float[9 * 6 * 7];
+        for (FastNoiseLite.NoiseType type : FastNoiseLite.NoiseType.values()) {
+            for (FastNoiseLite.RotationType3D rotation : FastNoiseLite.RotationType3D.values()) {
+                for (FastNoiseLite.FractalType fractal : FastNoiseLite.FractalType.values()) {
+                    FastNoiseLite noise = noise(type, fractal);
+                    noise.SetRotationType3D(rotation);
+                    noise.GenUniformGrid3D(grid, 100, -20, 5, 9, 6, 7);
+                    for (int z = 0; z < 7; z++) {
+                        for (int y = 0; y < 6; y++) {
+                            for (int x = 0; x < 9; x++) {
+                                assertEquals(noise.GetNoise(100 + x, -20 + y, 5 + z), grid[(z * 6 + y) * 9 + x], 0.0,
+                                        type + "/" + rotation + "/" + fractal + " at " + x + "," + y + "," + z);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void smallerGridAfterLargerOneIsUnaffectedByScratchSpace() {
+        FastNoiseLite noise = noise(FastNoiseLite.NoiseType.Perlin, FastNoiseLite.FractalType.FBm);
+        noise.GenUniformGrid2D(new float[64 * 64], 0, 0, 64, 64);
+        float[] grid = new float[4];
+        noise.GenUniformGrid2D(grid, 10, 10, 2, 2);
+        assertEquals(noise.GetNoise(11, 11), grid[3], 0.0);
+    }
+
+    private static final FastNoiseLite.NoiseType[] VECTOR_TYPES = {
+            FastNoiseLite.NoiseType.Perlin, FastNoiseLite.NoiseType.Value, FastNoiseLite.NoiseType.OpenSimplex2
+    };
+
+    @Test
+    void vectorKernels2DMatchScalarKernels() {
+        // Odd sizes leave a partial vector at the end of the grid
+        float[] vector = new float[37 * 23];
+        float[] scalar = new float[37 * 23];
+        for (FastNoiseLite.NoiseType type : VECTOR_TYPES) {
+            for (FastNoiseLite.FractalType fractal : FastNoiseLite.FractalType.values()) {
+                FastNoiseLite noise = noise(type, fractal);
+                noise.GenUniformGrid2D(vector, -1000, -18, 37, 23);
+                noise.SetVectorKernels(false);
+                noise.GenUniformGrid2D(scalar, -1000, -18, 37, 23);
+                for (int i = 0; i < vector.length; i++) {
+                    assertEquals(scalar[i], vector[i], 0.0, type + "/" + fractal + " at " + i);
+                }
+            }
+        }
+    }
+
+    @Test
+    void vectorKernels3DMatchScalarKernels() {
+        float[] vector = new float[11 * 7 * 5];
+        float[] scalar = new float[11 * 7 * 5];
+        for (FastNoiseLite.NoiseType type : VECTOR_TYPES) {
+            for (FastNoiseLite.RotationType3D rotation : FastNoiseLite.RotationType3D.values()) {
+                for (FastNoiseLite.FractalType fractal : FastNoiseLite.FractalType.values()) {
+                    FastNoiseLite noise = noise(type, fractal);
+                    noise.SetRotationType3D(rotation);
+                    noise.GenUniformGrid3D(vector, -40, 64, 2000, 11, 7, 5);
+                    noise.SetVectorKernels(false);
+                    noise.GenUniformGrid3D(scalar, -40, 64, 2000, 11, 7, 5);
+                    for (int i = 0; i < vector.length; i++) {
+                        assertEquals(scalar[i], vector[i], 0.0, type + "/" + rotation + "/" + fractal + " at " + i);
+                    }
+                }
+            }
+        }
+    }
+}
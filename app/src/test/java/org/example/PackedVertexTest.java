@@ -0,0 +1,69 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PackedVertexTest {
+    @Test
+    void roundTripsEveryPositionAndFace() {
+        for (int x = 0; x <= PackedVertex.MAX_POSITION; x++) {
+            for (int y = 0; y <= PackedVertex.MAX_POSITION; y++) {
+                for (int z = 0; z <= PackedVertex.MAX_POSITION; z++) {
+                    for (int face = 0; face < BlockFace.COUNT; face++) {
+                        int ao = (x + y + z) & 3;
+                        int layer = (x * 251 + y * 17 + z) % (PackedVertex.MAX_LAYER + 1);
+                        int vertex = PackedVertex.encode(x, y, z, face, ao, layer);
+                        assertEquals(x, PackedVertex.x(vertex));
+                        assertEquals(y, PackedVertex.y(vertex));
+                        assertEquals(z, PackedVertex.z(vertex));
+                        assertEquals(face, PackedVertex.face(vertex));
+                        assertEquals(ao, PackedVertex.ao(vertex));
+                        assertEquals(layer, PackedVertex.layer(vertex));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void roundTripsHighestLayer() {
+        int vertex = PackedVertex.encode(16, 16, 16, BlockFace.NORTH, 3, PackedVertex.MAX_LAYER);
+        assertEquals(PackedVertex.MAX_LAYER, PackedVertex.layer(vertex));
+        assertEquals(BlockFace.NORTH, PackedVertex.face(vertex));
+        assertEquals(16, PackedVertex.z(vertex));
+    }
+
+    @Test
+    void rejectsOutOfRangeValues() {
+        assertThrows(IllegalArgumentException.class, () -> PackedVertex.encode(17, 0, 0, 0, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> PackedVertex.encode(0, -1, 0, 0, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> PackedVertex.encode(0, 0, 0, 6, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> PackedVertex.encode(0, 0, 0, 0, 4, 0));
+        assertThrows(IllegalArgumentException.class, () -> PackedVertex.encode(0, 0, 0, 0, 0, 4096));
+    }
+
+    @Test
+    void meshVerticesDecodeToQuadCorners() {
+        World world = new World();
+        for (int x = 2; x < 6; x++) {
+            world.setBlock(x, 3, 7, Blocks.GRASS);
+        }
+        ChunkMesh mesh = new GreedyMesher().mesh(PaddedSection.capture(world, 0, 0, 0));
+        int[] vertices = mesh.buildVertices();
+        for (int q = 0; q < mesh.getQuadCount(); q++) {
+            int face = mesh.getQuad(q, ChunkMesh.QUAD_FACE);
+            for (int c = 0; c < ChunkMesh.VERTICES_PER_QUAD; c++) {
+                int vertex = vertices[q * ChunkMesh.VERTICES_PER_QUAD + c];
+                assertEquals(face, PackedVertex.face(vertex));
+                assertEquals(BlockRegistry.textureLayer(Blocks.GRASS, face), PackedVertex.layer(vertex));
+                int x = PackedVertex.x(vertex);
+                assertTrue(x >= 2 && x <= 6);
+                assertTrue(PackedVertex.y(vertex) == 3 || PackedVertex.y(vertex) == 4);
+                assertTrue(PackedVertex.z(vertex) == 7 || PackedVertex.z(vertex) == 8);
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package org.example;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.stream.Stream;
+
+/**
+ * Measures saving a full region of generated chunks, then loading them back in storage
+ * order and in random order. Run with
+ * {@code ./gradlew benchmark -Pbenchmark=org.example.RegionBenchmark}.
+ */
+public class RegionBenchmark {
+    private static final int ROUNDS = 5;
+    private static final int CHUNKS = RegionFile.SIZE * RegionFile.SIZE;
+
+    public static void main(String[] args) throws IOException {
+        TerrainGenerator generator = new TerrainGenerator();
+        Chunk[] chunks = new Chunk[CHUNKS];
+        long totalBytes = 0;
+        for (int i = 0; i < CHUNKS; i++) {
+            Chunk chunk = generator.generate(i % RegionFile.SIZE, i / RegionFile.SIZE);
+            // A few edits so sections are not all straight from the generator
+            chunk.setBlock(i & 15, 20 + (i & 7), 8, Blocks.STONE);
+            chunks[i] = chunk;
+            totalBytes += ChunkSerializer.serializedSize(chunk);
+        }
+        int[] sequential = new int[CHUNKS];
+        int[] random = new int[CHUNKS];
+        for (int i = 0; i < CHUNKS; i++) {
+            sequential[i] = i;
+            random[i] = i;
+        }
+        Random shuffle = new Random(1);
+        for (int i = CHUNKS - 1; i > 0; i--) {
+            int j = shuffle.nextInt(i + 1);
+            int swap = random[i];
+            random[i] = random[j];
+            random[j] = swap;
+        }
+        System.out.printf("%d chunks, %.1f KB serialized on average%n", CHUNKS, totalBytes / 1024.0 / CHUNKS);
+
+        Path directory = Files.createTempDirectory("region-benchmark");
+        try (WorldStorage storage = new WorldStorage(directory)) {
+            double bestSave = 0;
+            for (int round = 0; round < ROUNDS; round++) {
+                long start = System.nanoTime();
+                for (Chunk chunk : chunks) {
+                    storage.save(chunk);
+                }
+                bestSave = Math.max(bestSave, CHUNKS / ((System.nanoTime() - start) / 1e9));
+            }
+            report("save (fsync each)", bestSave, totalBytes);
+            report("sequential load", load(storage, sequential), totalBytes);
+            report("random load", load(storage, random), totalBytes);
+        } finally {
+            try (Stream<Path> paths = Files.walk(directory)) {
+                for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                    Files.delete(path);
+                }
+            }
+        }
+    }
+
+    private static double load(WorldStorage storage, int[] order) throws IOException {
+        double best = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            for (int i : order) {
+                storage.load(i % RegionFile.SIZE, i / RegionFile.SIZE);
+            }
+            best = Math.max(best, CHUNKS / ((System.nanoTime() - start) / 1e9));
+        }
+        return best;
+    }
+
+    private static void report(String name, double chunksPerSecond, long totalBytes) {
+        System.out.printf("%-18s %9.0f chunks/s %8.1f MB/s%n", name, chunksPerSecond,
+                chunksPerSecond * totalBytes / CHUNKS / (1024 * 1024));
+    }
+}
@@ -0,0 +1,212 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import static org.example.TestSupport.assertSameBlocks;
+import static org.example.TestSupport.deleteRecursively;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RegionFileTest {
+    private static final int CRASH_CHUNKS = 64;
+    private static final int MARKER_Y = Chunk.HEIGHT - 1;
+    private static final int MARKER_BASE = 1000;
+
+    /**
+     * A chunk whose contents, and serialized size, depend on the version; the version is
+     * also stored as a block id so a loaded chunk tells which one it is.
+     */
+    static Chunk versionedChunk(int chunkX, int chunkZ, int version) {
+        Chunk chunk = new Chunk(chunkX, chunkZ);
+        int sections = 1 + (version + chunkX) % 6;
+        for (int y = 0; y < sections * ChunkSection.SIZE; y++) {
+            for (int z = 0; z < Chunk.SIZE; z++) {
+                for (int x = 0; x < Chunk.SIZE; x++) {
+                    chunk.setBlock(x, y, z, (x * 7 + y * 3 + z + version) % (2 + version % 9));
+                }
+            }
+        }
+        chunk.setBlock(0, MARKER_Y, 0, MARKER_BASE + version);
+        chunk.compact();
+        return chunk;
+    }
+
+    @Test
+    void serializerRoundTripsGeneratedAndEditedChunks() {
+        Chunk chunk = new TerrainGenerator(99).generate(-4, 7);
+        chunk.setBlock(3, 40, 3, Blocks.STONE);
+        chunk.setBlock(3, 200, 9, Blocks.GRASS);
+        chunk.setBlock(3, 200, 9, Blocks.AIR);
+        Chunk copy = ChunkSerializer.read(ChunkSerializer.write(chunk));
+        assertSameBlocks(chunk, copy);
+        assertFalse(copy.isModified());
+        assertNull(copy.getSection(12));
+        assertEquals(chunk.getSection(0).getNonAirCount(), copy.getSection(0).getNonAirCount());
+
+        Chunk uniform = new Chunk(0, 0);
+        for (int i = 0; i < ChunkSection.VOLUME; i++) {
+            uniform.setBlock(i & 15, 16 + (i >> 8), (i >> 4) & 15, Blocks.STONE);
+        }
+        uniform.compact();
+        assertTrue(uniform.getSection(1).isUniform());
+        assertSameBlocks(uniform, ChunkSerializer.read(ChunkSerializer.write(uniform)));
+    }
+
+    @Test
+    void rewritesReuseFreedSectorsAndSurviveReopening() throws IOException {
+        Path directory = Files.createTempDirectory("region-test");
+        try {
+            Path path = directory.resolve("r.0.0.region");
+            try (RegionFile region = new RegionFile(path)) {
+                for (int version = 0; version < 20; version++) {
+                    region.write(5, 9, ChunkSerializer.write(versionedChunk(5, 9, version)), RawChunkCodec.ID);
+                    region.write(6, 9, ChunkSerializer.write(versionedChunk(6, 9, version)), RawChunkCodec.ID);
+                }
+                // Two live chunks of at most 7 sectors each, plus the space their rewrites needed
+                assertTrue(region.getUsedSectorCount() <= RegionFile.HEADER_SECTORS + 14);
+                assertNull(region.read(0, 0));
+            }
+            try (RegionFile region = new RegionFile(path)) {
+                assertTrue(region.contains(5, 9));
+                assertFalse(region.contains(9, 5));
+                assertSameBlocks(versionedChunk(5, 9, 19), ChunkSerializer.read(region.read(5, 9)));
+                assertSameBlocks(versionedChunk(6, 9, 19), ChunkSerializer.read(region.read(6, 9)));
+            }
+        } finally {
+            deleteRecursively(directory);
+        }
+    }
+
+    @Test
+    void storageMapsNegativeChunksToTheirRegions() throws IOException {
+        Path directory = Files.createTempDirectory("region-test");
+        try {
+            try (WorldStorage storage = new WorldStorage(directory)) {
+                assertNull(storage.load(-1, -33));
+                for (int[] coord : new int[][]{{-1, -33}, {0, 0}, {31, 32}, {-32, 5}}) {
+                    Chunk chunk = versionedChunk(coord[0], coord[1], 3);
+                    assertTrue(chunk.isModified());
+                    storage.save(chunk);
+                    assertFalse(chunk.isModified());
+                }
+                assertEquals(4, storage.getOpenRegionCount());
+            }
+            assertTrue(Files.exists(directory.resolve("r.-1.-2.region")));
+            try (WorldStorage storage = new WorldStorage(directory)) {
+                assertSameBlocks(versionedChunk(-32, 5, 3), storage.load(-32, 5));
+                assertSameBlocks(versionedChunk(31, 32, 3), storage.load(31, 32));
+                assertNull(storage.load(1, 0));
+                assertEquals(2, storage.getChunksLoaded());
+            }
+        } finally {
+            deleteRecursively(directory);
+        }
+    }
+
+    @Test
+    void corruptPayloadIsReportedNotLoaded() throws IOException {
+        Path directory = Files.createTempDirectory("region-test");
+        try {
+            try (WorldStorage storage = new WorldStorage(directory)) {
+                storage.save(versionedChunk(2, 2, 1));
+            }
+            Path path = directory.resolve("r.0.0.region");
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                channel.write(ByteBuffer.wrap(new byte[]{42}), (long) RegionFile.HEADER_SECTORS * RegionFile.SECTOR_BYTES + 20);
+            }
+            try (RegionFile region = new RegionFile(path)) {
+                assertTrue(region.contains(2, 2));
+                assertNull(region.read(2, 2));
+            }
+            try (WorldStorage storage = new WorldStorage(directory)) {
+                assertThrows(IOException.class, () -> storage.load(2, 2));
+            }
+        } finally {
+            deleteRecursively(directory);
+        }
+    }
+
+    /**
+     * Child process for {@link #survivesBeingKilledMidWrite}: rewrites chunks of one region
+     * forever, from the given version up, printing each chunk and version once its write
+     * has returned.
+     */
+    static class CrashWriter {
+        public static void main(String[] args) throws IOException {
+            try (RegionFile region = new RegionFile(Path.of(args[0]))) {
+                for (int version = Integer.parseInt(args[1]); ; version++) {
+                    for (int i = 0; i < CRASH_CHUNKS; i++) {
+                        int x = i % RegionFile.SIZE;
+                        int z = i / RegionFile.SIZE;
+                        region.write(x, z, ChunkSerializer.write(versionedChunk(x, z, version)), RawChunkCodec.ID);
+                        System.out.println(i + " " + version);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void survivesBeingKilledMidWrite() throws Exception {
+        Path directory = Files.createTempDirectory("region-test");
+        try {
+            Path path = directory.resolve("r.0.0.region");
+            String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+            for (int round = 0; round < 3; round++) {
+                Process process = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+                        CrashWriter.class.getName(), path.toString(), Integer.toString(round * 10_000))
+                        .redirectErrorStream(true)
+                        .start();
+                int[] acknowledged = new int[CRASH_CHUNKS];
+                Arrays.fill(acknowledged, -1);
+                try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+                    // Let it get well into rewriting chunks, at a different point every round
+                    int target = CRASH_CHUNKS * 2 + 37 * round + 11;
+                    for (int lines = 0; lines < target; lines++) {
+                        String line = reader.readLine();
+                        assertNotNull(line, "writer exited early");
+                        String[] parts = line.split(" ");
+                        acknowledged[Integer.parseInt(parts[0])] = Integer.parseInt(parts[1]);
+                    }
+                    // The writer has run ahead of what was read, so it dies in some later write
+                    process.destroyForcibly();
+                    assertTrue(process.waitFor(10, TimeUnit.SECONDS));
+                }
+
+                try (RegionFile region = new RegionFile(path)) {
+                    for (int i = 0; i < CRASH_CHUNKS; i++) {
+                        int x = i % RegionFile.SIZE;
+                        int z = i / RegionFile.SIZE;
+                        ByteBuffer data = region.read(x, z);
+                        assertNotNull(data, "chunk " + i + " lost");
+                        Chunk chunk = ChunkSerializer.read(data);
+                        int version = chunk.getBlock(0, MARKER_Y, 0) - MARKER_BASE;
+                        // Never older than an acknowledged write, and never a mix of two versions
+                        assertTrue(version >= acknowledged[i],
+                                "chunk " + i + " has version " + version + ", acknowledged " + acknowledged[i]);
+                        assertSameBlocks(versionedChunk(x, z, version), chunk);
+                    }
+                }
+                // The next round continues on top of this file with higher versions
+            }
+        } finally {
+            deleteRecursively(directory);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RemeshTrackerTest {
+    private final List<Long> scheduled = new ArrayList<>();
+    private final RemeshTracker.Scheduler scheduler =
+            (sectionX, sectionY, sectionZ) -> scheduled.add(World.sectionKey(sectionX, sectionY, sectionZ));
+
+    @Test
+    void editsInOneFrameRemeshEachSectionOnce() {
+        RemeshTracker tracker = new RemeshTracker(16);
+        for (int i = 0; i < 10; i++) {
+            tracker.markBlock(4 + i % 3, 70, 5, 1);
+        }
+        assertEquals(1, tracker.getDirtyCount());
+        assertEquals(9, tracker.getCoalescedEdits());
+        assertEquals(1, tracker.flush(0, 0, 0, scheduler));
+        assertEquals(List.of(World.sectionKey(0, 4, 0)), scheduled);
+        assertEquals(0, tracker.getDirtyCount());
+        assertEquals(0, tracker.flush(0, 0, 0, scheduler));
+        assertEquals(1, scheduled.size());
+    }
+
+    @Test
+    void bordersMarkTheirNeighbours() {
+        RemeshTracker tracker = new RemeshTracker(16);
+        // A corner block touches three neighbouring sections
+        tracker.markBlock(-1, 32, 15, 1);
+        tracker.flush(0, 0, 0, scheduler);
+        assertEquals(4, scheduled.size());
+        assertEquals(List.of(World.sectionKey(-1, 2, 0), World.sectionKey(0, 2, 0), World.sectionKey(-1, 1, 0),
+                World.sectionKey(-1, 2, 1)).stream().sorted().toList(), scheduled.stream().sorted().toList());
+
+        // Nothing above the top or below the bottom of the world
+        scheduled.clear();
+        tracker.markBlock(8, 0, 8, 2);
+        tracker.markBlock(8, Chunk.HEIGHT - 1, 8, 2);
+        tracker.flush(0, 0, 0, scheduler);
+        assertEquals(2, scheduled.size());
+    }
+
+    @Test
+    void nearestSectionsGoFirstAndTheRestWait() {
+        RemeshTracker tracker = new RemeshTracker(2);
+        for (int sectionX = -3; sectionX <= 3; sectionX++) {
+            tracker.markSection(sectionX, 0, 0, 1);
+        }
+        // Camera over section 2
+        float x = 2 * 16 + 8;
+        assertEquals(2, tracker.flush(x, 8, 8, scheduler));
+        assertEquals(World.sectionKey(2, 0, 0), (long) scheduled.get(0));
+        assertEquals(5, tracker.getDirtyCount());
+        assertEquals(2, tracker.flush(x, 8, 8, scheduler));
+        assertEquals(2, tracker.flush(x, 8, 8, scheduler));
+        assertEquals(1, tracker.flush(x, 8, 8, scheduler));
+        assertEquals(World.sectionKey(-3, 0, 0), (long) scheduled.get(6));
+        assertThrows(IllegalArgumentException.class, () -> new RemeshTracker(0));
+    }
+
+    @Test
+    void latencyRunsFromTheOldestEditToTheUpload() {
+        RemeshTracker tracker = new RemeshTracker(1);
+        long near = World.sectionKey(0, 0, 0);
+        long far = World.sectionKey(9, 0, 0);
+        tracker.markSection(0, 0, 0, 10);
+        tracker.markSection(9, 0, 0, 10);
+        tracker.flush(0, 0, 0, scheduler);
+        // An upload of a section with no flushed edits, e.g. a newly loaded chunk, does not count
+        tracker.uploaded(far, 11);
+        assertEquals(0, tracker.getVisibleEdits());
+        tracker.uploaded(near, 12);
+        assertEquals(2, tracker.getLastLatencyFrames());
+
+        // Edited again while its mesh is in flight: the newer mesh shows both edits
+        tracker.flush(0, 0, 0, scheduler);
+        tracker.markSection(9, 0, 0, 13);
+        tracker.flush(0, 0, 0, scheduler);
+        assertEquals(1, tracker.getAwaitingCount());
+        tracker.uploaded(far, 16);
+        assertEquals(6, tracker.getLastLatencyFrames());
+        assertEquals(6, tracker.getMaxLatencyFrames());
+        assertEquals(4.0, tracker.getAverageLatencyFrames(), 1e-9);
+        assertEquals(0, tracker.getAwaitingCount());
+
+        tracker.markSection(1, 3, 1, 20);
+        tracker.flush(0, 0, 0, scheduler);
+        tracker.markSection(1, 4, 1, 20);
+        tracker.cancelChunk(1, 1);
+        assertEquals(0, tracker.getDirtyCount());
+        assertEquals(0, tracker.getAwaitingCount());
+    }
+}
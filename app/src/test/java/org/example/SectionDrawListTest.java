@@ -0,0 +1,65 @@
+package org.example;
+
+import org.joml.Matrix4f;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SectionDrawListTest {
+    // The default camera at (0, 1, 3) facing -z
+    private static Frustum frustum() {
+        Matrix4f projection = new Matrix4f().perspective((float) Math.toRadians(45.0f), 800.0f / 600.0f, 0.1f, 100.0f);
+        return new Frustum().set(new Matrix4f(projection).mul(new Camera().getViewMatrix()));
+    }
+
+    @Test
+    void culledSectionsBecomeCommandsOnTheirPage() {
+        int[] offsets = {0, 4096, 256};
+        SectionDrawList drawList = new SectionDrawList(allocation -> offsets[allocation]);
+        drawList.add(0, 0, -1, 0, 0, 36);
+        drawList.add(0, 0, 2, 0, 1, 12);
+        drawList.add(-1, 0, -1, 1, 2, 6);
+        assertThrows(IllegalArgumentException.class, () -> drawList.add(0, 0, 2, 0, 1, 12));
+
+        drawList.cull(frustum());
+        assertEquals(3, drawList.getSectionsTested());
+        assertEquals(1, drawList.getSectionsCulled());
+        assertEquals(2, drawList.getDrawCount());
+        assertEquals(2, drawList.getPageCount());
+        IndirectCommandBuffer first = drawList.getCommands(0);
+        assertEquals(1, first.getCount());
+        assertEquals(36, first.getCommand(0, IndirectCommandBuffer.COMMAND_COUNT));
+        assertEquals(0, first.getCommand(0, IndirectCommandBuffer.COMMAND_BASE_VERTEX));
+        assertEquals(-16.5f, first.getOrigin(0, 2));
+        IndirectCommandBuffer second = drawList.getCommands(1);
+        assertEquals(256 / PackedVertex.BYTES, second.getCommand(0, IndirectCommandBuffer.COMMAND_BASE_VERTEX));
+        assertEquals(-16.5f, second.getOrigin(0, 0));
+
+        // Compaction moved an allocation: the next cull reads the new offset
+        offsets[2] = 0;
+        drawList.cull(frustum());
+        assertEquals(0, drawList.getCommands(1).getCommand(0, IndirectCommandBuffer.COMMAND_BASE_VERTEX));
+    }
+
+    @Test
+    void removingASectionDropsItsCommands() {
+        SectionDrawList drawList = new SectionDrawList(allocation -> allocation * 64);
+        drawList.add(0, 0, -1, 0, 5, 6);
+        drawList.add(-1, 0, -1, 0, 6, 6);
+        drawList.add(0, 0, -2, 0, 7, 6);
+        drawList.cull(frustum());
+        assertEquals(3, drawList.getDrawCount());
+
+        assertEquals(5, drawList.remove(World.sectionKey(0, 0, -1)));
+        assertEquals(-1, drawList.remove(World.sectionKey(0, 0, -1)));
+        assertEquals(0, drawList.getDrawCount());
+        assertTrue(drawList.getCommands(0).isEmpty());
+        assertEquals(2, drawList.getSectionCount());
+
+        drawList.cull(frustum());
+        assertEquals(2, drawList.getDrawCount());
+        assertEquals(7 * 64 / PackedVertex.BYTES, drawList.getCommands(0).getCommand(0, IndirectCommandBuffer.COMMAND_BASE_VERTEX));
+    }
+}
@@ -0,0 +1,52 @@
+package org.example;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Measures chunk generation throughput for increasing thread counts. Run with
+ * {@code ./gradlew benchmark -Pbenchmark=org.example.TerrainBenchmark}.
+ */
+public class TerrainBenchmark {
+    private static final int RADIUS = 16;
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) throws Exception {
+        int maxThreads = Runtime.getRuntime().availableProcessors();
+        List<Integer> threadCounts = new ArrayList<>();
+        for (int threads = 1; threads < maxThreads; threads *= 2) {
+            threadCounts.add(threads);
+        }
+        threadCounts.add(maxThreads);
+
+        int chunkCount = (2 * RADIUS + 1) * (2 * RADIUS + 1);
+        System.out.println("Generating " + chunkCount + " chunks per round");
+        for (int threads : threadCounts) {
+            ExecutorService executor = WorkerPools.newFixedPool("bench", threads);
+            TerrainGenerator generator = new TerrainGenerator();
+            double best = 0;
+            for (int round = 0; round < ROUNDS; round++) {
+                // Shift every round so nothing is answered from warm caches
+                int offset = round * 1000;
+                long start = System.nanoTime();
+                List<Future<Chunk>> futures = new ArrayList<>(chunkCount);
+                for (int x = -RADIUS; x <= RADIUS; x++) {
+                    for (int z = -RADIUS; z <= RADIUS; z++) {
+                        int chunkX = x + offset;
+                        int chunkZ = z;
+                        futures.add(executor.submit(() -> generator.generate(chunkX, chunkZ)));
+                    }
+                }
+                for (Future<Chunk> future : futures) {
+                    future.get();
+                }
+                double seconds = (System.nanoTime() - start) / 1e9;
+                best = Math.max(best, chunkCount / seconds);
+            }
+            executor.shutdownNow();
+            System.out.printf("%2d threads: %8.0f chunks/s%n", threads, best);
+        }
+    }
+}
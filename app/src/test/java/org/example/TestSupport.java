@@ -0,0 +1,37 @@
+package org.example;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Helpers shared by the tests that save chunks to disk.
+ */
+final class TestSupport {
+    private TestSupport() {
+    }
+
+    static void deleteRecursively(Path directory) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    static void assertSameBlocks(Chunk expected, Chunk actual) {
+        assertEquals(expected.getChunkX(), actual.getChunkX());
+        assertEquals(expected.getChunkZ(), actual.getChunkZ());
+        for (int y = 0; y < Chunk.HEIGHT; y++) {
+            for (int z = 0; z < Chunk.SIZE; z++) {
+                for (int x = 0; x < Chunk.SIZE; x++) {
+                    assertEquals(expected.getBlock(x, y, z), actual.getBlock(x, y, z), "at " + x + "," + y + "," + z);
+                }
+            }
+        }
+    }
+}
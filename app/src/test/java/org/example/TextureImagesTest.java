@@ -0,0 +1,51 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TextureImagesTest {
+    @Test
+    void downscalingAveragesCoveredPixels() {
+        ByteBuffer src = ByteBuffer.allocate(2 * 2 * TextureImages.CHANNELS);
+        int[] reds = {0, 100, 200, 100};
+        for (int i = 0; i < 4; i++) {
+            src.put(i * 4, (byte) reds[i]).put(i * 4 + 3, (byte) 255);
+        }
+        ByteBuffer dst = ByteBuffer.allocate(TextureImages.CHANNELS);
+        TextureImages.resize(src, 2, 2, dst, 1, 1);
+        assertEquals(100, dst.get(0) & 0xff);
+        assertEquals(255, dst.get(3) & 0xff);
+    }
+
+    @Test
+    void upscalingRepeatsPixels() {
+        ByteBuffer src = ByteBuffer.allocate(2 * TextureImages.CHANNELS);
+        src.put(0, (byte) 10).put(4, (byte) 20);
+        ByteBuffer dst = ByteBuffer.allocate(4 * TextureImages.CHANNELS);
+        TextureImages.resize(src, 2, 1, dst, 4, 1);
+        assertEquals(10, dst.get(0));
+        assertEquals(10, dst.get(4));
+        assertEquals(20, dst.get(8));
+        assertEquals(20, dst.get(12));
+    }
+
+    @Test
+    void uniformImageStaysUniformAtAnySize() {
+        int width = 640;
+        int height = 693;
+        ByteBuffer src = ByteBuffer.allocate(width * height * TextureImages.CHANNELS);
+        for (int i = 0; i < width * height; i++) {
+            src.put((byte) 30).put((byte) 120).put((byte) 40).put((byte) 255);
+        }
+        src.flip();
+        int size = 256;
+        ByteBuffer dst = ByteBuffer.allocate(size * size * TextureImages.CHANNELS);
+        TextureImages.resize(src, width, height, dst, size, size);
+        for (int i = 0; i < size * size; i++) {
+            assertEquals(120, dst.get(i * 4 + 1) & 0xff);
+        }
+    }
+}
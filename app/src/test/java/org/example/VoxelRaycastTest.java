@@ -0,0 +1,72 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class VoxelRaycastTest {
+    private final VoxelRaycast raycast = new VoxelRaycast();
+
+    @Test
+    void hitsBlockAheadThroughNearFace() {
+        World world = new World();
+        world.setBlock(0, 0, -3, Blocks.GRASS);
+        assertTrue(raycast.cast(world, 0, 0, 0, 0, 0, -1, 5));
+        assertEquals(0, raycast.getBlockX());
+        assertEquals(-3, raycast.getBlockZ());
+        assertEquals(BlockFace.SOUTH, raycast.getFace());
+        assertEquals(2.5f, raycast.getDistance(), 1e-5);
+    }
+
+    @Test
+    void reportsFaceForEveryAxisAndDirection() {
+        World world = new World();
+        world.setBlock(4, 10, 4, Blocks.GRASS);
+        float[][] origins = {{1, 10, 4}, {7, 10, 4}, {4, 7, 4}, {4, 13, 4}, {4, 10, 1}, {4, 10, 7}};
+        int[] faces = {BlockFace.WEST, BlockFace.EAST, BlockFace.DOWN, BlockFace.UP, BlockFace.NORTH, BlockFace.SOUTH};
+        for (int i = 0; i < origins.length; i++) {
+            float dx = 4 - origins[i][0];
+            float dy = 10 - origins[i][1];
+            float dz = 4 - origins[i][2];
+            assertTrue(raycast.cast(world, origins[i][0], origins[i][1], origins[i][2], dx / 3, dy / 3, dz / 3, 5));
+            assertEquals(faces[i], raycast.getFace());
+        }
+    }
+
+    @Test
+    void doesNotTunnelPastDiagonalCorner() {
+        World world = new World();
+        // The ray clips the corner of (1, 0, 0) on its way to (2, 0, 1)
+        world.setBlock(1, 0, 0, Blocks.GRASS);
+        float length = (float) Math.sqrt(2 * 2 + 0.9 * 0.9);
+        assertTrue(raycast.cast(world, 0, 0, 0, 2 / length, 0, 0.9f / length, 5));
+        assertEquals(1, raycast.getBlockX());
+        assertEquals(0, raycast.getBlockZ());
+        assertEquals(BlockFace.WEST, raycast.getFace());
+    }
+
+    @Test
+    void stopsAtMaxDistance() {
+        World world = new World();
+        world.setBlock(0, 0, 6, Blocks.GRASS);
+        assertFalse(raycast.cast(world, 0, 0, 0, 0, 0, 1, 5));
+        assertFalse(raycast.isHit());
+        assertTrue(raycast.cast(world, 0, 0, 0, 0, 0, 1, 6));
+    }
+
+    @Test
+    void startingInsideBlockHasNoFace() {
+        World world = new World();
+        world.setBlock(-1, 1, -1, Blocks.GRASS);
+        assertTrue(raycast.cast(world, -1.2f, 0.9f, -1.1f, 1, 0, 0, 5));
+        assertEquals(-1, raycast.getFace());
+        assertEquals(0, raycast.getDistance(), 0);
+    }
+
+    @Test
+    void zeroDirectionMissesInAir() {
+        assertFalse(raycast.cast(new World(), 0, 0, 0, 0, 0, 0, 5));
+    }
+}
@@ -0,0 +1,110 @@
+package org.example;
+
+import FastNoiseLite.FastNoiseLite;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WorldSeedTest {
+    private static final long SEED = 0x5EED_CAFE_1234L;
+    private static final int RADIUS = 6;
+
+    private static long hash(Chunk chunk) {
+        long hash = 1125899906842597L;
+        for (int y = 0; y < Chunk.HEIGHT; y++) {
+            for (int z = 0; z < Chunk.SIZE; z++) {
+                for (int x = 0; x < Chunk.SIZE; x++) {
+                    hash = 31 * hash + chunk.getBlock(x, y, z);
+                }
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * Generates every chunk within {@link #RADIUS} on a fresh generator and pool, submitting
+     * them in a shuffled order, and returns each chunk's hash by key.
+     */
+    private static Map<Long, Long> generate(long seed, int threads, long shuffle) throws Exception {
+        List<int[]> coords = new ArrayList<>();
+        for (int x = -RADIUS; x <= RADIUS; x++) {
+            for (int z = -RADIUS; z <= RADIUS; z++) {
+                coords.add(new int[]{x, z});
+            }
+        }
+        Collections.shuffle(coords, new Random(shuffle));
+
+        // A small heightmap cache so columns get evicted and recomputed along the way
+        TerrainGenerator generator = new TerrainGenerator(seed, 8);
+        ExecutorService executor = WorkerPools.newFixedPool("seed-test", threads);
+        try {
+            List<Future<Chunk>> futures = new ArrayList<>();
+            for (int[] coord : coords) {
+                futures.add(executor.submit(() -> generator.generate(coord[0], coord[1])));
+            }
+            Map<Long, Long> hashes = new HashMap<>();
+            for (Future<Chunk> future : futures) {
+                Chunk chunk = future.get();
+                hashes.put(World.chunkKey(chunk.getChunkX(), chunk.getChunkZ()), hash(chunk));
+            }
+            return hashes;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void chunksAreIdenticalForAnyThreadCount() throws Exception {
+        Map<Long, Long> single = generate(SEED, 1, 1);
+        assertEquals((2 * RADIUS + 1) * (2 * RADIUS + 1), single.size());
+        assertEquals(single, generate(SEED, 4, 2));
+        int processors = Runtime.getRuntime().availableProcessors();
+        assertEquals(single, generate(SEED, Math.max(2, processors), 3));
+    }
+
+    @Test
+    void seedSelectsTheTerrain() throws Exception {
+        Map<Long, Long> first = generate(SEED, 2, 1);
+        assertNotEquals(first, generate(SEED + 1, 2, 1));
+        assertEquals(first, generate(SEED, 2, 4));
+    }
+
+    @Test
+    void defaultSeedMatchesUnseededNoise() {
+        assertEquals(1337, TerrainGenerator.noiseSeed(TerrainGenerator.DEFAULT_SEED));
+        assertEquals(-5, TerrainGenerator.noiseSeed(-5));
+        assertNotEquals(TerrainGenerator.noiseSeed(7), TerrainGenerator.noiseSeed(7 + (1L << 32)));
+        // Worlds made before seeds were configurable used noise that was never seeded
+        FastNoiseLite unseeded = new FastNoiseLite();
+        unseeded.SetNoiseType(FastNoiseLite.NoiseType.Perlin);
+        unseeded.SetFrequency(0.1f);
+        TerrainGenerator generator = new TerrainGenerator();
+        for (int z = 48; z < 64; z++) {
+            for (int x = 32; x < 48; x++) {
+                assertEquals((short) (unseeded.GetNoise(x, z) * 8 + 8), generator.spawnHeight(x, z));
+            }
+        }
+    }
+
+    @Test
+    void onlyEditedChunksAreModified() {
+        Chunk chunk = new TerrainGenerator(SEED).generate(0, 0);
+        assertFalse(chunk.isModified());
+        chunk.setBlock(1, 100, 1, Blocks.AIR);
+        assertFalse(chunk.isModified());
+        chunk.setBlock(1, 100, 1, Blocks.STONE);
+        assertTrue(chunk.isModified());
+    }
+}
@@ -0,0 +1,70 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WorldTest {
+    @Test
+    void newSectionIsSingleValued() {
+        ChunkSection section = new ChunkSection();
+        assertTrue(section.isUniform());
+        assertTrue(section.isEmpty());
+        assertEquals(Blocks.AIR, section.getBlock(3, 4, 5));
+    }
+
+    @Test
+    void sectionGrowsPaletteAndKeepsBlocks() {
+        ChunkSection section = new ChunkSection();
+        for (int i = 0; i < ChunkSection.VOLUME; i++) {
+            section.setBlock(i, 1 + (i % 20));
+        }
+        assertEquals(21, section.getPaletteSize());
+        assertEquals(8, section.getBitsPerBlock());
+        assertEquals(ChunkSection.VOLUME, section.getNonAirCount());
+        for (int i = 0; i < ChunkSection.VOLUME; i++) {
+            assertEquals(1 + (i % 20), section.getBlock(i));
+        }
+    }
+
+    @Test
+    void sectionCollapsesWhenEmptiedOrCompacted() {
+        ChunkSection section = new ChunkSection();
+        section.setBlock(1, 2, 3, Blocks.GRASS);
+        assertFalse(section.isUniform());
+        assertEquals(Blocks.GRASS, section.setBlock(1, 2, 3, Blocks.AIR));
+        assertTrue(section.isUniform());
+
+        for (int i = 0; i < ChunkSection.VOLUME; i++) {
+            section.setBlock(i, i % 2 == 0 ? Blocks.GRASS : 2);
+        }
+        for (int i = 0; i < ChunkSection.VOLUME; i += 2) {
+            section.setBlock(i, 2);
+        }
+        section.compact();
+        assertTrue(section.isUniform());
+        assertEquals(2, section.getBlock(7, 7, 7));
+    }
+
+    @Test
+    void worldAddressesNegativeCoordinates() {
+        World world = new World();
+        world.setBlock(-1, 5, -17, Blocks.GRASS);
+        assertEquals(Blocks.GRASS, world.getBlock(-1, 5, -17));
+        assertEquals(Blocks.AIR, world.getBlock(-1, 6, -17));
+        Chunk chunk = world.getChunk(-1, -2);
+        assertEquals(Blocks.GRASS, chunk.getBlock(15, 5, 15));
+        assertNull(chunk.getSection(1));
+    }
+
+    @Test
+    void removingFromUnloadedChunkDoesNotCreateIt() {
+        World world = new World();
+        assertEquals(Blocks.AIR, world.setBlock(100, 10, 100, Blocks.AIR));
+        assertNull(world.getChunk(6, 6));
+        assertEquals(Blocks.AIR, world.setBlock(0, Chunk.HEIGHT, 0, Blocks.GRASS));
+    }
+}